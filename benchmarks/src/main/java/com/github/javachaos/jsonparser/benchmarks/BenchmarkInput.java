@@ -0,0 +1,64 @@
+package com.github.javachaos.jsonparser.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A corpus file, held in memory when it is small enough so that small documents measure the parser
+ * rather than the file system. Larger corpora are streamed from disk.
+ */
+final class BenchmarkInput {
+
+    static final long IN_MEMORY_LIMIT = 64L << 20;
+
+    private final Path file;
+    private final byte[] bytes;
+
+    BenchmarkInput(CorpusGenerator.Shape shape, String size) {
+        this.file = CorpusGenerator.corpus(shape, size);
+        try {
+            this.bytes = Files.size(file) <= IN_MEMORY_LIMIT ? Files.readAllBytes(file) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long length() {
+        try {
+            return bytes != null ? bytes.length : Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the whole corpus, only available below {@link #IN_MEMORY_LIMIT}
+     */
+    byte[] bytes() {
+        if (bytes == null) {
+            throw new IllegalStateException(file + " is too large to be held in memory, in memory benchmarks take"
+                    + " sizes up to " + (IN_MEMORY_LIMIT >> 20) + "MB.");
+        }
+        return bytes;
+    }
+
+    InputStream open() {
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        try {
+            return new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.javachaos.jsonparser.benchmarks;
+
+import com.github.javachaos.jsonparser.utils.CharacterStreamReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the raw cost of pulling every character through {@link CharacterStreamReader},
+ * which is the floor for anything the parser does on top of it.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dlog4j2.configurationFile=log4j2-bench.xml"})
+@State(Scope.Benchmark)
+public class CharacterStreamReaderBenchmark {
+
+    @Param({"STRING_HEAVY", "NUMBER_ARRAY"})
+    public CorpusGenerator.Shape shape;
+
+    @Param({"64KB", "1MB"})
+    public String size;
+
+    private BenchmarkInput input;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        input = new BenchmarkInput(shape, size);
+    }
+
+    @Benchmark
+    public void readAll(Blackhole bh) throws Exception {
+        try (CharacterStreamReader reader = new CharacterStreamReader(input.open())) {
+            int c;
+            while ((c = reader.read()) != CharacterStreamReader.EOF) {
+                bh.consume(c);
+            }
+        }
+    }
+
+    @Benchmark
+    public void iterateBoxed(Blackhole bh) throws Exception {
+        try (CharacterStreamReader reader = new CharacterStreamReader(input.open())) {
+            while (reader.hasNext()) {
+                bh.consume(reader.next());
+            }
+        }
+    }
+}
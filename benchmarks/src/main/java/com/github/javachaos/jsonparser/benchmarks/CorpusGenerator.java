@@ -0,0 +1,196 @@
+package com.github.javachaos.jsonparser.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic JSON corpora for the benchmarks.
+ * Files are written once to {@code ${java.io.tmpdir}/jsonparser-bench} (or {@code -Djsonparser.bench.dir})
+ * and reused by later runs, since generating the larger sizes takes longer than the benchmark itself.
+ */
+public final class CorpusGenerator {
+
+    public static final String CORPUS_DIR_PROPERTY = "jsonparser.bench.dir";
+
+    private static final long SEED = 0x5EED_1234L;
+    private static final int NESTING_DEPTH = 64;
+    private static final int STRING_LENGTH = 512;
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna",
+            "aliqua", "café", "naïve", "日本", "\\n", "\\\"quoted\\\"", "\\u00e9", "\\t"};
+
+    /**
+     * The payload shapes we care about.
+     */
+    public enum Shape {
+        /** Objects and arrays nested {@value #NESTING_DEPTH} levels deep, repeated. */
+        DEEP_NESTING,
+        /** A single object with a very large number of fields. */
+        WIDE_OBJECT,
+        /** Arrays of long string values, including escapes and non-ASCII text. */
+        STRING_HEAVY,
+        /** Arrays of integers, negative numbers, fractions and exponents. */
+        NUMBER_ARRAY
+    }
+
+    private CorpusGenerator() {
+    }
+
+    /**
+     * Returns the corpus file for the given shape and size, generating it if it does not exist yet.
+     *
+     * @param shape the payload shape
+     * @param size  target size such as {@code 1KB}, {@code 10MB} or {@code 1GB}
+     * @return the path of the generated file
+     */
+    public static Path corpus(Shape shape, String size) {
+        long bytes = parseSize(size);
+        Path dir = Paths.get(System.getProperty(CORPUS_DIR_PROPERTY,
+                Paths.get(System.getProperty("java.io.tmpdir"), "jsonparser-bench").toString()));
+        Path file = dir.resolve(shape.name().toLowerCase(Locale.ROOT) + "-" + size + ".json");
+        if (Files.exists(file)) {
+            return file;
+        }
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "corpus", ".tmp");
+            try (Writer w = new BufferedWriter(Files.newBufferedWriter(tmp, StandardCharsets.UTF_8), 1 << 16)) {
+                generate(shape, bytes, w);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file;
+    }
+
+    /**
+     * Parses sizes like {@code 512B}, {@code 1KB}, {@code 100MB} and {@code 1GB}.
+     */
+    public static long parseSize(String size) {
+        String s = size.trim().toUpperCase(Locale.ROOT);
+        long unit = 1;
+        if (s.endsWith("KB")) {
+            unit = 1L << 10;
+        } else if (s.endsWith("MB")) {
+            unit = 1L << 20;
+        } else if (s.endsWith("GB")) {
+            unit = 1L << 30;
+        }
+        String digits = s.replaceAll("[^0-9]", "");
+        return Long.parseLong(digits) * unit;
+    }
+
+    /**
+     * Writes a document of roughly {@code targetBytes} characters. The top level is always an object.
+     */
+    static void generate(Shape shape, long targetBytes, Writer w) throws IOException {
+        Random random = new Random(SEED);
+        CountingWriter out = new CountingWriter(w);
+        switch (shape) {
+            case DEEP_NESTING:
+                out.write("{\"data\": [");
+                for (int i = 0; out.count < targetBytes; i++) {
+                    if (i > 0) {
+                        out.write(",\n");
+                    }
+                    nested(out, random, NESTING_DEPTH);
+                }
+                out.write("]}");
+                break;
+            case WIDE_OBJECT:
+                out.write("{");
+                for (int i = 0; out.count < targetBytes; i++) {
+                    if (i > 0) {
+                        out.write(",\n");
+                    }
+                    out.write("\"field" + i + "\": ");
+                    scalar(out, random, i);
+                }
+                out.write("}");
+                break;
+            case STRING_HEAVY:
+                out.write("{\"strings\": [");
+                for (int i = 0; out.count < targetBytes; i++) {
+                    if (i > 0) {
+                        out.write(",\n");
+                    }
+                    longString(out, random);
+                }
+                out.write("]}");
+                break;
+            case NUMBER_ARRAY:
+                out.write("{\"numbers\": [");
+                for (int i = 0; out.count < targetBytes; i++) {
+                    if (i > 0) {
+                        out.write(", ");
+                    }
+                    number(out, random, i);
+                }
+                out.write("]}");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+
+    private static void nested(CountingWriter out, Random random, int depth) throws IOException {
+        for (int d = 0; d < depth; d++) {
+            out.write((d & 1) == 0 ? "{\"level\": " + d + ", \"child\": " : "[");
+        }
+        scalar(out, random, depth);
+        for (int d = depth - 1; d >= 0; d--) {
+            out.write((d & 1) == 0 ? "}" : "]");
+        }
+    }
+
+    private static void scalar(CountingWriter out, Random random, int i) throws IOException {
+        switch (i % 5) {
+            case 0 -> out.write("\"" + WORDS[random.nextInt(WORDS.length)] + "\"");
+            case 1 -> number(out, random, random.nextInt());
+            case 2 -> out.write(random.nextBoolean() ? "true" : "false");
+            case 3 -> out.write("null");
+            default -> out.write(Integer.toString(random.nextInt(1_000_000)));
+        }
+    }
+
+    private static void longString(CountingWriter out, Random random) throws IOException {
+        StringBuilder sb = new StringBuilder(STRING_LENGTH + 16).append('"');
+        while (sb.length() < STRING_LENGTH) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        out.write(sb.append('"').toString());
+    }
+
+    private static void number(CountingWriter out, Random random, int i) throws IOException {
+        switch (Math.floorMod(i, 4)) {
+            case 0 -> out.write(Long.toString(random.nextLong()));
+            case 1 -> out.write(Integer.toString(random.nextInt(10_000) - 5_000));
+            case 2 -> out.write(String.format(Locale.ROOT, "%.6f", random.nextDouble() * 1000 - 500));
+            default -> out.write(String.format(Locale.ROOT, "%de%d", random.nextInt(100), random.nextInt(20)));
+        }
+    }
+
+    private static final class CountingWriter {
+        private final Writer w;
+        private long count;
+
+        CountingWriter(Writer w) {
+            this.w = w;
+        }
+
+        void write(String s) throws IOException {
+            w.write(s);
+            count += s.length();
+        }
+    }
+}
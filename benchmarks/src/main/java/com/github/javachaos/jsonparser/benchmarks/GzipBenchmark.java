@@ -0,0 +1,104 @@
+package com.github.javachaos.jsonparser.benchmarks;
+
+import com.github.javachaos.jsonparser.dom.JsonTreeBuilder;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.GzipSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures reading gzip compressed corpora into trees. Inflating on the parsing thread, through a
+ * {@link GZIPInputStream} or all at once before parsing the bytes, against inflating ahead on another thread
+ * through {@link GzipSource}, and against inflating the members of a multi-member file in parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dlog4j2.configurationFile=log4j2-bench.xml"})
+@State(Scope.Benchmark)
+public class GzipBenchmark {
+
+    /**
+     * Uncompressed bytes per member of the multi-member file.
+     */
+    private static final int MEMBER_SIZE = 1 << 20;
+
+    @Param({"STRING_HEAVY", "NUMBER_ARRAY"})
+    public CorpusGenerator.Shape shape;
+
+    @Param({"1MB", "64MB"})
+    public String size;
+
+    private JsonParser parser;
+    private Path single;
+    private Path members;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Path file = CorpusGenerator.corpus(shape, size);
+        single = Path.of(file + ".gz");
+        members = Path.of(file + ".members.gz");
+        byte[] json = Files.readAllBytes(file);
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(single)))) {
+            out.write(json);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(members))) {
+            for (int from = 0; from < json.length; from += MEMBER_SIZE) {
+                GZIPOutputStream member = new GZIPOutputStream(out);
+                member.write(json, from, Math.min(MEMBER_SIZE, json.length - from));
+                member.finish();
+            }
+        }
+        parser = new JsonParser(file.toString());
+    }
+
+    @Benchmark
+    public Object inflateOnParserThread() throws IOException {
+        return parser.readTree(new GZIPInputStream(Files.newInputStream(single), GzipSource.DEFAULT_BUFFER_SIZE));
+    }
+
+    @Benchmark
+    public Object inflateThenParse() throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(single), GzipSource.DEFAULT_BUFFER_SIZE)) {
+            return parser.readTree(in.readAllBytes());
+        }
+    }
+
+    @Benchmark
+    public Object pipelined() throws IOException {
+        try (JsonCursor cursor = new JsonCursor(new GzipSource(Files.newInputStream(single)))) {
+            return JsonTreeBuilder.read(cursor);
+        }
+    }
+
+    @Benchmark
+    public Object pipelinedFile() {
+        return parser.readTree(single);
+    }
+
+    @Benchmark
+    public Object parallelMembers() {
+        return parser.readTree(members);
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.javachaos.jsonparser.benchmarks;
+
+import com.github.javachaos.jsonparser.dom.LazyContainer;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.JsonParserPool;
+import com.github.javachaos.jsonparser.parser.JsonValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parser over corpora held in memory as byte arrays, so that only parsing is timed.
+ * Corpora above {@link BenchmarkInput#IN_MEMORY_LIMIT} are not held in memory, larger sizes are measured from
+ * files by {@link JsonParserBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dlog4j2.configurationFile=log4j2-bench.xml"})
+@State(Scope.Benchmark)
+public class InMemoryParserBenchmark {
+
+    @Param({"DEEP_NESTING", "WIDE_OBJECT", "STRING_HEAVY", "NUMBER_ARRAY"})
+    public CorpusGenerator.Shape shape;
+
+    /**
+     * Sizes up to {@code 64MB} can be selected with {@code -p size=...}.
+     */
+    @Param({"1KB", "64KB", "1MB"})
+    public String size;
+
+    private byte[] bytes;
+    private JsonParser parser;
+    private JsonParser indexed;
+    private JsonParserPool pool;
+    private JsonValidator validator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkInput input = new BenchmarkInput(shape, size);
+        bytes = input.bytes();
+        parser = new JsonParser(input.file().toString());
+        indexed = new JsonParser(input.file().toString(), true);
+        pool = new JsonParserPool();
+        validator = new JsonValidator();
+    }
+
+    /**
+     * UTF-8 byte level parsing, skips the Reader decoding step.
+     */
+    @Benchmark
+    public Object parseBytes() {
+        return parser.parse(bytes);
+    }
+
+    /**
+     * Two stage parsing: a structural index is built over the bytes first.
+     */
+    @Benchmark
+    public Object parseBytesIndexed() {
+        return indexed.parse(bytes);
+    }
+
+    /**
+     * Index the bytes and read the first value of the root lazily, the rest is skipped.
+     */
+    @Benchmark
+    public Object readLazy() {
+        Object root = parser.readLazy(bytes).root();
+        if (root instanceof LazyContainer) {
+            LazyContainer c = (LazyContainer) root;
+            return c.isEmpty() ? c : c.get(0);
+        }
+        return root;
+    }
+
+    /**
+     * Build the tree from in memory bytes on a pooled, warm parse context.
+     */
+    @Benchmark
+    public Object readTreePooled() {
+        return pool.readTree(bytes);
+    }
+
+    /**
+     * Only check that the bytes are valid json, nothing is built.
+     */
+    @Benchmark
+    public boolean validate() {
+        return validator.isValid(bytes);
+    }
+}
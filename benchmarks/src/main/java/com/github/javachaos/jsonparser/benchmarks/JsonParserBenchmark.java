@@ -0,0 +1,86 @@
+package com.github.javachaos.jsonparser.benchmarks;
+
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parser over streams and memory mapped files, which work for every corpus size.
+ * Byte array input is measured by {@link InMemoryParserBenchmark}.
+ * Throughput gives documents per second, sample time gives the latency percentiles.
+ * Run with {@code -prof gc} (the default in {@link BenchmarkRunner}) for allocation rates.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dlog4j2.configurationFile=log4j2-bench.xml"})
+@State(Scope.Benchmark)
+public class JsonParserBenchmark {
+
+    @Param({"DEEP_NESTING", "WIDE_OBJECT", "STRING_HEAVY", "NUMBER_ARRAY"})
+    public CorpusGenerator.Shape shape;
+
+    /**
+     * Larger sizes (up to {@code 1GB}) can be selected with {@code -p size=...}.
+     */
+    @Param({"1KB", "64KB", "1MB"})
+    public String size;
+
+    private BenchmarkInput input;
+    private JsonParser parser;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        input = new BenchmarkInput(shape, size);
+        parser = new JsonParser(input.file().toString());
+    }
+
+    @Benchmark
+    public Object parse() {
+        return parser.parse(input.open());
+    }
+
+    /**
+     * Memory mapped file input.
+     */
+    @Benchmark
+    public Object parseMappedFile() {
+        return parser.parse(input.file());
+    }
+
+    /**
+     * Build the order preserving tree from the mapped file.
+     */
+    @Benchmark
+    public Object readTree() {
+        return parser.readTree(input.file());
+    }
+
+    /**
+     * Pull every event and its text through a cursor over the mapped file, no tree is built.
+     */
+    @Benchmark
+    public void stream(Blackhole bh) throws Exception {
+        try (JsonCursor cursor = parser.cursor(input.file())) {
+            while (cursor.hasNext()) {
+                bh.consume(cursor.next());
+                bh.consume(cursor.getText());
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.javachaos.jsonparser.benchmarks;
+
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.writer.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonWriter} over the same corpora as {@link InMemoryParserBenchmark}, so that writing a tree can
+ * be compared with {@link InMemoryParserBenchmark#readTreePooled()} and a cursor to writer copy with reading alone.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Dlog4j2.configurationFile=log4j2-bench.xml"})
+@State(Scope.Benchmark)
+public class JsonWriterBenchmark {
+
+    @Param({"DEEP_NESTING", "WIDE_OBJECT", "STRING_HEAVY", "NUMBER_ARRAY"})
+    public CorpusGenerator.Shape shape;
+
+    @Param({"1KB", "64KB", "1MB"})
+    public String size;
+
+    private BenchmarkInput input;
+    private JsonParser parser;
+    private Object tree;
+    private JsonWriter compact;
+    private JsonWriter pretty;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        input = new BenchmarkInput(shape, size);
+        parser = new JsonParser(input.file().toString());
+        tree = parser.readTree(input.bytes());
+        compact = new JsonWriter();
+        pretty = new JsonWriter(true);
+    }
+
+    /**
+     * Serialize a parsed tree into the writer's reused buffer.
+     */
+    @Benchmark
+    public int writeTree() {
+        compact.reset();
+        return compact.write(tree).size();
+    }
+
+    @Benchmark
+    public int writeTreePretty() {
+        pretty.reset();
+        return pretty.write(tree).size();
+    }
+
+    /**
+     * Read the bytes with a cursor and write every event straight back out, no tree is built.
+     */
+    @Benchmark
+    public int copy() {
+        compact.reset();
+        try (JsonCursor cursor = parser.cursor(input.bytes())) {
+            return compact.copy(cursor).size();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.javachaos.jsonparser.binding;
+
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+
+/**
+ * Reads one value of a particular type from a cursor.
+ * The cursor is on the first event of the value when the codec is called and is left on its last event, the
+ * same protocol as {@link com.github.javachaos.jsonparser.dom.JsonTreeBuilder#build(JsonCursor)}.
+ */
+interface Codec {
+
+    Object read(JsonCursor cursor);
+}
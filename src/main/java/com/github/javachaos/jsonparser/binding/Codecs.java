@@ -0,0 +1,255 @@
+package com.github.javachaos.jsonparser.binding;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.NumberType;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Codecs for scalars, arrays and collections.
+ */
+final class Codecs {
+
+    private static final Map<Class<?>, Codec> SCALARS = new HashMap<>();
+
+    static {
+        SCALARS.put(String.class, c -> string(c, "String"));
+        SCALARS.put(CharSequence.class, c -> string(c, "CharSequence"));
+        SCALARS.put(boolean.class, c -> bool(c, true));
+        SCALARS.put(Boolean.class, c -> bool(c, false));
+        SCALARS.put(long.class, c -> integer(c, "long", Long.MIN_VALUE, Long.MAX_VALUE, true));
+        SCALARS.put(Long.class, c -> integer(c, "Long", Long.MIN_VALUE, Long.MAX_VALUE, false));
+        SCALARS.put(int.class, c -> toInt(integer(c, "int", Integer.MIN_VALUE, Integer.MAX_VALUE, true)));
+        SCALARS.put(Integer.class, c -> toInt(integer(c, "Integer", Integer.MIN_VALUE, Integer.MAX_VALUE, false)));
+        SCALARS.put(short.class, c -> toShort(integer(c, "short", Short.MIN_VALUE, Short.MAX_VALUE, true)));
+        SCALARS.put(Short.class, c -> toShort(integer(c, "Short", Short.MIN_VALUE, Short.MAX_VALUE, false)));
+        SCALARS.put(byte.class, c -> toByte(integer(c, "byte", Byte.MIN_VALUE, Byte.MAX_VALUE, true)));
+        SCALARS.put(Byte.class, c -> toByte(integer(c, "Byte", Byte.MIN_VALUE, Byte.MAX_VALUE, false)));
+        SCALARS.put(double.class, c -> decimal(c, "double", true));
+        SCALARS.put(Double.class, c -> decimal(c, "Double", false));
+        SCALARS.put(float.class, c -> toFloat(decimal(c, "float", true)));
+        SCALARS.put(Float.class, c -> toFloat(decimal(c, "Float", false)));
+        SCALARS.put(char.class, c -> character(c, true));
+        SCALARS.put(Character.class, c -> character(c, false));
+        SCALARS.put(BigDecimal.class, c -> isNull(c) ? null : number(c, "BigDecimal").getBigDecimal());
+        SCALARS.put(BigInteger.class, Codecs::bigInteger);
+        SCALARS.put(Number.class, c -> isNull(c) ? null : number(c, "Number").getNumber());
+    }
+
+    private Codecs() {
+    }
+
+    /**
+     * @return the codec of a scalar type, or null if the type is not one
+     */
+    static Codec scalar(Class<?> type) {
+        return SCALARS.get(type);
+    }
+
+    static JsonParseException mismatch(JsonCursor cursor, String expected) {
+        return new JsonParseException("Expected " + expected + " at position " + cursor.position() + ", found "
+                + cursor.current());
+    }
+
+    static boolean isNull(JsonCursor cursor) {
+        return cursor.current() == JsonEvent.VALUE_NULL;
+    }
+
+    private static Object string(JsonCursor cursor, String type) {
+        if (isNull(cursor)) {
+            return null;
+        }
+        if (cursor.current() != JsonEvent.VALUE_STRING) {
+            throw mismatch(cursor, "a string for " + type);
+        }
+        return cursor.getText();
+    }
+
+    private static Object bool(JsonCursor cursor, boolean primitive) {
+        switch (cursor.current()) {
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                if (!primitive) {
+                    return null;
+                }
+                throw mismatch(cursor, "true or false for boolean");
+            default:
+                throw mismatch(cursor, primitive ? "true or false for boolean" : "true, false or null for Boolean");
+        }
+    }
+
+    private static Object character(JsonCursor cursor, boolean primitive) {
+        if (!primitive && isNull(cursor)) {
+            return null;
+        }
+        if (cursor.current() == JsonEvent.VALUE_STRING) {
+            String s = cursor.getText();
+            if (s.length() == 1) {
+                return s.charAt(0);
+            }
+        }
+        throw mismatch(cursor, "a single character string for " + (primitive ? "char" : "Character"));
+    }
+
+    private static JsonCursor number(JsonCursor cursor, String type) {
+        if (cursor.current() != JsonEvent.VALUE_NUMBER) {
+            throw mismatch(cursor, "a number for " + type);
+        }
+        return cursor;
+    }
+
+    /**
+     * @return the current whole number as a Long within min and max, or null for json null unless primitive
+     */
+    private static Long integer(JsonCursor cursor, String type, long min, long max, boolean primitive) {
+        if (!primitive && isNull(cursor)) {
+            return null;
+        }
+        number(cursor, type);
+        long v;
+        if (cursor.getNumberType() == NumberType.LONG) {
+            v = cursor.getLong();
+        } else {
+            try {
+                v = cursor.getBigDecimal().longValueExact();
+            } catch (ArithmeticException e) {
+                throw mismatch(cursor, "a whole number for " + type);
+            }
+        }
+        if (v < min || v > max) {
+            throw mismatch(cursor, "a number in range for " + type);
+        }
+        return v;
+    }
+
+    private static Double decimal(JsonCursor cursor, String type, boolean primitive) {
+        if (!primitive && isNull(cursor)) {
+            return null;
+        }
+        return number(cursor, type).getDouble();
+    }
+
+    private static Object bigInteger(JsonCursor cursor) {
+        if (isNull(cursor)) {
+            return null;
+        }
+        try {
+            return number(cursor, "BigInteger").getBigDecimal().toBigIntegerExact();
+        } catch (ArithmeticException e) {
+            throw mismatch(cursor, "a whole number for BigInteger");
+        }
+    }
+
+    private static Object toInt(Long v) {
+        return v == null ? null : (Object) v.intValue();
+    }
+
+    private static Object toShort(Long v) {
+        return v == null ? null : (Object) v.shortValue();
+    }
+
+    private static Object toByte(Long v) {
+        return v == null ? null : (Object) v.byteValue();
+    }
+
+    private static Object toFloat(Double v) {
+        return v == null ? null : (Object) v.floatValue();
+    }
+
+    /**
+     * @return a codec for enum constants written by name
+     */
+    static Codec enumeration(Class<?> type) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name(), constant);
+        }
+        String expected = "a constant of " + type.getSimpleName();
+        return c -> {
+            if (isNull(c)) {
+                return null;
+            }
+            Object constant = c.current() == JsonEvent.VALUE_STRING ? constants.get(c.getText()) : null;
+            if (constant == null) {
+                throw mismatch(c, expected);
+            }
+            return constant;
+        };
+    }
+
+    /**
+     * @return a codec for json arrays read into a new collection from factory
+     */
+    static Codec collection(Codec element, Supplier<Collection<Object>> factory) {
+        return c -> {
+            if (isNull(c)) {
+                return null;
+            }
+            if (c.current() != JsonEvent.START_ARRAY) {
+                throw mismatch(c, "an array");
+            }
+            Collection<Object> values = factory.get();
+            while (c.next() != JsonEvent.END_ARRAY) {
+                values.add(element.read(c));
+            }
+            return values;
+        };
+    }
+
+    /**
+     * @return a codec for json arrays read into java arrays of componentType
+     */
+    static Codec array(Class<?> componentType, Codec element) {
+        return c -> {
+            if (isNull(c)) {
+                return null;
+            }
+            if (c.current() != JsonEvent.START_ARRAY) {
+                throw mismatch(c, "an array");
+            }
+            ArrayList<Object> values = new ArrayList<>();
+            while (c.next() != JsonEvent.END_ARRAY) {
+                values.add(element.read(c));
+            }
+            Object array = Array.newInstance(componentType, values.size());
+            for (int i = 0; i < values.size(); i++) {
+                Array.set(array, i, values.get(i));
+            }
+            return array;
+        };
+    }
+
+    /**
+     * @return a codec for json objects read into a map from field name to value
+     */
+    static Codec map(Codec value) {
+        return c -> {
+            if (isNull(c)) {
+                return null;
+            }
+            if (c.current() != JsonEvent.START_OBJECT) {
+                throw mismatch(c, "an object");
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            while (c.next() != JsonEvent.END_OBJECT) {
+                String name = c.getText();
+                c.next();
+                values.put(name, value.read(c));
+            }
+            return values;
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.javachaos.jsonparser.binding;
+
+import com.github.javachaos.jsonparser.dom.JsonArray;
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.dom.JsonTreeBuilder;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Reads json straight into Java objects, without building a tree first.
+ * <p>
+ * Records are created through their canonical constructor and other classes through a no-argument constructor,
+ * after which their non-final, non-transient fields are set; fields are matched by name, unknown ones are skipped
+ * and missing ones keep their default. Besides those, strings, primitives and their wrappers, BigDecimal,
+ * BigInteger, enums by name, arrays, Lists, Sets and other Collections, Maps from String keys, and Object, JsonObject
+ * or JsonArray for untyped trees can be bound. Generic element types are taken from the declared type of a field
+ * or record component.
+ * <p>
+ * The work of looking at a class happens once: its codec is built on first use and cached for as long as the
+ * class is loaded. A binder is thread safe.
+ */
+public final class JsonBinder {
+
+    private static final JsonBinder SHARED = new JsonBinder();
+
+    private final ClassValue<Codec> codecs = new ClassValue<>() {
+        @Override
+        protected Codec computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    /**
+     * @return the binder the parsers use
+     */
+    public static JsonBinder shared() {
+        return SHARED;
+    }
+
+    /**
+     * Read a value from the cursor.
+     * If the cursor has not started yet or is on a {@link JsonEvent#FIELD_NAME} it is advanced to the next value
+     * first. Afterwards the cursor is on the last event of the value, like
+     * {@link JsonTreeBuilder#build(JsonCursor)}.
+     *
+     * @return the value, null for json null
+     * @throws com.github.javachaos.jsonparser.exceptions.JsonParseException if the json does not fit the type
+     * @throws IllegalArgumentException                                       if the type cannot be bound at all
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(JsonCursor cursor, Class<T> type) {
+        return (T) read(cursor, (Type) type);
+    }
+
+    /**
+     * Read a value of a generic type from the cursor, see {@link #read(JsonCursor, Class)}.
+     */
+    public Object read(JsonCursor cursor, Type type) {
+        Codec codec = codec(type);
+        JsonEvent e = cursor.current();
+        if (e == null || e == JsonEvent.FIELD_NAME) {
+            cursor.next();
+        }
+        return codec.read(cursor);
+    }
+
+    Codec codec(Type type) {
+        if (type instanceof Class) {
+            return codecs.get((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType p = (ParameterizedType) type;
+            Class<?> raw = (Class<?>) p.getRawType();
+            Type[] args = p.getActualTypeArguments();
+            if (Map.class.isAssignableFrom(raw)) {
+                return map(raw, args[0], args[1]);
+            }
+            if (Collection.class.isAssignableFrom(raw)) {
+                return collection(raw, args[0]);
+            }
+            return codecs.get(raw);
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = ((GenericArrayType) type).getGenericComponentType();
+            return Codecs.array(erase(component), codec(component));
+        }
+        return codec(erase(type));
+    }
+
+    private static Class<?> erase(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return erase(((GenericArrayType) type).getGenericComponentType()).arrayType();
+        }
+        if (type instanceof WildcardType) {
+            return erase(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            return erase(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        throw new IllegalArgumentException("Cannot bind " + type);
+    }
+
+    private Codec create(Class<?> type) {
+        Codec scalar = Codecs.scalar(type);
+        if (scalar != null) {
+            return scalar;
+        }
+        if (type == Object.class) {
+            return JsonTreeBuilder::read;
+        }
+        if (type == JsonObject.class || type == JsonArray.class) {
+            JsonEvent start = type == JsonObject.class ? JsonEvent.START_OBJECT : JsonEvent.START_ARRAY;
+            String expected = type == JsonObject.class ? "an object" : "an array";
+            return c -> {
+                if (Codecs.isNull(c)) {
+                    return null;
+                }
+                if (c.current() != start) {
+                    throw Codecs.mismatch(c, expected);
+                }
+                return JsonTreeBuilder.read(c);
+            };
+        }
+        if (type.isArray()) {
+            return Codecs.array(type.getComponentType(), codec(type.getComponentType()));
+        }
+        if (type.isEnum()) {
+            return Codecs.enumeration(type);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return map(type, String.class, Object.class);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return collection(type, Object.class);
+        }
+        if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("Cannot bind " + type.getName());
+        }
+        return new ObjectCodec(this, type);
+    }
+
+    private Codec collection(Class<?> type, Type element) {
+        Codec codec = codec(element);
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return Codecs.collection(codec, ArrayList::new);
+        }
+        if (type.isAssignableFrom(LinkedHashSet.class)) {
+            return Codecs.collection(codec, LinkedHashSet::new);
+        }
+        if (type.isAssignableFrom(ArrayDeque.class)) {
+            return Codecs.collection(codec, ArrayDeque::new);
+        }
+        throw new IllegalArgumentException("Cannot bind " + type.getName() + ", use List, Set or Queue");
+    }
+
+    private Codec map(Class<?> type, Type key, Type value) {
+        if (erase(key) != String.class && erase(key) != Object.class) {
+            throw new IllegalArgumentException("Cannot bind maps with " + key.getTypeName() + " keys");
+        }
+        if (!type.isAssignableFrom(LinkedHashMap.class)) {
+            throw new IllegalArgumentException("Cannot bind " + type.getName() + ", use Map");
+        }
+        return Codecs.map(codec(value));
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.javachaos.jsonparser.binding;
+
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Binds json objects to records, through their canonical constructor, and to classes with a no-argument
+ * constructor, through their fields. Everything reflective is resolved once into {@link MethodHandle}s when the
+ * codec is built; the codecs of the properties themselves are looked up on first use, which is what lets a type
+ * refer to itself.
+ * <p>
+ * Field names are matched against a table laid out by the hash of each property name. Names coming from the
+ * cursor are canonical {@link String}s with their hash already computed, so a match is usually one array load
+ * and one reference comparison. Unknown fields are skipped without being decoded, missing ones keep their
+ * default.
+ */
+final class ObjectCodec implements Codec {
+
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(Object.class);
+    private static final MethodType CANONICAL = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final JsonBinder binder;
+    private final Class<?> type;
+    private final boolean record;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+    private final Property[] table;
+    private final int mask;
+
+    private static final class Property {
+        private final String name;
+        private final Type type;
+        private final int index;
+        private final MethodHandle setter;
+        private final Object defaultValue;
+        private volatile Codec codec;
+
+        private Property(String name, Type type, int index, MethodHandle setter, Object defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.index = index;
+            this.setter = setter;
+            this.defaultValue = defaultValue;
+        }
+    }
+
+    ObjectCodec(JsonBinder binder, Class<?> type) {
+        this.binder = binder;
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            if (type.isRecord()) {
+                this.record = true;
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] types = new Class<?>[components.length];
+                this.properties = new Property[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    types[i] = components[i].getType();
+                    properties[i] = new Property(components[i].getName(), components[i].getGenericType(), i, null,
+                            defaultValue(types[i]));
+                }
+                Constructor<?> canonical = type.getDeclaredConstructor(types);
+                canonical.setAccessible(true);
+                this.constructor = lookup.unreflectConstructor(canonical)
+                        .asSpreader(Object[].class, components.length).asType(CANONICAL);
+            } else {
+                this.record = false;
+                Constructor<?> noArgs = type.getDeclaredConstructor();
+                noArgs.setAccessible(true);
+                this.constructor = lookup.unreflectConstructor(noArgs).asType(CONSTRUCTOR);
+                this.properties = fields(lookup, type);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Cannot bind " + type.getName()
+                    + ", it is neither a record nor has a no-argument constructor", e);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot bind " + type.getName() + ": " + e.getMessage(), e);
+        }
+        int size = Integer.highestOneBit(Math.max(1, properties.length) * 2 - 1) << 1;
+        this.table = new Property[size];
+        this.mask = size - 1;
+        for (Property p : properties) {
+            int slot = p.name.hashCode() & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = p;
+        }
+    }
+
+    /**
+     * The instance fields of type and its superclasses that can be set, a subclass hiding a field wins.
+     */
+    private static Property[] fields(MethodHandles.Lookup lookup, Class<?> type) throws IllegalAccessException {
+        List<Property> properties = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                int modifiers = f.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || Modifier.isFinal(modifiers)
+                        || f.isSynthetic() || !names.add(f.getName())) {
+                    continue;
+                }
+                f.setAccessible(true);
+                MethodHandle setter = lookup.unreflectSetter(f).asType(SETTER);
+                properties.add(new Property(f.getName(), f.getGenericType(), properties.size(), setter, null));
+            }
+        }
+        return properties.toArray(new Property[0]);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+
+    private Property find(String name) {
+        int slot = name.hashCode() & mask;
+        Property p;
+        while ((p = table[slot]) != null) {
+            if (p.name == name || p.name.equals(name)) {
+                return p;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private Codec codec(Property p) {
+        Codec c = p.codec;
+        if (c == null) {
+            c = binder.codec(p.type);
+            p.codec = c;
+        }
+        return c;
+    }
+
+    @Override
+    public Object read(JsonCursor cursor) {
+        if (Codecs.isNull(cursor)) {
+            return null;
+        }
+        if (cursor.current() != JsonEvent.START_OBJECT) {
+            throw Codecs.mismatch(cursor, "an object for " + type.getSimpleName());
+        }
+        try {
+            if (record) {
+                Object[] args = new Object[properties.length];
+                for (Property p : properties) {
+                    args[p.index] = p.defaultValue;
+                }
+                while (cursor.next() != JsonEvent.END_OBJECT) {
+                    Property p = find(cursor.getText());
+                    cursor.next();
+                    if (p == null) {
+                        cursor.skipChildren();
+                    } else {
+                        Object value = codec(p).read(cursor);
+                        args[p.index] = value == null ? p.defaultValue : value;
+                    }
+                }
+                return constructor.invokeExact(args);
+            }
+            Object instance = constructor.invokeExact();
+            while (cursor.next() != JsonEvent.END_OBJECT) {
+                Property p = find(cursor.getText());
+                cursor.next();
+                if (p == null) {
+                    cursor.skipChildren();
+                } else {
+                    p.setter.invokeExact(instance, codec(p).read(cursor));
+                }
+            }
+            return instance;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not create " + type.getName(), t);
+        }
+    }
+}
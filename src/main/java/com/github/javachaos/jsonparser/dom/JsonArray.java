@@ -0,0 +1,25 @@
+package com.github.javachaos.jsonparser.dom;
+
+/**
+ * An immutable json array.
+ */
+public final class JsonArray extends JsonContainer {
+
+    static final JsonArray EMPTY = new JsonArray(new byte[0], new Object[0], null);
+
+    JsonArray(byte[] types, Object[] values, long[] numbers) {
+        super(types, values, numbers);
+    }
+
+    @Override
+    void appendTo(StringBuilder sb) {
+        sb.append('[');
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendValue(sb, i);
+        }
+        sb.append(']');
+    }
+}
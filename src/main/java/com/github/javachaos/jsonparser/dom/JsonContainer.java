@@ -0,0 +1,232 @@
+package com.github.javachaos.jsonparser.dom;
+
+import com.github.javachaos.jsonparser.parser.NumberType;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Common storage of {@link JsonObject} and {@link JsonArray}.
+ * Values are kept in flat arrays sized exactly to the container: a type tag per value, and the value itself for
+ * strings, booleans and nested containers. Numbers that fit a long or a double live unboxed in a parallel
+ * primitive lane, the double as its raw bits; only numbers that need a BigDecimal are stored as objects.
+ * Scalars are stored directly, there are no per value wrappers.
+ * Containers are immutable once built, so they can be shared between threads.
+ */
+public abstract class JsonContainer {
+
+    final byte[] types;
+    final Object[] values;
+
+    /**
+     * Longs and double bits by index, or null if the container holds no such numbers.
+     */
+    final long[] numbers;
+
+    JsonContainer(byte[] types, Object[] values, long[] numbers) {
+        this.types = types;
+        this.values = values;
+        this.numbers = numbers;
+    }
+
+    /**
+     * @return the number of values, or fields for an object
+     */
+    public int size() {
+        return types.length;
+    }
+
+    public boolean isEmpty() {
+        return types.length == 0;
+    }
+
+    public JsonType type(int index) {
+        return JsonType.of(types[index]);
+    }
+
+    /**
+     * @return the value at index as a String, Number, Boolean, JsonObject, JsonArray, or null for json null
+     */
+    public Object get(int index) {
+        if (type(index) == JsonType.NUMBER) {
+            return getNumber(index);
+        }
+        return values[index];
+    }
+
+    public String getString(int index) {
+        return (String) checked(index, JsonType.STRING);
+    }
+
+    /**
+     * @return the number at index as a Long, Double or BigDecimal, see {@link #numberType(int)}
+     */
+    public Number getNumber(int index) {
+        switch (numberType(index)) {
+            case LONG:
+                return numbers[index];
+            case DOUBLE:
+                return Double.longBitsToDouble(numbers[index]);
+            default:
+                return (BigDecimal) values[index];
+        }
+    }
+
+    /**
+     * @return how the number at index is stored: LONG for integers that fit, DOUBLE for fractions that a double
+     * represents as the nearest value, BIG_DECIMAL for everything else
+     */
+    public NumberType numberType(int index) {
+        byte tag = types[index];
+        if (tag == JsonType.NUMBER.tag()) {
+            return NumberType.LONG;
+        }
+        if (tag == JsonType.DOUBLE_TAG) {
+            return NumberType.DOUBLE;
+        }
+        if (tag == JsonType.BIG_DECIMAL_TAG) {
+            return NumberType.BIG_DECIMAL;
+        }
+        throw mismatch(index, JsonType.NUMBER);
+    }
+
+    /**
+     * @return the number at index as a long, fractions are truncated
+     */
+    public long getLong(int index) {
+        switch (numberType(index)) {
+            case LONG:
+                return numbers[index];
+            case DOUBLE:
+                return (long) Double.longBitsToDouble(numbers[index]);
+            default:
+                return ((BigDecimal) values[index]).longValue();
+        }
+    }
+
+    /**
+     * @return the number at index as the nearest double
+     */
+    public double getDouble(int index) {
+        switch (numberType(index)) {
+            case LONG:
+                return numbers[index];
+            case DOUBLE:
+                return Double.longBitsToDouble(numbers[index]);
+            default:
+                return ((BigDecimal) values[index]).doubleValue();
+        }
+    }
+
+    /**
+     * @return the number at index without any loss of precision
+     */
+    public BigDecimal getBigDecimal(int index) {
+        switch (numberType(index)) {
+            case LONG:
+                return BigDecimal.valueOf(numbers[index]);
+            case DOUBLE:
+                return BigDecimal.valueOf(Double.longBitsToDouble(numbers[index]));
+            default:
+                return (BigDecimal) values[index];
+        }
+    }
+
+    public boolean getBoolean(int index) {
+        return (Boolean) checked(index, JsonType.BOOLEAN);
+    }
+
+    public JsonObject getObject(int index) {
+        return (JsonObject) checked(index, JsonType.OBJECT);
+    }
+
+    public JsonArray getArray(int index) {
+        return (JsonArray) checked(index, JsonType.ARRAY);
+    }
+
+    public boolean isNull(int index) {
+        return types[index] == JsonType.NULL.tag();
+    }
+
+    private Object checked(int index, JsonType expected) {
+        if (types[index] != expected.tag()) {
+            throw mismatch(index, expected);
+        }
+        return values[index];
+    }
+
+    private IllegalStateException mismatch(int index, JsonType expected) {
+        return new IllegalStateException("Expected " + expected + " at index " + index + " but was "
+                + type(index));
+    }
+
+    /**
+     * Append the value at index as json text.
+     */
+    void appendValue(StringBuilder sb, int index) {
+        switch (type(index)) {
+            case STRING:
+                appendString(sb, (String) values[index]);
+                break;
+            case OBJECT:
+            case ARRAY:
+                ((JsonContainer) values[index]).appendTo(sb);
+                break;
+            case NUMBER:
+                sb.append(getNumber(index));
+                break;
+            default:
+                sb.append(values[index]);
+        }
+    }
+
+    abstract void appendTo(StringBuilder sb);
+
+    static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * @return the container as compact json
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JsonContainer that = (JsonContainer) o;
+        return Arrays.equals(types, that.types) && Arrays.equals(values, that.values)
+                && Arrays.equals(numbers, that.numbers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(types) + Arrays.hashCode(values)) + Arrays.hashCode(numbers);
+    }
+}
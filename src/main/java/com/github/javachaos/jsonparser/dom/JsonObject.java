@@ -0,0 +1,156 @@
+package com.github.javachaos.jsonparser.dom;
+
+import com.github.javachaos.jsonparser.parser.NumberType;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * An immutable json object.
+ * Fields keep the order they had in the document, duplicated names are kept as well and lookups by name find
+ * the last one. Small objects are searched linearly, larger ones get a hash index on first lookup.
+ */
+public final class JsonObject extends JsonContainer {
+
+    static final JsonObject EMPTY = new JsonObject(new String[0], new byte[0], new Object[0], null);
+
+    private static final int INDEX_THRESHOLD = 8;
+
+    final String[] names;
+
+    /**
+     * Open addressing table of field index + 1, built lazily for objects above {@link #INDEX_THRESHOLD} fields.
+     */
+    private volatile int[] index;
+
+    JsonObject(String[] names, byte[] types, Object[] values, long[] numbers) {
+        super(types, values, numbers);
+        this.names = names;
+    }
+
+    /**
+     * @return the name of the field at index
+     */
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return the index of the last field called name, or -1 if there is none
+     */
+    public int indexOf(String name) {
+        if (names.length <= INDEX_THRESHOLD) {
+            for (int i = names.length - 1; i >= 0; i--) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int[] table = index;
+        if (table == null) {
+            index = table = buildIndex();
+        }
+        int mask = table.length - 1;
+        for (int slot = name.hashCode() & mask; table[slot] != 0; slot = slot + 1 & mask) {
+            int i = table[slot] - 1;
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int[] buildIndex() {
+        int[] table = new int[Integer.highestOneBit(names.length * 2 - 1) << 1];
+        int mask = table.length - 1;
+        for (int i = 0; i < names.length; i++) {
+            int slot = names[i].hashCode() & mask;
+            while (table[slot] != 0 && !names[table[slot] - 1].equals(names[i])) {
+                slot = slot + 1 & mask;
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    public boolean has(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    /**
+     * @return the value of the field, see {@link #get(int)}, or null if there is no such field
+     */
+    public Object get(String name) {
+        int i = indexOf(name);
+        return i < 0 ? null : get(i);
+    }
+
+    public String getString(String name) {
+        return getString(require(name));
+    }
+
+    public Number getNumber(String name) {
+        return getNumber(require(name));
+    }
+
+    public NumberType numberType(String name) {
+        return numberType(require(name));
+    }
+
+    public long getLong(String name) {
+        return getLong(require(name));
+    }
+
+    public double getDouble(String name) {
+        return getDouble(require(name));
+    }
+
+    public BigDecimal getBigDecimal(String name) {
+        return getBigDecimal(require(name));
+    }
+
+    public boolean getBoolean(String name) {
+        return getBoolean(require(name));
+    }
+
+    public JsonObject getObject(String name) {
+        return getObject(require(name));
+    }
+
+    public JsonArray getArray(String name) {
+        return getArray(require(name));
+    }
+
+    private int require(String name) {
+        int i = indexOf(name);
+        if (i < 0) {
+            throw new IllegalStateException("No such field: " + name);
+        }
+        return i;
+    }
+
+    @Override
+    void appendTo(StringBuilder sb) {
+        sb.append('{');
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendString(sb, names[i]);
+            sb.append(':');
+            appendValue(sb, i);
+        }
+        sb.append('}');
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && Arrays.equals(names, ((JsonObject) o).names);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Arrays.hashCode(names);
+    }
+}
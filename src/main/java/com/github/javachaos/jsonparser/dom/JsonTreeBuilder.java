@@ -0,0 +1,186 @@
+package com.github.javachaos.jsonparser.dom;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+
+import java.util.Arrays;
+
+/**
+ * Builds {@link JsonObject} and {@link JsonArray} trees from the events of a {@link JsonCursor}.
+ * Values of all open containers are collected on one shared scratch stack; when a container ends its values are
+ * copied into arrays of exactly the right size, so every container is allocated once and nothing is hashed.
+ * Numbers are taken from the cursor as primitives and never pass through a String.
+ * Building is iterative, the depth of the document does not matter to the call stack.
+ * <p>
+ * A builder can be reused for many documents but not by several threads at once.
+ */
+public final class JsonTreeBuilder {
+
+    private String[] names = new String[64];
+    private byte[] types = new byte[64];
+    private Object[] values = new Object[64];
+    private long[] numbers = new long[64];
+    private int top;
+
+    private int[] starts = new int[16];
+    private boolean[] objects = new boolean[16];
+    private String[] containerNames = new String[16];
+    private int depth;
+
+    /**
+     * Read the value at the cursor, see {@link #build(JsonCursor)}.
+     */
+    public static Object read(JsonCursor cursor) {
+        return new JsonTreeBuilder().build(cursor);
+    }
+
+    /**
+     * Read a value from the cursor.
+     * If the cursor has not started yet or is on a {@link JsonEvent#FIELD_NAME} it is advanced to the next value
+     * first; if it is on a START event the whole object or array is read. Afterwards the cursor is on the last
+     * event of the value, so a stream of large documents can be processed one element at a time.
+     *
+     * @return a JsonObject, JsonArray, String, Long, Double, BigDecimal, Boolean, or null for json null
+     */
+    public Object build(JsonCursor cursor) {
+        top = 0;
+        depth = 0;
+        JsonEvent e = cursor.current();
+        if (e == null || e == JsonEvent.FIELD_NAME) {
+            e = cursor.next();
+        }
+        String name = null;
+        while (true) {
+            switch (e) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    push(e == JsonEvent.START_OBJECT, name);
+                    break;
+                case FIELD_NAME:
+                    name = cursor.getText();
+                    break;
+                case END_OBJECT:
+                case END_ARRAY: {
+                    if (depth == 0) {
+                        throw new JsonParseException("Expected a value, found " + e);
+                    }
+                    JsonContainer c = pop();
+                    if (depth == 0) {
+                        return c;
+                    }
+                    add(containerNames[depth], (c instanceof JsonObject ? JsonType.OBJECT : JsonType.ARRAY).tag(), c);
+                    break;
+                }
+                case VALUE_NUMBER:
+                    if (depth == 0) {
+                        return cursor.getNumber();
+                    }
+                    addNumber(name, cursor);
+                    break;
+                default: {
+                    JsonType type = scalarType(e);
+                    Object value = scalar(cursor, e);
+                    if (depth == 0) {
+                        return value;
+                    }
+                    add(name, type.tag(), value);
+                }
+            }
+            e = cursor.next();
+        }
+    }
+
+    private static JsonType scalarType(JsonEvent e) {
+        switch (e) {
+            case VALUE_STRING:
+                return JsonType.STRING;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JsonType.BOOLEAN;
+            default:
+                return JsonType.NULL;
+        }
+    }
+
+    private static Object scalar(JsonCursor cursor, JsonEvent e) {
+        switch (e) {
+            case VALUE_STRING:
+                return cursor.getText();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    private void push(boolean object, String name) {
+        if (depth == starts.length) {
+            starts = Arrays.copyOf(starts, depth * 2);
+            objects = Arrays.copyOf(objects, depth * 2);
+            containerNames = Arrays.copyOf(containerNames, depth * 2);
+        }
+        starts[depth] = top;
+        objects[depth] = object;
+        containerNames[depth] = name;
+        depth++;
+    }
+
+    private JsonContainer pop() {
+        depth--;
+        int start = starts[depth];
+        int n = top - start;
+        top = start;
+        if (n == 0) {
+            return objects[depth] ? JsonObject.EMPTY : JsonArray.EMPTY;
+        }
+        byte[] t = Arrays.copyOfRange(types, start, start + n);
+        Object[] v = Arrays.copyOfRange(values, start, start + n);
+        Arrays.fill(values, start, start + n, null);
+        long[] l = null;
+        for (byte tag : t) {
+            if (tag == JsonType.NUMBER.tag() || tag == JsonType.DOUBLE_TAG) {
+                l = Arrays.copyOfRange(numbers, start, start + n);
+                break;
+            }
+        }
+        JsonContainer c = objects[depth]
+                ? new JsonObject(Arrays.copyOfRange(names, start, start + n), t, v, l)
+                : new JsonArray(t, v, l);
+        Arrays.fill(names, start, start + n, null);
+        return c;
+    }
+
+    private void addNumber(String name, JsonCursor cursor) {
+        int i;
+        switch (cursor.getNumberType()) {
+            case LONG:
+                i = add(name, JsonType.NUMBER.tag(), null);
+                numbers[i] = cursor.getLong();
+                break;
+            case DOUBLE:
+                i = add(name, JsonType.DOUBLE_TAG, null);
+                numbers[i] = Double.doubleToRawLongBits(cursor.getDouble());
+                break;
+            default:
+                add(name, JsonType.BIG_DECIMAL_TAG, cursor.getBigDecimal());
+        }
+    }
+
+    private int add(String name, byte tag, Object value) {
+        if (top == types.length) {
+            int capacity = top * 2;
+            names = Arrays.copyOf(names, capacity);
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            numbers = Arrays.copyOf(numbers, capacity);
+        }
+        names[top] = name;
+        types[top] = tag;
+        values[top] = value;
+        numbers[top] = 0;
+        return top++;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.javachaos.jsonparser.dom;
+
+/**
+ * The type of a value held by a {@link JsonObject} or {@link JsonArray}.
+ */
+public enum JsonType {
+    OBJECT, ARRAY, STRING, NUMBER, BOOLEAN, NULL;
+
+    /*
+     * NUMBER's own tag marks a long, these extra tags mark the other representations of a number.
+     */
+    static final byte DOUBLE_TAG = 6;
+    static final byte BIG_DECIMAL_TAG = 7;
+
+    private static final JsonType[] VALUES = values();
+
+    static JsonType of(byte tag) {
+        return tag >= DOUBLE_TAG ? NUMBER : VALUES[tag];
+    }
+
+    byte tag() {
+        return (byte) ordinal();
+    }
+}
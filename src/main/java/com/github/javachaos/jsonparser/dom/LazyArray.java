@@ -0,0 +1,27 @@
+package com.github.javachaos.jsonparser.dom;
+
+/**
+ * A json array of a {@link LazyDocument}, its elements are decoded when they are read.
+ */
+public final class LazyArray extends LazyContainer {
+
+    LazyArray(LazyDocument document, int start) {
+        super(document, start);
+    }
+
+    @Override
+    void scan() {
+        if (end >= 0) {
+            return;
+        }
+        int p = document.next(start + 1);
+        if (document.at(p) != ']') {
+            while (p >= 0) {
+                add(p);
+                p = afterValue(document.end(p), ']');
+            }
+            p = -p - 1;
+        }
+        scanned(p);
+    }
+}
@@ -0,0 +1,205 @@
+package com.github.javachaos.jsonparser.dom;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.utils.Utf8Source;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Common part of {@link LazyObject} and {@link LazyArray}.
+ * The offsets of the direct children are found on first access, each child is decoded the first time it is read
+ * and then kept.
+ */
+public abstract class LazyContainer {
+
+    private static final Object UNREAD = new Object();
+
+    final LazyDocument document;
+
+    /**
+     * Offset of the opening bracket.
+     */
+    final int start;
+
+    /**
+     * Offset of the closing bracket, -1 until the container has been scanned.
+     */
+    int end = -1;
+    int size;
+    int[] offsets;
+    private Object[] values;
+
+    LazyContainer(LazyDocument document, int start) {
+        this.document = document;
+        this.start = start;
+    }
+
+    /**
+     * Find the offsets of the direct children and the closing bracket.
+     */
+    abstract void scan();
+
+    /**
+     * @return the offset of the next child, after the value that ends at offset
+     */
+    int afterValue(int offset, char close) {
+        int p = document.next(offset + 1);
+        byte b = document.at(p);
+        if (b == close) {
+            return -p - 1;
+        }
+        if (b != ',') {
+            throw expected("',' or '" + close + "'", p);
+        }
+        return document.next(p + 1);
+    }
+
+    void add(int offset) {
+        if (offsets == null) {
+            offsets = new int[8];
+        } else if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = offset;
+    }
+
+    void scanned(int close) {
+        end = close;
+        if (offsets == null) {
+            offsets = new int[0];
+        }
+        values = new Object[size];
+        Arrays.fill(values, UNREAD);
+    }
+
+    static JsonParseException expected(String what, int offset) {
+        return new JsonParseException("Expected " + what + " at byte offset " + offset);
+    }
+
+    /**
+     * @return the number of values, or fields for an object
+     */
+    public int size() {
+        scan();
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public JsonType type(int index) {
+        scan();
+        switch (document.at(offsets[index])) {
+            case '{':
+                return JsonType.OBJECT;
+            case '[':
+                return JsonType.ARRAY;
+            case '"':
+                return JsonType.STRING;
+            case 't':
+            case 'f':
+                return JsonType.BOOLEAN;
+            case 'n':
+                return JsonType.NULL;
+            default:
+                return JsonType.NUMBER;
+        }
+    }
+
+    /**
+     * @return the value at index as a String, Long, Double, BigDecimal, Boolean, LazyObject, LazyArray, or null
+     * for json null
+     */
+    public Object get(int index) {
+        scan();
+        Object value = values[index];
+        if (value == UNREAD) {
+            values[index] = value = document.value(offsets[index]);
+        }
+        return value;
+    }
+
+    public String getString(int index) {
+        return (String) checked(index, JsonType.STRING);
+    }
+
+    /**
+     * @return the string at index as a view of the document's bytes, or the String if it has already been read
+     */
+    public CharSequence getCharacters(int index) {
+        if (type(index) != JsonType.STRING) {
+            throw new IllegalStateException("Expected " + JsonType.STRING + " at index " + index + " but was "
+                    + type(index));
+        }
+        Object value = values[index];
+        return value == UNREAD ? document.chars(offsets[index]) : (String) value;
+    }
+
+    public Number getNumber(int index) {
+        return (Number) checked(index, JsonType.NUMBER);
+    }
+
+    public long getLong(int index) {
+        return getNumber(index).longValue();
+    }
+
+    public double getDouble(int index) {
+        return getNumber(index).doubleValue();
+    }
+
+    public BigDecimal getBigDecimal(int index) {
+        Number n = getNumber(index);
+        if (n instanceof BigDecimal) {
+            return (BigDecimal) n;
+        }
+        return n instanceof Long ? BigDecimal.valueOf(n.longValue()) : BigDecimal.valueOf(n.doubleValue());
+    }
+
+    public boolean getBoolean(int index) {
+        return (Boolean) checked(index, JsonType.BOOLEAN);
+    }
+
+    public LazyObject getObject(int index) {
+        return (LazyObject) checked(index, JsonType.OBJECT);
+    }
+
+    public LazyArray getArray(int index) {
+        return (LazyArray) checked(index, JsonType.ARRAY);
+    }
+
+    public boolean isNull(int index) {
+        return type(index) == JsonType.NULL;
+    }
+
+    private Object checked(int index, JsonType expected) {
+        JsonType type = type(index);
+        if (type != expected) {
+            throw new IllegalStateException("Expected " + expected + " at index " + index + " but was " + type);
+        }
+        return get(index);
+    }
+
+    /**
+     * Decode the whole container into an immutable tree.
+     *
+     * @return a JsonObject or JsonArray
+     */
+    public JsonContainer toTree() {
+        scan();
+        try (JsonCursor cursor = new JsonCursor(new Utf8Source(document.slice(start, end + 1)))) {
+            return (JsonContainer) JsonTreeBuilder.read(cursor);
+        }
+    }
+
+    /**
+     * @return the container's json text as written in the document
+     */
+    @Override
+    public String toString() {
+        scan();
+        return document.decode(start, end - start + 1);
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.javachaos.jsonparser.dom;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+import com.github.javachaos.jsonparser.utils.StructuralIndex;
+import com.github.javachaos.jsonparser.utils.Utf8Chars;
+import com.github.javachaos.jsonparser.utils.Utf8Source;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A json document that is decoded on demand.
+ * Reading a document only builds a {@link StructuralIndex} over its bytes. Objects and arrays record the offsets
+ * of their direct children the first time they are accessed, stepping over nested subtrees by matching brackets
+ * on the index; strings and numbers are decoded when they are asked for. Extracting a few fields from a large
+ * document therefore costs time in proportion to the parts that are touched.
+ * <p>
+ * Only the parts that are touched are checked for errors. The input must not change while the document is in
+ * use. Documents and their containers are not thread safe.
+ */
+public final class LazyDocument {
+
+    private final ByteBuffer buffer;
+    private final int origin;
+    private final StructuralIndex index;
+    private final Object root;
+
+    private LazyDocument(ByteBuffer input) {
+        this.buffer = input.duplicate();
+        this.origin = input.position();
+        this.index = new StructuralIndex().build(input);
+        int start = index.nextStructural(0);
+        if (start < 0) {
+            throw new JsonParseException("Expected a value, found end of input");
+        }
+        this.root = value(start);
+    }
+
+    /**
+     * Read UTF-8 encoded bytes, they are used in place and must not change while the document is in use.
+     */
+    public static LazyDocument of(byte[] json) {
+        return new LazyDocument(ByteBuffer.wrap(json));
+    }
+
+    /**
+     * Read the remaining bytes of a buffer, they are used in place and must not change while the document is in
+     * use. The buffer's position is left untouched.
+     */
+    public static LazyDocument of(ByteBuffer json) {
+        return new LazyDocument(json);
+    }
+
+    /**
+     * @return a LazyObject, LazyArray, String, Long, Double, BigDecimal, Boolean, or null for json null
+     */
+    public Object root() {
+        return root;
+    }
+
+    /**
+     * @return the byte at offset, offsets count from the start of the document
+     */
+    byte at(int offset) {
+        return buffer.get(origin + offset);
+    }
+
+    /**
+     * @return the next structural at or after offset
+     */
+    int next(int offset) {
+        int next = index.nextStructural(offset);
+        if (next < 0) {
+            throw new JsonParseException("Unexpected end of input at byte offset " + index.length());
+        }
+        return next;
+    }
+
+    /**
+     * @return the offset of the last byte of the value starting at offset
+     */
+    int end(int offset) {
+        switch (at(offset)) {
+            case '{':
+            case '[': {
+                int depth = 0;
+                int p = offset;
+                while (true) {
+                    byte b = at(p);
+                    if (b == '{' || b == '[') {
+                        depth++;
+                    } else if ((b == '}' || b == ']') && --depth == 0) {
+                        return p;
+                    }
+                    p = next(p + 1);
+                }
+            }
+            case '"':
+                return next(offset + 1);
+            default: {
+                int p = index.nextStructural(offset + 1);
+                p = p < 0 ? index.length() : p;
+                while (p > offset + 1 && isWhitespace(at(p - 1))) {
+                    p--;
+                }
+                return p - 1;
+            }
+        }
+    }
+
+    /**
+     * Materialize the value starting at offset.
+     */
+    Object value(int offset) {
+        switch (at(offset)) {
+            case '{':
+                return new LazyObject(this, offset);
+            case '[':
+                return new LazyArray(this, offset);
+            case '"':
+                return string(offset);
+            default:
+                return scalar(offset);
+        }
+    }
+
+    /**
+     * Decode the string whose opening quote is at offset.
+     */
+    String string(int offset) {
+        int close = next(offset + 1);
+        if (at(close) != '"') {
+            throw new JsonParseException("Unterminated string at byte offset " + offset);
+        }
+        if (!index.hasBackslash(offset + 1, close)) {
+            return decode(offset + 1, close - offset - 1);
+        }
+        return new Utf8Source(slice(offset + 1, close + 1)).readString(true);
+    }
+
+    /**
+     * View the string whose opening quote is at offset without decoding it.
+     */
+    Utf8Chars chars(int offset) {
+        int close = next(offset + 1);
+        if (at(close) != '"') {
+            throw new JsonParseException("Unterminated string at byte offset " + offset);
+        }
+        boolean ascii = true;
+        for (int i = offset + 1; i < close && ascii; i++) {
+            ascii = at(i) >= 0;
+        }
+        return new Utf8Chars(buffer, origin + offset + 1, close - offset - 1, ascii,
+                index.hasBackslash(offset + 1, close));
+    }
+
+    /**
+     * Decode the field name whose opening quote is at offset, names without escapes are resolved through
+     * {@link KeyCache#shared()}.
+     */
+    String name(int offset) {
+        int close = next(offset + 1);
+        int length = close - offset - 1;
+        if (at(close) != '"' || length > KeyCache.MAX_KEY_LENGTH || index.hasBackslash(offset + 1, close)) {
+            return string(offset);
+        }
+        int hash = 0;
+        for (int i = offset + 1; i < close; i++) {
+            hash = KeyCache.hash(hash, at(i) & 0xFF);
+        }
+        return KeyCache.shared().get(buffer, origin + offset + 1, length, hash);
+    }
+
+    private Object scalar(int offset) {
+        try (JsonCursor cursor = new JsonCursor(new Utf8Source(slice(offset, end(offset) + 1)))) {
+            JsonEvent e = cursor.next();
+            Object value;
+            switch (e) {
+                case VALUE_NUMBER:
+                    value = cursor.getNumber();
+                    break;
+                case VALUE_TRUE:
+                    value = Boolean.TRUE;
+                    break;
+                case VALUE_FALSE:
+                    value = Boolean.FALSE;
+                    break;
+                case VALUE_NULL:
+                    value = null;
+                    break;
+                default:
+                    throw new JsonParseException("Expected a value at byte offset " + offset);
+            }
+            if (cursor.hasNext()) {
+                throw new JsonParseException("Expected a value at byte offset " + offset);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * @return length bytes starting at offset from, as text
+     */
+    String decode(int from, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + origin + from, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(origin + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return a view of the bytes in [from, to)
+     */
+    ByteBuffer slice(int from, int to) {
+        return buffer.duplicate().limit(origin + to).position(origin + from);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(root);
+    }
+}
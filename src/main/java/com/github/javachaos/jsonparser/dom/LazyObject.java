@@ -0,0 +1,148 @@
+package com.github.javachaos.jsonparser.dom;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A json object of a {@link LazyDocument}.
+ * Field names are decoded on the first lookup, values when they are read. As with {@link JsonObject} lookups by
+ * name find the last field of that name.
+ */
+public final class LazyObject extends LazyContainer {
+
+    private static final int INDEX_THRESHOLD = 8;
+
+    /**
+     * Offsets of the opening quote of each field name.
+     */
+    private int[] nameOffsets;
+    private String[] names;
+    private Map<String, Integer> index;
+
+    LazyObject(LazyDocument document, int start) {
+        super(document, start);
+    }
+
+    @Override
+    void scan() {
+        if (end >= 0) {
+            return;
+        }
+        int[] found = new int[8];
+        int p = document.next(start + 1);
+        if (document.at(p) != '}') {
+            while (p >= 0) {
+                if (document.at(p) != '"') {
+                    throw expected("a field name", p);
+                }
+                if (size == found.length) {
+                    found = Arrays.copyOf(found, size * 2);
+                }
+                found[size] = p;
+                int colon = document.next(document.end(p) + 1);
+                if (document.at(colon) != ':') {
+                    throw expected("':'", colon);
+                }
+                int value = document.next(colon + 1);
+                add(value);
+                p = afterValue(document.end(value), '}');
+            }
+            p = -p - 1;
+        }
+        nameOffsets = found;
+        names = new String[size];
+        scanned(p);
+    }
+
+    /**
+     * @return the name of the field at index
+     */
+    public String name(int index) {
+        scan();
+        String name = names[index];
+        if (name == null) {
+            names[index] = name = document.name(nameOffsets[index]);
+        }
+        return name;
+    }
+
+    /**
+     * @return the index of the last field called name, or -1 if there is none
+     */
+    public int indexOf(String name) {
+        scan();
+        if (size <= INDEX_THRESHOLD) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (name(i).equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        if (index == null) {
+            index = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                index.put(name(i), i);
+            }
+        }
+        return index.getOrDefault(name, -1);
+    }
+
+    public boolean has(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    /**
+     * @return the value of the field, see {@link #get(int)}, or null if there is no such field
+     */
+    public Object get(String name) {
+        int i = indexOf(name);
+        return i < 0 ? null : get(i);
+    }
+
+    public String getString(String name) {
+        return getString(require(name));
+    }
+
+    public CharSequence getCharacters(String name) {
+        return getCharacters(require(name));
+    }
+
+    public Number getNumber(String name) {
+        return getNumber(require(name));
+    }
+
+    public long getLong(String name) {
+        return getLong(require(name));
+    }
+
+    public double getDouble(String name) {
+        return getDouble(require(name));
+    }
+
+    public BigDecimal getBigDecimal(String name) {
+        return getBigDecimal(require(name));
+    }
+
+    public boolean getBoolean(String name) {
+        return getBoolean(require(name));
+    }
+
+    public LazyObject getObject(String name) {
+        return getObject(require(name));
+    }
+
+    public LazyArray getArray(String name) {
+        return getArray(require(name));
+    }
+
+    private int require(String name) {
+        int i = indexOf(name);
+        if (i < 0) {
+            throw new IllegalStateException("No such field: " + name);
+        }
+        return i;
+    }
+}
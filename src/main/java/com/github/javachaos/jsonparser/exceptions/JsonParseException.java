@@ -3,10 +3,64 @@ package com.github.javachaos.jsonparser.exceptions;
 import java.io.IOException;
 
 public class JsonParseException extends RuntimeException {
+
+    private final long offset;
+    private final int line;
+    private final int column;
+
     public JsonParseException(String s) {
-        super(s);
+        this(s, -1, -1, -1);
+    }
+
+    /**
+     * @param s     what is wrong
+     * @param cause the error this one wraps, which keeps its own position
+     */
+    public JsonParseException(String s, Throwable cause) {
+        super(s, cause);
+        this.offset = -1;
+        this.line = -1;
+        this.column = -1;
     }
+
     public JsonParseException(IOException e) {
         super(e);
+        this.offset = -1;
+        this.line = -1;
+        this.column = -1;
+    }
+
+    /**
+     * @param s      what is wrong, the position is appended
+     * @param offset the byte offset of the error from the start of the input
+     * @param line   the line of the error, starting at 1
+     * @param column the column of the error in code points, starting at 1
+     */
+    public JsonParseException(String s, long offset, int line, int column) {
+        super(offset < 0 ? s : s + " at offset " + offset + ", line " + line + ", column " + column);
+        this.offset = offset;
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * @return the byte offset of the error, or -1 if it is not known
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the line of the error starting at 1, or -1 if it is not known
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * @return the column of the error in code points starting at 1, or -1 if it is not known
+     */
+    public int getColumn() {
+        return column;
     }
 }
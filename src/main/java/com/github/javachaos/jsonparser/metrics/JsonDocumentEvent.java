@@ -0,0 +1,73 @@
+package com.github.javachaos.jsonparser.metrics;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for a document read by {@link com.github.javachaos.jsonparser.parser.JsonParser}, a
+ * {@link com.github.javachaos.jsonparser.parser.JsonParserPool} or a cursor. The event spans the whole document
+ * and is only built when a recording has it enabled; set its threshold to record only slow documents.
+ */
+@Name(JsonDocumentEvent.NAME)
+@Label("JSON Document")
+@Category("JSON Parser")
+@Description("A json document was parsed")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class JsonDocumentEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.github.javachaos.jsonparser.Document";
+
+    @Label("Size")
+    @Description("Code units of input read, bytes for byte input and chars for streams")
+    @DataAmount
+    long size;
+
+    @Label("Depth")
+    @Description("The most objects and arrays that were open at once")
+    int depth;
+
+    @Label("Tokens")
+    long tokens;
+
+    @Label("Strings")
+    long strings;
+
+    @Label("Numbers")
+    long numbers;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Error Position")
+    long errorPosition;
+
+    @Label("Error")
+    String error;
+
+    /**
+     * Finish timing a document and commit the event if it took long enough.
+     *
+     * @param e the error the document failed with, null if it was read
+     */
+    public void end(ParseStats stats, JsonParseException e) {
+        end();
+        if (shouldCommit()) {
+            size = stats.bytes();
+            depth = stats.maxDepth();
+            tokens = stats.tokens();
+            strings = stats.strings();
+            numbers = stats.numbers();
+            failed = e != null;
+            errorPosition = stats.errorPosition();
+            error = e == null ? null : e.getMessage();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.javachaos.jsonparser.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for a {@link com.github.javachaos.jsonparser.utils.CharacterStreamReader} waiting on its
+ * stream to refill the buffer, or a {@link com.github.javachaos.jsonparser.utils.GzipSource} waiting for the next
+ * inflated buffer, so that parser stalls show up next to the I/O that caused them. Gzip sources count bytes.
+ */
+@Name(JsonRefillEvent.NAME)
+@Label("JSON Buffer Refill")
+@Category("JSON Parser")
+@Description("A stream parser refilled its buffer")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class JsonRefillEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.github.javachaos.jsonparser.BufferRefill";
+
+    @Label("Chars Read")
+    @DataAmount
+    long charsRead;
+
+    @Label("Buffer Size")
+    @DataAmount
+    long bufferSize;
+
+    @Label("Position")
+    @Description("Chars read from the stream before this refill")
+    long position;
+
+    @Label("End of Input")
+    boolean endOfInput;
+
+    /**
+     * Finish timing a refill and commit the event if it took long enough.
+     */
+    public void end(long charsRead, long bufferSize, long position) {
+        end();
+        if (shouldCommit()) {
+            this.charsRead = Math.max(charsRead, 0);
+            this.bufferSize = bufferSize;
+            this.position = position;
+            this.endOfInput = charsRead < 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.javachaos.jsonparser.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for a single string or number that took longer than the threshold to decode or skip,
+ * such as a huge string full of escapes or a number with thousands of digits.
+ */
+@Name(JsonTokenEvent.NAME)
+@Label("JSON Slow Token")
+@Category("JSON Parser")
+@Description("A single json value took long to read")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class JsonTokenEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.github.javachaos.jsonparser.SlowToken";
+
+    @Label("Kind")
+    @Description("string or number")
+    String kind;
+
+    @Label("Position")
+    @Description("Code units of input read once the value had been read")
+    long position;
+
+    @Label("Length")
+    @Description("Length of the value in chars, -1 if it was skipped or is not decoded yet")
+    long length;
+
+    /**
+     * Finish timing a value and commit the event if it took long enough.
+     */
+    public void end(String kind, long position, long length) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.position = position;
+            this.length = length;
+            commit();
+        }
+    }
+}
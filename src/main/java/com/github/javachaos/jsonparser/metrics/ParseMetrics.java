@@ -0,0 +1,43 @@
+package com.github.javachaos.jsonparser.metrics;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+/**
+ * Receives the statistics of every document a parser reads.
+ * The parsers count tokens, strings, numbers and depth in plain fields as they go and call back once per
+ * document, so an implementation sees one call per document however large it is. Implementations are called on
+ * the parsing thread and must be thread safe when one instance is shared by several parsers, see
+ * {@link ParseStatistics} for one that aggregates into striped counters.
+ * <p>
+ * With {@link #NONE}, the default, nothing is timed or reported and the counters are never read, unless a
+ * flight recording has {@link JsonDocumentEvent} enabled.
+ */
+public interface ParseMetrics {
+
+    /**
+     * Metrics that are switched off.
+     */
+    ParseMetrics NONE = new ParseMetrics() {
+        @Override
+        public void documentParsed(ParseStats stats) {
+        }
+
+        @Override
+        public void documentFailed(ParseStats stats, JsonParseException e) {
+        }
+    };
+
+    /**
+     * A document has been read to its end.
+     *
+     * @param stats the document's statistics, only valid during the call
+     */
+    void documentParsed(ParseStats stats);
+
+    /**
+     * A document has been found to be invalid, the exception is thrown on once this returns.
+     *
+     * @param stats the statistics up to the error, with its position; only valid during the call
+     */
+    void documentFailed(ParseStats stats, JsonParseException e);
+}
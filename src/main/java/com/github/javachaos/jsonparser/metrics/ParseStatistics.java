@@ -0,0 +1,183 @@
+package com.github.javachaos.jsonparser.metrics;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totals over every document reported to it.
+ * The counters are {@link LongAdder}s, so any number of parsing threads can share one instance without
+ * contending on a single cache line; reading a total sums the stripes and is not an atomic snapshot.
+ */
+public final class ParseStatistics implements ParseMetrics {
+
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder strings = new LongAdder();
+    private final LongAdder numbers = new LongAdder();
+    private final LongAdder allocated = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private volatile Failure lastFailure;
+
+    @Override
+    public void documentParsed(ParseStats stats) {
+        documents.increment();
+        add(stats);
+    }
+
+    @Override
+    public void documentFailed(ParseStats stats, JsonParseException e) {
+        failures.increment();
+        add(stats);
+        lastFailure = new Failure(stats.errorPosition(), stats.errorLine(), e.getMessage());
+    }
+
+    private void add(ParseStats stats) {
+        bytes.add(stats.bytes());
+        nanos.add(stats.nanos());
+        tokens.add(stats.tokens());
+        strings.add(stats.strings());
+        numbers.add(stats.numbers());
+        if (stats.allocatedBytes() > 0) {
+            allocated.add(stats.allocatedBytes());
+        }
+        maxDepth.accumulate(stats.maxDepth());
+        maxNanos.accumulate(stats.nanos());
+    }
+
+    /**
+     * @return the documents read to their end
+     */
+    public long documents() {
+        return documents.sum();
+    }
+
+    /**
+     * @return the documents found to be invalid
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+
+    public long nanos() {
+        return nanos.sum();
+    }
+
+    public long tokens() {
+        return tokens.sum();
+    }
+
+    public long strings() {
+        return strings.sum();
+    }
+
+    public long numbers() {
+        return numbers.sum();
+    }
+
+    /**
+     * @return the bytes allocated while parsing, as far as the JVM measures it
+     */
+    public long allocatedBytes() {
+        return allocated.sum();
+    }
+
+    /**
+     * @return the deepest nesting of any document
+     */
+    public int maxDepth() {
+        return (int) maxDepth.get();
+    }
+
+    /**
+     * @return the longest any single document took
+     */
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return the input read per second of parsing, 0 if nothing has been read
+     */
+    public double bytesPerSecond() {
+        long n = nanos();
+        return n > 0 ? bytes() * 1e9 / n : 0;
+    }
+
+    /**
+     * @return the bytes allocated per document on average, 0 if nothing has been read
+     */
+    public long allocatedBytesPerDocument() {
+        long n = documents() + failures();
+        return n > 0 ? allocatedBytes() / n : 0;
+    }
+
+    /**
+     * @return the code units read into the most recent invalid document when it failed, or -1 if none has
+     */
+    public long lastErrorPosition() {
+        Failure f = lastFailure;
+        return f == null ? -1 : f.position;
+    }
+
+    /**
+     * @return the line of the most recent error, or -1 if none has failed
+     */
+    public int lastErrorLine() {
+        Failure f = lastFailure;
+        return f == null ? -1 : f.line;
+    }
+
+    /**
+     * @return the message of the most recent error, or null if none has failed
+     */
+    public String lastErrorMessage() {
+        Failure f = lastFailure;
+        return f == null ? null : f.message;
+    }
+
+    /**
+     * Start counting from zero again. Documents reported meanwhile may be partly lost.
+     */
+    public void reset() {
+        documents.reset();
+        failures.reset();
+        bytes.reset();
+        nanos.reset();
+        tokens.reset();
+        strings.reset();
+        numbers.reset();
+        allocated.reset();
+        maxDepth.reset();
+        maxNanos.reset();
+        lastFailure = null;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseStatistics[documents=" + documents() + ", failures=" + failures() + ", bytes=" + bytes()
+                + ", nanos=" + nanos() + ", tokens=" + tokens() + ", strings=" + strings() + ", numbers="
+                + numbers() + ", maxDepth=" + maxDepth() + ", allocatedBytes=" + allocatedBytes() + "]";
+    }
+
+    private static final class Failure {
+        private final long position;
+        private final int line;
+        private final String message;
+
+        private Failure(long position, int line, String message) {
+            this.position = position;
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.javachaos.jsonparser.metrics;
+
+/**
+ * What reading a single document took, as reported to {@link ParseMetrics}.
+ * Positions and sizes are in code units of input: bytes for byte arrays, buffers and files, chars for streams.
+ */
+public interface ParseStats {
+
+    /**
+     * @return the code units of input read
+     */
+    long bytes();
+
+    /**
+     * @return the time from starting on the document to finishing or failing it
+     */
+    long nanos();
+
+    /**
+     * @return the events read by a {@link com.github.javachaos.jsonparser.parser.JsonCursor}, or the tokens read
+     * by {@link com.github.javachaos.jsonparser.parser.JsonParser#parse()}
+     */
+    long tokens();
+
+    /**
+     * @return the most objects and arrays that were open at once
+     */
+    int maxDepth();
+
+    /**
+     * @return the string values read, field names not included
+     */
+    long strings();
+
+    /**
+     * @return the number values read
+     */
+    long numbers();
+
+    /**
+     * @return the bytes the parsing thread allocated meanwhile, or -1 if the JVM does not measure it
+     */
+    long allocatedBytes();
+
+    /**
+     * @return the code units read when the document was found to be invalid, or -1 if it was not
+     */
+    long errorPosition();
+
+    /**
+     * @return the line the document was found to be invalid on, or -1 if it was not
+     */
+    int errorLine();
+
+    /**
+     * @return the input read per second, 0 if no time was measured
+     */
+    default double bytesPerSecond() {
+        long nanos = nanos();
+        return nanos > 0 ? bytes() * 1e9 / nanos : 0;
+    }
+}
@@ -0,0 +1,320 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.utils.Pair;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+
+/**
+ * A bounded cache of parsed documents, for resources and files that are read over and over, see
+ * {@link JsonParser#JsonParser(String, boolean, int, com.github.javachaos.jsonparser.metrics.ParseMetrics,
+ * DocumentCache)}.
+ * Documents are keyed by where they come from and checked against a stamp of their content on every lookup:
+ * the modification time and size of files, the CRC and size of jar entries, and a SHA-256 hash of the bytes for
+ * anything else. A document whose stamp changed is read again.
+ * <p>
+ * The least recently used documents are evicted once there are more than maxEntries of them, or once their
+ * weight, the size of their input in bytes, adds up to more than maxBytes. A document heavier than maxBytes on
+ * its own is read but never kept, and so is a null read, which loaders use for documents that failed to parse.
+ * <p>
+ * A cache is thread safe and so is what it hands out: trees are immutable and the sets of
+ * {@link JsonParser#parse()} are wrapped read only, so every caller gets the same instance. Threads that miss on
+ * the same document at once each read it, and the last one to finish is kept. Parsers sharing a cache should
+ * have the same maximum depth, a document is not read again for a parser with a lower one.
+ */
+public final class DocumentCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    /**
+     * What is kept of a document.
+     */
+    enum Kind {
+        TEXT, TREE, SET
+    }
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    /**
+     * Guarded by this, in access order so that the eldest entry is the least recently used.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public DocumentCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxEntries the most documents kept
+     * @param maxBytes   the most bytes of input the kept documents may have been read from
+     */
+    public DocumentCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum entries must be positive: " + maxEntries);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Maximum bytes must be positive: " + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Look up a resource, reading it if it is not cached or has changed since.
+     *
+     * @param load reads the bytes of the resource into what is kept
+     */
+    Object resource(URL url, Kind kind, Function<byte[], Object> load) {
+        try {
+            Object stamp = stamp(url);
+            byte[] bytes = null;
+            if (stamp == null) {
+                bytes = readAllBytes(url);
+                stamp = ByteBuffer.wrap(sha256(bytes));
+            }
+            Key key = new Key(url.toExternalForm(), kind);
+            Entry entry = lookup(key, stamp);
+            if (entry != null) {
+                return entry.value;
+            }
+            if (bytes == null) {
+                bytes = readAllBytes(url);
+            }
+            Object value = load.apply(bytes);
+            store(key, new Entry(stamp, value, bytes.length));
+            return value;
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /**
+     * Look up a file, reading it if it is not cached or has changed since.
+     *
+     * @param load reads the file into what is kept
+     */
+    Object file(Path file, Kind kind, Function<Path, Object> load) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            Object stamp = List.of(attributes.lastModifiedTime(), attributes.size());
+            Key key = new Key(file.toAbsolutePath().normalize().toUri().toString(), kind);
+            Entry entry = lookup(key, stamp);
+            if (entry != null) {
+                return entry.value;
+            }
+            Object value = load.apply(file);
+            store(key, new Entry(stamp, value, attributes.size()));
+            return value;
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    private synchronized Entry lookup(Key key, Object stamp) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.stamp.equals(stamp)) {
+            hits++;
+            return entry;
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void store(Key key, Entry entry) {
+        if (entry.value == null || entry.weight > maxBytes) {
+            return;
+        }
+        Entry old = entries.put(key, entry);
+        if (old != null) {
+            weight -= old.weight;
+        }
+        weight += entry.weight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || weight > maxBytes) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @return the stamp of a file or jar entry, or null if the resource has to be hashed
+     */
+    private static Object stamp(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(Path.of(url.toURI()),
+                        BasicFileAttributes.class);
+                return List.of(attributes.lastModifiedTime(), attributes.size());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+        if ("jar".equals(url.getProtocol())) {
+            URLConnection connection = url.openConnection();
+            if (connection instanceof JarURLConnection) {
+                JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+                if (entry != null && entry.getCrc() != -1) {
+                    return List.of(entry.getCrc(), entry.getSize(), entry.getTime());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static byte[] readAllBytes(URL url) throws IOException {
+        try (InputStream is = url.openStream()) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copy a set read by {@link JsonParser#parse()} into one that is read only all the way down.
+     */
+    @SuppressWarnings("unchecked")
+    static Set<Pair<String, Object>> freeze(Set<Pair<String, Object>> set) {
+        return (Set<Pair<String, Object>>) freeze((Object) set);
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof Set) {
+            Set<Object> set = new HashSet<>();
+            for (Object o : (Set<?>) value) {
+                set.add(freeze(o));
+            }
+            return Collections.unmodifiableSet(set);
+        }
+        if (value instanceof List) {
+            List<?> values = (List<?>) value;
+            List<Object> list = new ArrayList<>(values.size());
+            for (Object o : values) {
+                list.add(freeze(o));
+            }
+            return Collections.unmodifiableList(list);
+        }
+        if (value instanceof Pair) {
+            Pair<?, ?> pair = (Pair<?, ?>) value;
+            return new Pair<>(pair.getKey(), freeze(pair.getValue()));
+        }
+        return value;
+    }
+
+    /**
+     * Drop every document, the statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return the number of documents kept
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the bytes of input the kept documents were read from
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    /**
+     * @return the lookups that found an unchanged document
+     */
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    /**
+     * @return the lookups that had to read the document
+     */
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    /**
+     * @return the documents dropped to stay within the bounds
+     */
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "DocumentCache{size=" + entries.size() + ", weight=" + weight + ", hits=" + hits + ", misses="
+                + misses + ", evictions=" + evictions + '}';
+    }
+
+    private static final class Key {
+        private final String source;
+        private final Kind kind;
+
+        Key(String source, Kind kind) {
+            this.source = source;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return source.equals(key.source) && kind == key.kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, kind);
+        }
+    }
+
+    private static final class Entry {
+        private final Object stamp;
+        private final Object value;
+        private final long weight;
+
+        Entry(Object stamp, Object value, long weight) {
+            this.stamp = stamp;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.JsonDocumentEvent;
+import com.github.javachaos.jsonparser.metrics.JsonTokenEvent;
+import com.github.javachaos.jsonparser.metrics.ParseMetrics;
+import com.github.javachaos.jsonparser.metrics.ParseStats;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The statistics of the document a parser is reading, reused from one document to the next.
+ * Whether a document is measured at all is decided when it starts: only if there are metrics to report to or a
+ * flight recording has {@link JsonDocumentEvent} enabled. Whether its strings and numbers are timed for
+ * {@link JsonTokenEvent} is decided then as well, so values pay nothing unless that event is enabled.
+ */
+final class DocumentStats implements ParseStats {
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    /**
+     * Null if metrics are switched off.
+     */
+    private final ParseMetrics metrics;
+    private JsonDocumentEvent event;
+    private long startNanos;
+    private long startAllocated;
+    private boolean active;
+    private boolean timeTokens;
+
+    private long bytes;
+    private long nanos;
+    private long tokens;
+    private int maxDepth;
+    private long strings;
+    private long numbers;
+    private long allocated;
+    private long errorPosition;
+    private int errorLine;
+
+    /**
+     * @param metrics where documents are reported, null or {@link ParseMetrics#NONE} for nowhere
+     */
+    DocumentStats(ParseMetrics metrics) {
+        this.metrics = metrics == ParseMetrics.NONE ? null : metrics;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean t = (com.sun.management.ThreadMXBean) threads;
+                if (t.isThreadAllocatedMemorySupported() && t.isThreadAllocatedMemoryEnabled()) {
+                    return t;
+                }
+            }
+        } catch (LinkageError e) {
+            // jdk.management is not available
+        }
+        return null;
+    }
+
+    private static long allocatedSoFar() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Start on a new document.
+     */
+    void start() {
+        JsonDocumentEvent e = new JsonDocumentEvent();
+        event = e.isEnabled() ? e : null;
+        timeTokens = new JsonTokenEvent().isEnabled();
+        active = metrics != null || event != null;
+        if (!active) {
+            return;
+        }
+        if (event != null) {
+            event.begin();
+        }
+        startAllocated = metrics != null ? allocatedSoFar() : -1;
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Start timing a string or number.
+     *
+     * @return the event to end once the value has been read, or null if values are not timed in this document
+     */
+    JsonTokenEvent beginToken() {
+        if (!timeTokens) {
+            return null;
+        }
+        JsonTokenEvent e = new JsonTokenEvent();
+        e.begin();
+        return e;
+    }
+
+    /**
+     * Finish timing a value started with {@link #beginToken()}.
+     */
+    void endToken(JsonTokenEvent e, String kind, long position, long length) {
+        if (e != null) {
+            e.end(kind, position, length);
+        }
+    }
+
+    /**
+     * Report the document as read.
+     */
+    void finish(long bytes, long tokens, int maxDepth, long strings, long numbers) {
+        if (active) {
+            record(bytes, tokens, maxDepth, strings, numbers);
+            errorPosition = -1;
+            errorLine = -1;
+            if (metrics != null) {
+                metrics.documentParsed(this);
+            }
+            commit(null);
+        }
+    }
+
+    /**
+     * Report the document as invalid.
+     */
+    void fail(JsonParseException e, long bytes, int line, long tokens, int maxDepth, long strings, long numbers) {
+        if (active) {
+            record(bytes, tokens, maxDepth, strings, numbers);
+            errorPosition = bytes;
+            errorLine = line;
+            if (metrics != null) {
+                metrics.documentFailed(this, e);
+            }
+            commit(e);
+        }
+    }
+
+    private void record(long bytes, long tokens, int maxDepth, long strings, long numbers) {
+        this.nanos = System.nanoTime() - startNanos;
+        this.allocated = startAllocated < 0 ? -1 : allocatedSoFar() - startAllocated;
+        this.bytes = bytes;
+        this.tokens = tokens;
+        this.maxDepth = maxDepth;
+        this.strings = strings;
+        this.numbers = numbers;
+        this.active = false;
+    }
+
+    private void commit(JsonParseException e) {
+        if (event != null) {
+            event.end(this, e);
+            event = null;
+        }
+    }
+
+    @Override
+    public long bytes() {
+        return bytes;
+    }
+
+    @Override
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public long tokens() {
+        return tokens;
+    }
+
+    @Override
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    @Override
+    public long strings() {
+        return strings;
+    }
+
+    @Override
+    public long numbers() {
+        return numbers;
+    }
+
+    @Override
+    public long allocatedBytes() {
+        return allocated;
+    }
+
+    @Override
+    public long errorPosition() {
+        return errorPosition;
+    }
+
+    @Override
+    public int errorLine() {
+        return errorLine;
+    }
+}
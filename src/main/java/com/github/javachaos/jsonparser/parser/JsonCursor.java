@@ -0,0 +1,623 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.JsonTokenEvent;
+import com.github.javachaos.jsonparser.metrics.ParseMetrics;
+import com.github.javachaos.jsonparser.utils.Base64Decoder;
+import com.github.javachaos.jsonparser.utils.JsonSource;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Pull parser over a single json value.
+ * Each call to {@link #next()} reads just enough input to report the next {@link JsonEvent}, so a document of
+ * any size is processed in constant memory. The grammar is the same object/array/value grammar as
+ * {@link JsonParser}, but the open containers live on an explicit stack rather than the call stack, which is
+ * what lets the cursor stop after every event.
+ * <p>
+ * String and number values are not read until they are asked for, values and subtrees that are never looked at
+ * are skipped without being decoded. Numbers are decoded straight to primitives, see {@link #getLong()} and
+ * {@link #getDouble()}. Strings too large to hold in memory can be read a chunk at a time through
+ * {@link #getReader()}, or decoded from base64 straight to a stream with {@link #readBinary(OutputStream)}.
+ * A cursor is not thread safe.
+ * <p>
+ * Given {@link ParseMetrics}, the cursor reports each value once {@link #hasNext()} has found its end, or once
+ * it has been found to be invalid.
+ */
+public final class JsonCursor implements Iterator<JsonEvent>, AutoCloseable {
+
+    private static final byte IN_OBJECT = 0;
+    private static final byte IN_ARRAY = 1;
+
+    /*
+     * What the cursor expects next.
+     */
+    private static final int VALUE = 0;
+    private static final int FIRST_FIELD = 1;
+    private static final int FIELD = 2;
+    private static final int FIRST_ELEMENT = 3;
+    private static final int AFTER_VALUE = 4;
+    private static final int DONE = 5;
+
+    /**
+     * Characters decoded per chunk by {@link #readBinary(OutputStream)}.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    private JsonSource source;
+    private final JsonTokenizer tokenizer;
+    private final StringBuilder number = new StringBuilder();
+    private final int maxDepth;
+    private final DocumentStats stats;
+
+    private byte[] stack = new byte[16];
+    private int depth;
+    private int state = VALUE;
+    private JsonEvent current;
+    private String text;
+    private CharSequence chars;
+    private boolean pendingString;
+    private boolean pendingNumber;
+    private boolean skipping;
+
+    /*
+     * The reader of the current string while its closing quote has not been read, and the buffers for base64.
+     */
+    private ValueReader streaming;
+    private char[] chunk;
+    private byte[] decoded;
+
+    /*
+     * Counted for the metrics.
+     */
+    private long events;
+    private long strings;
+    private long numbers;
+    private int deepest;
+
+    /**
+     * Read from source, resolving field names through {@link KeyCache#shared()}.
+     */
+    public JsonCursor(JsonSource source) {
+        this(source, KeyCache.shared());
+    }
+
+    /**
+     * @param keys the cache field names are resolved through, null to decode every name afresh
+     */
+    public JsonCursor(JsonSource source, KeyCache keys) {
+        this(source, keys, JsonParser.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param keys     the cache field names are resolved through, null to decode every name afresh
+     * @param maxDepth the most objects and arrays that may be open at once, deeper input is rejected
+     */
+    public JsonCursor(JsonSource source, KeyCache keys, int maxDepth) {
+        this(source, keys, maxDepth, ParseMetrics.NONE);
+    }
+
+    /**
+     * @param keys     the cache field names are resolved through, null to decode every name afresh
+     * @param maxDepth the most objects and arrays that may be open at once, deeper input is rejected
+     * @param metrics  where the statistics of the value are reported
+     */
+    public JsonCursor(JsonSource source, KeyCache keys, int maxDepth, ParseMetrics metrics) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive: " + maxDepth);
+        }
+        this.source = source;
+        this.tokenizer = new JsonTokenizer(source, keys);
+        this.maxDepth = maxDepth;
+        this.stats = new DocumentStats(metrics);
+        stats.start();
+    }
+
+    /**
+     * Start over on a new source, keeping the stack and buffers already allocated.
+     */
+    void reset(JsonSource source) {
+        this.source = source;
+        tokenizer.reset(source);
+        depth = 0;
+        state = VALUE;
+        current = null;
+        text = null;
+        chars = null;
+        pendingString = false;
+        pendingNumber = false;
+        skipping = false;
+        streaming = null;
+        events = 0;
+        strings = 0;
+        numbers = 0;
+        deepest = 0;
+        stats.start();
+    }
+
+    /**
+     * @return true if there are more events, once the value has been read this also checks
+     * that nothing but whitespace follows it
+     */
+    @Override
+    public boolean hasNext() {
+        if (state != DONE) {
+            return true;
+        }
+        skipPending();
+        tokenizer.whitespace();
+        if (source.peekChar() != JsonSource.EOF) {
+            throw failed(new JsonParseException("Unexpected data after the end of the document at line: "
+                    + tokenizer.line()));
+        }
+        stats.finish(source.position(), events, deepest, strings, numbers);
+        return false;
+    }
+
+    /**
+     * Advance to the next event.
+     *
+     * @return the event
+     * @throws JsonParseException     if the input is not valid json
+     * @throws NoSuchElementException if the whole value has been read
+     */
+    @Override
+    public JsonEvent next() {
+        try {
+            JsonEvent e = advance();
+            events++;
+            return e;
+        } catch (JsonParseException e) {
+            throw failed(e);
+        }
+    }
+
+    private JsonParseException failed(JsonParseException e) {
+        stats.fail(e, source.position(), tokenizer.line(), events, deepest, strings, numbers);
+        return e;
+    }
+
+    private JsonEvent advance() {
+        skipPending();
+        text = null;
+        chars = null;
+        switch (state) {
+            case VALUE:
+                return value();
+            case FIRST_FIELD: {
+                Token t = tokenizer.next();
+                if (t == Token.RBRACE) {
+                    return end(JsonEvent.END_OBJECT);
+                }
+                return field(t);
+            }
+            case FIELD:
+                return field(tokenizer.next());
+            case FIRST_ELEMENT:
+                if (tokenizer.peek() == Token.RBRAC) {
+                    tokenizer.next();
+                    return end(JsonEvent.END_ARRAY);
+                }
+                return value();
+            case AFTER_VALUE:
+                return afterValue(tokenizer.next());
+            default:
+                hasNext();
+                throw new NoSuchElementException();
+        }
+    }
+
+    private JsonEvent afterValue(Token t) {
+        if (stack[depth - 1] == IN_OBJECT) {
+            if (t == Token.COMMA) {
+                return field(tokenizer.next());
+            }
+            if (t == Token.RBRACE) {
+                return end(JsonEvent.END_OBJECT);
+            }
+            throw unexpected("',' or '}'");
+        }
+        if (t == Token.COMMA) {
+            return value();
+        }
+        if (t == Token.RBRAC) {
+            return end(JsonEvent.END_ARRAY);
+        }
+        throw unexpected("',' or ']'");
+    }
+
+    private JsonEvent field(Token t) {
+        if (t != Token.DQUOTE) {
+            throw unexpected("a field name");
+        }
+        if (skipping) {
+            tokenizer.skipString();
+        } else {
+            text = tokenizer.name(true);
+        }
+        if (tokenizer.next() != Token.COLON) {
+            throw unexpected("':'");
+        }
+        state = VALUE;
+        return current = JsonEvent.FIELD_NAME;
+    }
+
+    private JsonEvent value() {
+        switch (tokenizer.peek()) {
+            case LBRACE:
+                tokenizer.next();
+                push(IN_OBJECT);
+                state = FIRST_FIELD;
+                return current = JsonEvent.START_OBJECT;
+            case LBRAC:
+                tokenizer.next();
+                push(IN_ARRAY);
+                state = FIRST_ELEMENT;
+                return current = JsonEvent.START_ARRAY;
+            case DQUOTE:
+                tokenizer.next();
+                pendingString = true;
+                strings++;
+                return scalar(JsonEvent.VALUE_STRING);
+            case DASH, ZERO, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE:
+                pendingNumber = true;
+                numbers++;
+                return scalar(JsonEvent.VALUE_NUMBER);
+            case TRUE:
+                tokenizer.next();
+                return scalar(JsonEvent.VALUE_TRUE);
+            case FALSE:
+                tokenizer.next();
+                return scalar(JsonEvent.VALUE_FALSE);
+            case NULL:
+                tokenizer.next();
+                return scalar(JsonEvent.VALUE_NULL);
+            default:
+                throw unexpected("a value");
+        }
+    }
+
+    private JsonEvent scalar(JsonEvent event) {
+        state = depth == 0 ? DONE : AFTER_VALUE;
+        return current = event;
+    }
+
+    private JsonEvent end(JsonEvent event) {
+        depth--;
+        return scalar(event);
+    }
+
+    private void push(byte container) {
+        if (depth == maxDepth) {
+            throw new JsonParseException("Nesting deeper than " + maxDepth + " levels at line: " + tokenizer.line());
+        }
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = container;
+        if (depth > deepest) {
+            deepest = depth;
+        }
+    }
+
+    private void skipPending() {
+        if (streaming != null) {
+            streaming = null;
+            tokenizer.skipString();
+        } else if (pendingString) {
+            pendingString = false;
+            JsonTokenEvent event = stats.beginToken();
+            tokenizer.skipString();
+            stats.endToken(event, "string", source.position(), -1);
+        } else if (pendingNumber) {
+            pendingNumber = false;
+            JsonTokenEvent event = stats.beginToken();
+            tokenizer.skipNumber();
+            stats.endToken(event, "number", source.position(), -1);
+        }
+    }
+
+    private void readPendingNumber() {
+        if (pendingNumber) {
+            pendingNumber = false;
+            JsonTokenEvent event = stats.beginToken();
+            tokenizer.number(number);
+            stats.endToken(event, "number", source.position(), number.length());
+        }
+    }
+
+    private JsonParseException unexpected(String expected) {
+        int c = source.peekChar();
+        return new JsonParseException("Expected " + expected + " at line: " + tokenizer.line()
+                + (c == JsonSource.EOF ? ", found end of input" : ""));
+    }
+
+    /**
+     * @return the event last returned by {@link #next()}
+     */
+    public JsonEvent current() {
+        return current;
+    }
+
+    /**
+     * The text of the current event: the name for {@link JsonEvent#FIELD_NAME}, the decoded value for
+     * {@link JsonEvent#VALUE_STRING} and the number as written for {@link JsonEvent#VALUE_NUMBER}.
+     *
+     * @return the text, or the literal for true, false and null, or null for structural events
+     */
+    public String getText() {
+        if (pendingString) {
+            pendingString = false;
+            JsonTokenEvent event = stats.beginToken();
+            text = tokenizer.decodedString();
+            stats.endToken(event, "string", source.position(), text.length());
+        }
+        if (text == null && chars != null) {
+            text = chars.toString();
+        }
+        if (text == null && current == JsonEvent.VALUE_STRING) {
+            throw new IllegalStateException("The string has been read through getReader()");
+        }
+        if (text != null || current == null) {
+            return text;
+        }
+        switch (current) {
+            case VALUE_NUMBER:
+                readPendingNumber();
+                return text = number.toString();
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            case VALUE_NULL:
+                return "null";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The text of the current event like {@link #getText()}, without copying string values where the source
+     * allows it. Over bytes and files a {@link JsonEvent#VALUE_STRING} comes back as a
+     * {@link com.github.javachaos.jsonparser.utils.Utf8Chars} view of the input, escapes are only resolved if
+     * the view is read past its bytes.
+     *
+     * @return the text, valid for as long as the input does not change
+     */
+    public CharSequence getCharacters() {
+        if (pendingString) {
+            pendingString = false;
+            JsonTokenEvent event = stats.beginToken();
+            chars = tokenizer.chars();
+            stats.endToken(event, "string", source.position(), -1);
+        }
+        return chars != null ? chars : getText();
+    }
+
+    /**
+     * The current {@link JsonEvent#VALUE_STRING} as a Reader, for values too large to hold in memory.
+     * Characters are decoded from the input as they are read, with escapes resolved, so memory use does not
+     * depend on the length of the value. The reader is valid until the next call to {@link #next()}, which skips
+     * whatever has not been read; afterwards it reports the end of the value. Closing it does nothing.
+     * <p>
+     * Once the value has been read through the reader its text is no longer available, but a value whose text
+     * was already asked for is read from that text.
+     *
+     * @throws IllegalStateException if the current event is not a string value
+     */
+    public Reader getReader() {
+        if (current != JsonEvent.VALUE_STRING) {
+            throw new IllegalStateException("Not a string: " + current);
+        }
+        if (pendingString) {
+            pendingString = false;
+            streaming = new ValueReader();
+            return streaming;
+        }
+        if (streaming != null) {
+            return streaming;
+        }
+        return new StringReader(getText());
+    }
+
+    /**
+     * Decode the current {@link JsonEvent#VALUE_STRING} as base64 and write the bytes to out as they are decoded.
+     * The value is read a chunk at a time like {@link #getReader()}, so it never has to fit in memory. Both the
+     * standard and the URL safe alphabet are accepted, padding is optional.
+     *
+     * @return the number of bytes written
+     * @throws JsonParseException    if the value is not valid base64
+     * @throws IOException           if writing to out fails
+     * @throws IllegalStateException if the current event is not a string value
+     */
+    public long readBinary(OutputStream out) throws IOException {
+        return readBinary(out::write);
+    }
+
+    /**
+     * Decode the current {@link JsonEvent#VALUE_STRING} as base64 and write the bytes to a blocking channel as
+     * they are decoded, see {@link #readBinary(OutputStream)}.
+     *
+     * @return the number of bytes written
+     */
+    public long readBinary(WritableByteChannel out) throws IOException {
+        return readBinary((b, off, len) -> {
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        });
+    }
+
+    private long readBinary(ByteSink out) throws IOException {
+        Reader reader = getReader();
+        if (chunk == null) {
+            chunk = new char[CHUNK_SIZE];
+            decoded = new byte[Base64Decoder.maxDecodedLength(CHUNK_SIZE)];
+        }
+        Base64Decoder decoder = new Base64Decoder();
+        long total = 0;
+        int n;
+        while ((n = reader.read(chunk, 0, chunk.length)) >= 0) {
+            int bytes = decoder.decode(chunk, 0, n, decoded, 0);
+            out.write(decoded, 0, bytes);
+            total += bytes;
+        }
+        int bytes = decoder.finish(decoded, 0);
+        out.write(decoded, 0, bytes);
+        return total + bytes;
+    }
+
+    /**
+     * Where {@link #readBinary(ByteSink)} writes its bytes.
+     */
+    private interface ByteSink {
+        void write(byte[] b, int off, int len) throws IOException;
+    }
+
+    /**
+     * Reads the rest of the current string from the source, once it has been replaced by the reader of a later
+     * value or has reached the closing quote it only reports the end.
+     */
+    private final class ValueReader extends Reader {
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            Objects.checkFromIndexSize(off, len, cbuf.length);
+            if (streaming != this) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            try {
+                int n = tokenizer.stringChunk(cbuf, off, len);
+                if (n < 0) {
+                    streaming = null;
+                }
+                return n;
+            } catch (JsonParseException e) {
+                throw failed(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            // The rest of the value is skipped by next().
+        }
+    }
+
+    /**
+     * @return how the current {@link JsonEvent#VALUE_NUMBER} was decoded
+     */
+    public NumberType getNumberType() {
+        requireNumber();
+        return tokenizer.numberType();
+    }
+
+    /**
+     * @return the current number as a long, fractions are truncated
+     */
+    public long getLong() {
+        requireNumber();
+        switch (tokenizer.numberType()) {
+            case LONG:
+                return tokenizer.longValue();
+            case DOUBLE:
+                return (long) tokenizer.doubleValue();
+            default:
+                return getBigDecimal().longValue();
+        }
+    }
+
+    /**
+     * @return the current number as the nearest double
+     */
+    public double getDouble() {
+        requireNumber();
+        double d = tokenizer.doubleValue();
+        return Double.isNaN(d) ? getBigDecimal().doubleValue() : d;
+    }
+
+    /**
+     * @return the current number without any loss of precision
+     */
+    public BigDecimal getBigDecimal() {
+        requireNumber();
+        if (tokenizer.numberType() == NumberType.LONG) {
+            return BigDecimal.valueOf(tokenizer.longValue());
+        }
+        return new BigDecimal(getText());
+    }
+
+    /**
+     * @return the current number as a Long, Double or BigDecimal depending on {@link #getNumberType()}
+     */
+    public Number getNumber() {
+        requireNumber();
+        switch (tokenizer.numberType()) {
+            case LONG:
+                return tokenizer.longValue();
+            case DOUBLE:
+                return tokenizer.doubleValue();
+            default:
+                return getBigDecimal();
+        }
+    }
+
+    private void requireNumber() {
+        if (current != JsonEvent.VALUE_NUMBER) {
+            throw new IllegalStateException("Not a number: " + current);
+        }
+        readPendingNumber();
+    }
+
+    /**
+     * When the current event starts an object or an array, skip ahead to its matching end event.
+     * Nothing inside the skipped subtree is decoded. Does nothing for other events.
+     */
+    public void skipChildren() {
+        if (current != JsonEvent.START_OBJECT && current != JsonEvent.START_ARRAY) {
+            return;
+        }
+        int target = depth - 1;
+        skipping = true;
+        try {
+            while (depth > target) {
+                next();
+            }
+        } finally {
+            skipping = false;
+        }
+    }
+
+    /**
+     * @return the number of objects and arrays currently open
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of code units of input consumed so far
+     */
+    public long position() {
+        return source.position();
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+}
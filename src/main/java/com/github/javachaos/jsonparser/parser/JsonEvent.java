@@ -0,0 +1,14 @@
+package com.github.javachaos.jsonparser.parser;
+
+/**
+ * Events reported by a {@link JsonCursor} or a {@link JsonFeedParser}.
+ */
+public enum JsonEvent {
+    START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, FIELD_NAME,
+    VALUE_STRING, VALUE_NUMBER, VALUE_TRUE, VALUE_FALSE, VALUE_NULL,
+
+    /**
+     * Only from a {@link JsonFeedParser}: the bytes fed so far end before the next event is complete.
+     */
+    NEED_MORE_INPUT
+}
@@ -0,0 +1,467 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+import com.github.javachaos.jsonparser.utils.Utf8Source;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Non-blocking parser for json that arrives in chunks, such as from NIO channels.
+ * Bytes are handed over with {@link #feed(ByteBuffer)} as they come in, and {@link #nextEvent()} reports
+ * events for as much as has been fed; when a token is not complete yet it returns
+ * {@link JsonEvent#NEED_MORE_INPUT} and the parser picks up where it left off after the next feed. Nothing
+ * ever blocks, so one thread can drive any number of parsers.
+ * <p>
+ * The grammar is that of {@link JsonCursor}, with the open containers on an explicit stack. Unconsumed bytes are
+ * kept in a buffer that grows to the largest single token. The input may hold several root values separated by
+ * whitespace; after {@link #endOfInput()}, {@link #nextEvent()} returns null once everything has been read.
+ * A parser is not thread safe.
+ */
+public final class JsonFeedParser {
+
+    private static final byte IN_OBJECT = 0;
+    private static final byte IN_ARRAY = 1;
+
+    /*
+     * What the parser expects next.
+     */
+    private static final int VALUE = 0;
+    private static final int FIRST_FIELD = 1;
+    private static final int FIELD = 2;
+    private static final int COLON = 3;
+    private static final int FIRST_ELEMENT = 4;
+    private static final int AFTER_VALUE = 5;
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final KeyCache keys;
+    private final int maxDepth;
+    private final Utf8Source bytes = new Utf8Source(new byte[0]);
+    private final JsonTokenizer tokenizer = new JsonTokenizer(bytes);
+    private final StringBuilder number = new StringBuilder();
+
+    private byte[] buffer = new byte[4096];
+    private ByteBuffer window = ByteBuffer.wrap(buffer);
+    private int pos;
+    private int end;
+
+    /**
+     * Number of bytes dropped from the front of the buffer so far.
+     */
+    private long base;
+    private boolean endOfInput;
+
+    /**
+     * How far into an incomplete string the closing quote has been looked for, relative to the opening quote.
+     */
+    private int scanned;
+
+    private byte[] stack = new byte[16];
+    private int depth;
+    private int state = VALUE;
+    private JsonEvent current;
+    private String text;
+
+    /**
+     * Resolve field names through {@link KeyCache#shared()}.
+     */
+    public JsonFeedParser() {
+        this(KeyCache.shared());
+    }
+
+    /**
+     * @param keys the cache field names are resolved through, null to decode every name afresh
+     */
+    public JsonFeedParser(KeyCache keys) {
+        this(keys, JsonParser.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param keys     the cache field names are resolved through, null to decode every name afresh
+     * @param maxDepth the most objects and arrays that may be open at once, deeper input is rejected
+     */
+    public JsonFeedParser(KeyCache keys, int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive: " + maxDepth);
+        }
+        this.keys = keys;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Hand over the remaining bytes of a chunk, they are copied and the chunk's position is moved to its limit.
+     */
+    public void feed(ByteBuffer chunk) {
+        int n = chunk.remaining();
+        reserve(n);
+        chunk.get(buffer, end, n);
+        end += n;
+    }
+
+    public void feed(byte[] chunk, int offset, int length) {
+        reserve(length);
+        System.arraycopy(chunk, offset, buffer, end, length);
+        end += length;
+    }
+
+    /**
+     * Signal that no more bytes will be fed.
+     */
+    public void endOfInput() {
+        endOfInput = true;
+    }
+
+    /**
+     * Make room for n more bytes, dropping what has been consumed.
+     */
+    private void reserve(int n) {
+        if (endOfInput) {
+            throw new IllegalStateException("Input has already ended");
+        }
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, end - pos);
+            base += pos;
+            end -= pos;
+            pos = 0;
+        }
+        if (buffer.length - end < n) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, end + n));
+            window = ByteBuffer.wrap(buffer);
+        }
+    }
+
+    /**
+     * Advance to the next event.
+     *
+     * @return the event, {@link JsonEvent#NEED_MORE_INPUT} if the bytes fed so far end before the next event is
+     * complete, or null when the input has ended and everything has been read
+     * @throws JsonParseException if the input is not valid json
+     */
+    public JsonEvent nextEvent() {
+        text = null;
+        while (true) {
+            int c = skipWhitespace();
+            if (c < 0) {
+                if (!endOfInput) {
+                    return current = JsonEvent.NEED_MORE_INPUT;
+                }
+                if (depth == 0 && state == VALUE) {
+                    return current = null;
+                }
+                throw error("Unexpected end of input");
+            }
+            switch (state) {
+                case VALUE:
+                    return value(c);
+                case FIRST_FIELD:
+                    if (c == '}') {
+                        pos++;
+                        return end(JsonEvent.END_OBJECT);
+                    }
+                    return field(c);
+                case FIELD:
+                    return field(c);
+                case COLON:
+                    if (c != ':') {
+                        throw error("Expected ':'");
+                    }
+                    pos++;
+                    state = VALUE;
+                    break;
+                case FIRST_ELEMENT:
+                    if (c == ']') {
+                        pos++;
+                        return end(JsonEvent.END_ARRAY);
+                    }
+                    return value(c);
+                default:
+                    boolean object = stack[depth - 1] == IN_OBJECT;
+                    if (c == ',') {
+                        pos++;
+                        state = object ? FIELD : VALUE;
+                    } else if (c == (object ? '}' : ']')) {
+                        pos++;
+                        return end(object ? JsonEvent.END_OBJECT : JsonEvent.END_ARRAY);
+                    } else {
+                        throw error(object ? "Expected ',' or '}'" : "Expected ',' or ']'");
+                    }
+            }
+        }
+    }
+
+    /**
+     * @return the next significant byte without consuming it, or -1 if the buffer runs out first
+     */
+    private int skipWhitespace() {
+        while (pos < end) {
+            byte b = buffer[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b & 0xFF;
+            }
+            pos++;
+        }
+        return -1;
+    }
+
+    private JsonEvent field(int c) {
+        if (c != '"') {
+            throw error("Expected a field name");
+        }
+        int close = closingQuote();
+        if (close < 0) {
+            return current = JsonEvent.NEED_MORE_INPUT;
+        }
+        bytes.reset(window.limit(close + 1).position(pos + 1));
+        text = keys == null ? bytes.readString(true) : bytes.readName(keys, true);
+        pos = close + 1;
+        state = COLON;
+        return current = JsonEvent.FIELD_NAME;
+    }
+
+    private JsonEvent value(int c) {
+        switch (c) {
+            case '{':
+                pos++;
+                push(IN_OBJECT);
+                state = FIRST_FIELD;
+                return current = JsonEvent.START_OBJECT;
+            case '[':
+                pos++;
+                push(IN_ARRAY);
+                state = FIRST_ELEMENT;
+                return current = JsonEvent.START_ARRAY;
+            case '"': {
+                int close = closingQuote();
+                if (close < 0) {
+                    return current = JsonEvent.NEED_MORE_INPUT;
+                }
+                bytes.reset(window.limit(close + 1).position(pos + 1));
+                text = bytes.readString(true);
+                pos = close + 1;
+                return scalar(JsonEvent.VALUE_STRING);
+            }
+            case 't':
+                return literal(TRUE, JsonEvent.VALUE_TRUE);
+            case 'f':
+                return literal(FALSE, JsonEvent.VALUE_FALSE);
+            case 'n':
+                return literal(NULL, JsonEvent.VALUE_NULL);
+            default:
+                if (c == '-' || c >= '0' && c <= '9') {
+                    return number();
+                }
+                throw error("Expected a value");
+        }
+    }
+
+    /**
+     * @return the position of the quote closing the string that opens at pos, or -1 if it has not been fed yet
+     */
+    private int closingQuote() {
+        int i = pos + 1 + scanned;
+        while (i < end) {
+            byte b = buffer[i];
+            if (b == '"') {
+                scanned = 0;
+                return i;
+            }
+            if (b == '\\') {
+                if (i + 1 == end) {
+                    break;
+                }
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        if (endOfInput) {
+            throw error("Unterminated string");
+        }
+        scanned = i - pos - 1;
+        return -1;
+    }
+
+    private JsonEvent number() {
+        int i = pos;
+        while (i < end && isNumberChar(buffer[i])) {
+            i++;
+        }
+        if (i == end && !endOfInput) {
+            return current = JsonEvent.NEED_MORE_INPUT;
+        }
+        bytes.reset(window.limit(i).position(pos));
+        tokenizer.number(number);
+        if (bytes.position() != i - pos) {
+            throw error("Invalid number");
+        }
+        pos = i;
+        return scalar(JsonEvent.VALUE_NUMBER);
+    }
+
+    private static boolean isNumberChar(byte b) {
+        return b >= '0' && b <= '9' || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+
+    private JsonEvent literal(byte[] spelling, JsonEvent event) {
+        if (end - pos < spelling.length) {
+            if (!endOfInput) {
+                for (int i = pos; i < end; i++) {
+                    if (buffer[i] != spelling[i - pos]) {
+                        throw error("Invalid literal");
+                    }
+                }
+                return current = JsonEvent.NEED_MORE_INPUT;
+            }
+            throw error("Invalid literal");
+        }
+        for (int i = 0; i < spelling.length; i++) {
+            if (buffer[pos + i] != spelling[i]) {
+                throw error("Invalid literal");
+            }
+        }
+        pos += spelling.length;
+        return scalar(event);
+    }
+
+    private JsonEvent scalar(JsonEvent event) {
+        state = depth == 0 ? VALUE : AFTER_VALUE;
+        return current = event;
+    }
+
+    private JsonEvent end(JsonEvent event) {
+        depth--;
+        return scalar(event);
+    }
+
+    private void push(byte container) {
+        if (depth == maxDepth) {
+            throw error("Nesting deeper than " + maxDepth + " levels");
+        }
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = container;
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(message + " at byte offset " + position());
+    }
+
+    /**
+     * @return the event last returned by {@link #nextEvent()}
+     */
+    public JsonEvent current() {
+        return current;
+    }
+
+    /**
+     * The text of the current event, see {@link JsonCursor#getText()}.
+     */
+    public String getText() {
+        if (text != null || current == null) {
+            return text;
+        }
+        switch (current) {
+            case VALUE_NUMBER:
+                return text = number.toString();
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            case VALUE_NULL:
+                return "null";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return how the current {@link JsonEvent#VALUE_NUMBER} was decoded
+     */
+    public NumberType getNumberType() {
+        requireNumber();
+        return tokenizer.numberType();
+    }
+
+    /**
+     * @return the current number as a long, fractions are truncated
+     */
+    public long getLong() {
+        requireNumber();
+        switch (tokenizer.numberType()) {
+            case LONG:
+                return tokenizer.longValue();
+            case DOUBLE:
+                return (long) tokenizer.doubleValue();
+            default:
+                return getBigDecimal().longValue();
+        }
+    }
+
+    /**
+     * @return the current number as the nearest double
+     */
+    public double getDouble() {
+        requireNumber();
+        double d = tokenizer.doubleValue();
+        return Double.isNaN(d) ? getBigDecimal().doubleValue() : d;
+    }
+
+    /**
+     * @return the current number without any loss of precision
+     */
+    public BigDecimal getBigDecimal() {
+        requireNumber();
+        if (tokenizer.numberType() == NumberType.LONG) {
+            return BigDecimal.valueOf(tokenizer.longValue());
+        }
+        return new BigDecimal(getText());
+    }
+
+    /**
+     * @return the current number as a Long, Double or BigDecimal depending on {@link #getNumberType()}
+     */
+    public Number getNumber() {
+        requireNumber();
+        switch (tokenizer.numberType()) {
+            case LONG:
+                return tokenizer.longValue();
+            case DOUBLE:
+                return tokenizer.doubleValue();
+            default:
+                return getBigDecimal();
+        }
+    }
+
+    private void requireNumber() {
+        if (current != JsonEvent.VALUE_NUMBER) {
+            throw new IllegalStateException("Not a number: " + current);
+        }
+    }
+
+    /**
+     * @return the number of objects and arrays currently open
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of bytes consumed so far
+     */
+    public long position() {
+        return base + pos;
+    }
+
+    /**
+     * @return the number of bytes fed but not consumed yet
+     */
+    public int buffered() {
+        return end - pos;
+    }
+}
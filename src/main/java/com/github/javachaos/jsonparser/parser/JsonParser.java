@@ -1,40 +1,127 @@
 package com.github.javachaos.jsonparser.parser;
 
+import com.github.javachaos.jsonparser.dom.JsonTreeBuilder;
+import com.github.javachaos.jsonparser.dom.LazyDocument;
+import com.github.javachaos.jsonparser.binding.JsonBinder;
 import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.ParseMetrics;
+import com.github.javachaos.jsonparser.path.JsonPath;
+import com.github.javachaos.jsonparser.path.Projection;
 import com.github.javachaos.jsonparser.utils.CharacterStreamReader;
+import com.github.javachaos.jsonparser.utils.GzipSource;
+import com.github.javachaos.jsonparser.utils.IndexedUtf8Source;
+import com.github.javachaos.jsonparser.utils.JsonSource;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+import com.github.javachaos.jsonparser.utils.MappedFileSource;
 import com.github.javachaos.jsonparser.utils.Pair;
+import com.github.javachaos.jsonparser.utils.Utf8Source;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.*;
-
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Entry point for parsing json.
+ * A parser only holds its configuration, the name of the resource read by {@link #parse()}, {@link #cursor()}
+ * and {@link #readTree()}. Every call parses on its own {@link ParseContext}, so one parser can be shared by
+ * any number of threads. Use a {@link JsonParserPool} to reuse contexts across calls, and a {@link DocumentCache}
+ * to keep documents that are read over and over.
+ */
 public class JsonParser {
     private static final Logger LOGGER = LogManager.getLogger(JsonParser.class);
-    private static final int MIN_WORD_LENGTH = 1;
-    private static final int MAX_WORD_LENGTH = 5;
-    private static final int MAX_HASH_VALUE = 62;
-    private final String filename;
-    private final String[] symbols = {"", "t", ":", "-", "true", "", "n", "9", ",", "null", "", "f", "8", "+",  "",
-            "false", "}", "7", "\"", "", "", "{", "6", "", "", "", "u", "5", "", "", "", "r", "4", "", "", "", "e",
-            "3", "",  "", "", "b", "2", "", "", "", "]", "1", "", "", "", "\\", "0", "", "", "",  "[", "/", "", "",
-            "", "E", "."};
-    private CharacterStreamReader inputStream;
 
-    private char prev;
-    private Token curr;
-    private int lineCount;
+    /**
+     * How many objects and arrays may be open at once unless configured otherwise.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 1000;
+
+    private final String filename;
+    private final boolean structuralIndex;
+    private final int maxDepth;
+    private final ParseMetrics metrics;
+    private final DocumentCache cache;
 
     public JsonParser(String jsonFilename) {
+        this(jsonFilename, false);
+    }
+
+    /**
+     * @param jsonFilename    the resource read by {@link #parse()}
+     * @param structuralIndex true to parse byte arrays and buffers in two stages, see {@link IndexedUtf8Source}
+     */
+    public JsonParser(String jsonFilename, boolean structuralIndex) {
+        this(jsonFilename, structuralIndex, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param jsonFilename    the resource read by {@link #parse()}
+     * @param structuralIndex true to parse byte arrays and buffers in two stages, see {@link IndexedUtf8Source}
+     * @param maxDepth        the most objects and arrays that may be open at once, deeper input is rejected.
+     *                        Parsing never recurses, so the limit bounds memory rather than protecting the stack.
+     */
+    public JsonParser(String jsonFilename, boolean structuralIndex, int maxDepth) {
+        this(jsonFilename, structuralIndex, maxDepth, ParseMetrics.NONE);
+    }
+
+    /**
+     * @param jsonFilename    the resource read by {@link #parse()}
+     * @param structuralIndex true to parse byte arrays and buffers in two stages, see {@link IndexedUtf8Source}
+     * @param maxDepth        the most objects and arrays that may be open at once, deeper input is rejected
+     * @param metrics         where the statistics of each document are reported, {@link ParseMetrics#NONE} for none
+     */
+    public JsonParser(String jsonFilename, boolean structuralIndex, int maxDepth, ParseMetrics metrics) {
+        this(jsonFilename, structuralIndex, maxDepth, metrics, null);
+    }
+
+    /**
+     * @param jsonFilename    the resource read by {@link #parse()}
+     * @param structuralIndex true to parse byte arrays and buffers in two stages, see {@link IndexedUtf8Source}
+     * @param maxDepth        the most objects and arrays that may be open at once, deeper input is rejected
+     * @param metrics         where the statistics of each document are reported, {@link ParseMetrics#NONE} for none
+     * @param cache           where the resource and files read by {@link #printFile()}, {@link #parse()},
+     *                        {@link #readTree()} and their {@link Path} counterparts are kept between calls, null
+     *                        to read them every time
+     */
+    public JsonParser(String jsonFilename, boolean structuralIndex, int maxDepth, ParseMetrics metrics,
+                      DocumentCache cache) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive: " + maxDepth);
+        }
         this.filename = jsonFilename;
+        this.structuralIndex = structuralIndex;
+        this.maxDepth = maxDepth;
+        this.metrics = metrics;
+        this.cache = cache;
     }
 
     public String printFile() {
+        if (cache != null) {
+            URL url = resource();
+            try {
+                return (String) cache.resource(url, DocumentCache.Kind.TEXT,
+                        bytes -> new String(bytes, StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                LOGGER.fatal(e);
+                return "";
+            }
+        }
         InputStream is = Objects.requireNonNull(getClass().getResourceAsStream(filename));
         StringBuilder stringBuilder = new StringBuilder();
         try (CharacterStreamReader charStream = new CharacterStreamReader(is)) {
-            while (charStream.hasNext()) {
-                stringBuilder.append(charStream.next());
+            int c;
+            while ((c = charStream.read()) != JsonSource.EOF) {
+                stringBuilder.append((char) c);
             }
         } catch (Exception e) {
             LOGGER.fatal(e);
@@ -42,427 +129,343 @@ public class JsonParser {
         return stringBuilder.toString();
     }
 
-    private void whitespace() {
-        while (inputStream.hasNext()) {
-            Character next = inputStream.peek();
-            if (next != ' ' && next != '\t' && next != '\r' && next != '\n') {
-                break;
-            } else {
-                if (inputStream.next() == '\n') {
-                    lineCount++;
-                }
-            }
+    @SuppressWarnings("unchecked")
+    public Set<Pair<String, Object>> parse() {
+        if (cache != null) {
+            Set<Pair<String, Object>> set = (Set<Pair<String, Object>>) cache.resource(resource(),
+                    DocumentCache.Kind.SET, bytes -> parseOrNull(source(bytes)));
+            return set != null ? set : new HashSet<>();
         }
+        return parse(Objects.requireNonNull(getClass().getResourceAsStream(filename)));
     }
 
-    private Token getNextToken() {//test
-        whitespace();
-        char next;
-        StringBuilder chars = new StringBuilder();
-        if (inputStream.hasNext()) {
-            next = inputStream.peek();
-            chars.append(next);
-            parseTrueFalseNull(next, chars);
-            curr = Token.get(hasSymbol(chars.toString().toCharArray()));
-            inputStream.next();
-            prev = next;
-            return curr;
-        }
-        return Token.NONE0;
-    }
-
-    private void parseTrueFalseNull(char next, StringBuilder chars) {
-        if (prev != '\\') {
-            switch (next) {
-                case 't':
-                    inputStream.mark(1);
-                    inputStream.next();
-                    if (inputStream.peek() == 'r') {
-                        chars.append(inputStream.next());
-                        chars.append(inputStream.next());
-                        chars.append(inputStream.next());
-                    } else {
-                        inputStream.reset();
-                    }
-                    break;
-                case 'f':
-                    inputStream.mark(1);
-                    inputStream.next();
-                    if (inputStream.peek() == 'a') {
-                        chars.append(inputStream.next());
-                        chars.append(inputStream.next());
-                        chars.append(inputStream.next());
-                        chars.append(inputStream.next());
-                    } else {
-                        inputStream.reset();
-                    }
-                    break;
-                case 'n':
-                    inputStream.mark(1);
-                    inputStream.next();
-                    if (inputStream.peek() == 'u') {
-                        chars.append(inputStream.next());
-                        chars.append(inputStream.next());
-                        chars.append(inputStream.next());
-                    } else {
-                        inputStream.reset();
-                    }
-                    break;
-                default:
-            }
-        }
+    /**
+     * Parse a json object from the given stream, the stream is closed once parsing is done.
+     *
+     * @param is the stream to read the json object from
+     * @return the parsed object
+     */
+    public Set<Pair<String, Object>> parse(InputStream is) {
+        return parse(new CharacterStreamReader(is));
     }
 
-    private Token peekNextToken() {
-        whitespace();
-        StringBuilder chars = new StringBuilder();
-        if (inputStream.hasNext()) {
-            char next = inputStream.peek();
-            chars.append(next);
-            parseTrueFalseNull(next, chars);
-            return Token.get(hasSymbol(chars.toString().toCharArray()));
-        }
-        return Token.NONE0;
+    /**
+     * Parse a json object from UTF-8 encoded bytes.
+     * The bytes are tokenized directly, only string values are decoded.
+     *
+     * @param json the UTF-8 encoded json object
+     * @return the parsed object
+     */
+    public Set<Pair<String, Object>> parse(byte[] json) {
+        return parse(source(json));
     }
 
     /**
-     * Consume a string and return it as a String.
+     * Parse a json object from the remaining UTF-8 encoded bytes of a buffer.
+     * The buffer's position is left untouched.
      *
-     * @return
-     */
-    private String string() {
-        StringBuilder str = new StringBuilder();
-        char prevChar = 0;
-        if (inputStream.hasNext() && prev == '"') {
-            prevChar = inputStream.next();
-        } else {
-            throw new JsonParseException("Not a string: " + inputStream.peek());
-        }
-        if (prevChar == '"' && prev == '"') {
-            return "";
+     * @param json the UTF-8 encoded json object
+     * @return the parsed object
+     */
+    public Set<Pair<String, Object>> parse(ByteBuffer json) {
+        return parse(source(json));
+    }
+
+    /**
+     * Parse a json object from a UTF-8 encoded file on disk.
+     * The file is memory mapped, so its size does not affect heap usage. Gzip compressed files are recognised
+     * by their first bytes and inflated on other threads while they are parsed, see {@link GzipSource}.
+     *
+     * @param file the file to parse
+     * @return the parsed object
+     */
+    @SuppressWarnings("unchecked")
+    public Set<Pair<String, Object>> parse(Path file) {
+        if (cache != null) {
+            Set<Pair<String, Object>> set = (Set<Pair<String, Object>>) cache.file(file, DocumentCache.Kind.SET,
+                    f -> parseOrNull(open(f)));
+            return set != null ? set : new HashSet<>();
         }
-        while (inputStream.hasNext()) {
-            str.append(prevChar);
-            if (prevChar == '\\') {
-                prevChar = inputStream.next();
-                switch (prevChar) {
-                    case '"', '\\', '/', 'b', 'f', 'n', 't':
-                        str.append(prevChar);
-                        break;
-                    case 'u': // next four digits should be hex.
-                        str.append(prevChar);
-                        parseHexDigit(str);
-                        parseHexDigit(str);
-                        parseHexDigit(str);
-                        parseHexDigit(str);
-                        inputStream.next();
-                        return str.toString();
-                    default:
-                        throw new JsonParseException("Unexpected value: " + prevChar);
-                }
-            } else if ((prevChar = inputStream.next()) == '"') {
-                break;
-            }
+        return parse(open(file));
+    }
+
+    private static JsonSource open(Path file) {
+        try {
+            return source(file);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
         }
-        return str.toString();
     }
 
-    private void parseHexDigit(StringBuilder str) {
-        char nextChar = inputStream.next();
-        if (isHex(nextChar)) {
-            str.append(nextChar);
-        } else {
-            throw new JsonParseException("Unexpected value: " + nextChar);
+    /**
+     * Parse a json object from a file channel, starting at its current position.
+     * The channel is memory mapped and is left open.
+     *
+     * @param channel the channel to parse
+     * @return the parsed object
+     */
+    public Set<Pair<String, Object>> parse(FileChannel channel) {
+        try {
+            return parse(new MappedFileSource(channel));
+        } catch (IOException e) {
+            throw new JsonParseException(e);
         }
     }
 
-    private boolean isHex(char character) {
-        return isDigit(Token.get(hasSymbol(new char[] {character}))) || switch (character) {
-            case 'a', 'A', 'b', 'B', 'c', 'C', 'd', 'D', 'e', 'E', 'f', 'F' -> true;
-            default -> false;
-        };
+    /**
+     * Open a pull parser over the resource this parser was created for.
+     *
+     * @return a cursor, the caller closes it
+     */
+    public JsonCursor cursor() {
+        return cursor(Objects.requireNonNull(getClass().getResourceAsStream(filename)));
     }
 
     /**
-     * Accept the next token and advance to the next if advance is true
+     * Open a pull parser over a stream.
      *
-     * @param token   the token to accept
-     * @param advance the boolean flag used to indicate if we should advance after accepting token
-     * @return true if the current token is token.
+     * @param is the stream to read, closed along with the cursor
+     * @return a cursor, the caller closes it
      */
-    private boolean accept(Token token, boolean advance) {
-        if (advance) {
-            getNextToken();
-        }
-        return curr == token;
+    public JsonCursor cursor(InputStream is) {
+        return cursor(new CharacterStreamReader(is));
     }
 
     /**
-     * Peek the next token, accept if it matches.
+     * Open a pull parser over UTF-8 encoded bytes.
+     *
+     * @param json the UTF-8 encoded json value
+     * @return a cursor, the caller closes it
      */
-    private boolean acceptPeek(Token token) {
-        return peekNextToken() == token;
+    public JsonCursor cursor(byte[] json) {
+        return cursor(source(json));
     }
 
     /**
-     * Expect the next token to be token and advance if flag is true.
+     * Open a pull parser over the remaining UTF-8 encoded bytes of a buffer.
      *
-     * @param token   the token we expect to see
+     * @param json the UTF-8 encoded json value
+     * @return a cursor, the caller closes it
      */
-    private boolean expect(Token token) {
-        if (accept(token, false)) {
-            return true;
-        }
-        LOGGER.debug("Expected: {} at line: {}", token, lineCount);
-        return false;
-    }
-
-    private Set<Pair<String, Object>> object() {
-        Set<Pair<String, Object>> map = new HashSet<>();
-        getNextToken();
-        expect(Token.LBRACE);
-        whitespace();
-        if (accept(Token.RBRACE, false)) {
-            getNextToken();
-            return map;
-        }
-        do {
-            whitespace();
-            getNextToken();
-            if (expect(Token.DQUOTE)) {//Start of string
-                String name = string();
-                whitespace();
-                getNextToken();
-                expect(Token.COLON);
-                Object value = value();
-                map.add(new Pair<>(name, value));
-                whitespace();
-                if (acceptPeek(Token.RBRACE)) {
-                    getNextToken();
-                    expect(Token.RBRACE);
-                    return map;
-                }
-            }
-        } while (accept(Token.COMMA, true));
-        return map;
+    public JsonCursor cursor(ByteBuffer json) {
+        return cursor(source(json));
     }
 
-    public Set<Pair<String, Object>> parse() {
-        Set<Pair<String, Object>> result = new HashSet<>();
-        InputStream is = Objects.requireNonNull(getClass().getResourceAsStream(filename));
-        try (CharacterStreamReader charStream = new CharacterStreamReader(is)) {
-            this.inputStream = charStream;
-            long start = System.nanoTime();
-            result.addAll(object());
-            long end = System.nanoTime();
-            LOGGER.debug("JsonParse completed in {} ns", end - start);
-        } catch (Exception e) {
-            LOGGER.fatal("Exception while parsing object: {}", e.getMessage());
-        }
-        return result;
-    }
-
-    private String number(StringBuilder num) {//Done. needs testing
-        switch (peekNextToken()) {
-            case DASH:
-                num.append("-");
-                getNextToken();
-                return number(num);
-            case ZERO:
-                num.append("0");
-                curr = getNextToken();
-                fraction(num);
-                exponent(num);
-                return num.append(digit()).toString();
-            case ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE:
-                num.append(digit());
-                fraction(num);
-                exponent(num);
-                return num.toString();
-            default:
-                return "";
+    /**
+     * Open a pull parser over a memory mapped file, gzip compressed files are inflated while they are parsed.
+     *
+     * @param file the file to read, closed along with the cursor
+     * @return a cursor, the caller closes it
+     */
+    public JsonCursor cursor(Path file) {
+        try {
+            return cursor(source(file));
+        } catch (IOException e) {
+            throw new JsonParseException(e);
         }
     }
 
-    private List<Object> value() {
-        List<Object> list = new ArrayList<>();
-        whitespace();
-        Token next = peekNextToken();
-        switch (next) {
-            case DQUOTE:
-                getNextToken();
-                String s = string();
-                list.add(s);
-                return list;
-            case DASH, ZERO, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE:
-                String num = number(new StringBuilder());
-                list.add(num);
-                return list;
-            case LBRACE:
-                Set<Pair<String, Object>> o = object();
-                list.add(o);
-                return list;
-            case LBRAC:
-                List<Object> l = array();
-                list.add(l);
-                return list;
-            case TRUE:
-                list.add("true");
-                return list;
-            case FALSE:
-                list.add("false");
-                return list;
-            case NULL:
-                list.add("null");
-                return list;
-            default:
-                return Collections.emptyList();
+    /**
+     * Read the resource this parser was created for into an order preserving tree.
+     *
+     * @return a JsonObject, JsonArray, String, Number, Boolean, or null for json null
+     */
+    public Object readTree() {
+        if (cache != null) {
+            return cache.resource(resource(), DocumentCache.Kind.TREE, this::readTree);
         }
+        return readTree(cursor());
     }
 
-    private List<Object> array() {//Tested (not covered)
-        List<Object> values = new ArrayList<>();
-        getNextToken();
-        expect(Token.LBRAC);
-        whitespace();
-        if (accept(Token.RBRAC, false)) {
-            getNextToken();
-            return values;
-        } else {
-            List<Object> o;
-            do {
-                o = value();
-                if (!o.isEmpty()) {
-                    values.add(o);
-                } else {
-                    throw new JsonParseException("Expected a value at line:  " + lineCount);
-                }
-                if (accept(Token.RBRAC, true)) {
-                    return values;
-                }
-            } while (accept(Token.COMMA, false));
-            expect(Token.RBRAC);
-            getNextToken();
-        }
-        return values;
+    /**
+     * Read a stream into an order preserving tree, the stream is closed once done.
+     *
+     * @return a JsonObject, JsonArray, String, Number, Boolean, or null for json null
+     */
+    public Object readTree(InputStream is) {
+        return readTree(cursor(is));
     }
 
-    private void exponent(StringBuilder num) {//Done. Needs testing
-        if (acceptPeek(Token.E)) {
-            num.append("e");
-            getNextToken();
-            if (acceptPeek(Token.DASH)) {
-                num.append("-");
-                getNextToken();
-            }
-            if (acceptPeek(Token.PLUS)) {
-                num.append("+");
-                getNextToken();
-            }
-        } else if (acceptPeek(Token.UE)) {
-            num.append("E");
-            getNextToken();
-            if (acceptPeek(Token.DASH)) {
-                num.append("-");
-                getNextToken();
-            }
-            if (acceptPeek(Token.PLUS)) {
-                num.append("+");
-                getNextToken();
-            }
-        }
-        num.append(digit());
+    /**
+     * Read UTF-8 encoded bytes into an order preserving tree.
+     *
+     * @return a JsonObject, JsonArray, String, Number, Boolean, or null for json null
+     */
+    public Object readTree(byte[] json) {
+        return readTree(cursor(json));
     }
 
-    private void fraction(StringBuilder num) {
-        if (acceptPeek(Token.PER)) {
-            num.append(".");
-            getNextToken();
-            num.append(digit());
-        }
+    /**
+     * Read the remaining UTF-8 encoded bytes of a buffer into an order preserving tree.
+     *
+     * @return a JsonObject, JsonArray, String, Number, Boolean, or null for json null
+     */
+    public Object readTree(ByteBuffer json) {
+        return readTree(cursor(json));
     }
 
     /**
-     * Returns a string of digits from the input.
-     * Advances as long as the next character is a digit [0-9].
+     * Read a memory mapped file into an order preserving tree.
      *
-     * @return a string of digits
-     */
-    private String digit() {
-        StringBuilder str = new StringBuilder();
-        Token nextDigit = peekNextToken();
-        while (isDigit(nextDigit)) {
-            getNextToken();
-            str.append(getDigit(nextDigit));
-            nextDigit = peekNextToken();
+     * @return a JsonObject, JsonArray, String, Number, Boolean, or null for json null
+     */
+    public Object readTree(Path file) {
+        if (cache != null) {
+            return cache.file(file, DocumentCache.Kind.TREE, f -> readTree(cursor(f)));
         }
-        return str.toString();
-    }
-
-    private boolean isDigit(Token d) {
-        return switch (d) {
-            case ZERO, ONE, TWO ,THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE -> true;
-            default -> false;
-        };
-    }
-
-    private char getDigit(Token d) {
-        return switch (d) {
-            case ZERO  -> '0';
-            case ONE   -> '1';
-            case TWO   -> '2';
-            case THREE -> '3';
-            case FOUR  -> '4';
-            case FIVE  -> '5';
-            case SIX   -> '6';
-            case SEVEN -> '7';
-            case EIGHT -> '8';
-            case NINE  -> '9';
-            default -> throw new JsonParseException("Not a digit: " + d + " on line: " + lineCount);
-        };
-    }
-
-    private int hash(char[] str, int len) {
-      final char[] associatedValues = { 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63,
-                63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 17, 63, 63, 63, 63, 63, 63, 63, 63, 12,
-                 7,  2, 61, 56, 51, 46, 41, 36, 31, 26, 21, 16, 11,  6,  1, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63,
-                60, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 55, 50, 45,
-                63, 63, 63, 63, 40, 63, 63, 35, 10, 63, 63, 63, 63, 63, 63, 63,  5, 63, 63, 63, 30, 63,  0, 25, 63,
-                63, 63, 63, 63, 20, 63, 15, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63,
-                63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63,
-                63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63,
-                63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63,
-                63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63,
-                63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63, 63};
-      return len + associatedValues[str[0]];
-    }
-
-    private int hasSymbol(char[] str) {
-        if (str.length <= MAX_WORD_LENGTH && str.length >= MIN_WORD_LENGTH) {
-            int key = hash(str, str.length);
-
-            if (key <= MAX_HASH_VALUE) {
-                char[] s = symbols[key].toCharArray();
-                if (s.length < 1) {
-                    return 0;
-                }
-                if (str[0] == s[0] && Arrays.equals(str, s)) {
-                    return key;
-                }
+        return readTree(cursor(file));
+    }
+
+    /**
+     * Read a stream straight into an instance of type without building a tree, see {@link JsonBinder}.
+     * The stream is closed once done.
+     */
+    public <T> T readValue(InputStream is, Class<T> type) {
+        return readValue(cursor(is), type);
+    }
+
+    /**
+     * Read UTF-8 encoded bytes straight into an instance of type without building a tree, see {@link JsonBinder}.
+     */
+    public <T> T readValue(byte[] json, Class<T> type) {
+        return readValue(cursor(json), type);
+    }
+
+    /**
+     * Read the remaining UTF-8 encoded bytes of a buffer straight into an instance of type, see {@link JsonBinder}.
+     */
+    public <T> T readValue(ByteBuffer json, Class<T> type) {
+        return readValue(cursor(json), type);
+    }
+
+    /**
+     * Read a memory mapped file straight into an instance of type, see {@link JsonBinder}.
+     */
+    public <T> T readValue(Path file, Class<T> type) {
+        return readValue(cursor(file), type);
+    }
+
+    /**
+     * Read UTF-8 encoded bytes, building only the values the projection selects.
+     *
+     * @return the selected values of each path, see {@link Projection#collect(JsonCursor)}
+     */
+    public Map<JsonPath, List<Object>> select(byte[] json, Projection projection) {
+        return select(cursor(json), projection);
+    }
+
+    /**
+     * Read a stream, building only the values the projection selects. The stream is closed once done.
+     */
+    public Map<JsonPath, List<Object>> select(InputStream is, Projection projection) {
+        return select(cursor(is), projection);
+    }
+
+    /**
+     * Read a memory mapped file, building only the values the projection selects.
+     */
+    public Map<JsonPath, List<Object>> select(Path file, Projection projection) {
+        return select(cursor(file), projection);
+    }
+
+    private Map<JsonPath, List<Object>> select(JsonCursor cursor, Projection projection) {
+        try (cursor) {
+            Map<JsonPath, List<Object>> result = projection.collect(cursor);
+            if (cursor.hasNext()) {
+                throw new JsonParseException("Unexpected data after the end of the document.");
             }
+            return result;
         }
-        return 0;
     }
 
-    enum Token {
-        NONE0, T, COLON, DASH, TRUE, NONE1, N, NINE, COMMA, NULL, NONE2, F, EIGHT, PLUS, NONE3, FALSE, RBRACE, SEVEN,
-        DQUOTE, NONE4, NONE5, LBRACE, SIX, NONE6, NONE7, NONE8, U, FIVE, NONE9, NONE10, NONE11, R, FOUR, NONE12,
-        NONE13, NONE14, E, THREE, NONE15, NONE16, NONE17, B, TWO, NONE18, NONE19, NONE20, RBRAC, ONE, NONE21, NONE22,
-        NONE23, BACKSLASH, ZERO, NONE24, NONE25, NONE26, LBRAC, FWDSLASH, NONE27, NONE28, NONE29, UE, PER;
+    /**
+     * Check UTF-8 encoded bytes against RFC 8259 without building anything, see {@link JsonValidator}.
+     *
+     * @throws JsonParseException for the first error, with its byte offset, line and column
+     */
+    public void validate(byte[] json) {
+        new JsonValidator(maxDepth).validate(json);
+    }
+
+    /**
+     * Check the remaining UTF-8 encoded bytes of a buffer against RFC 8259, see {@link #validate(byte[])}.
+     */
+    public void validate(ByteBuffer json) {
+        new JsonValidator(maxDepth).validate(json);
+    }
 
-        public static Token get(int i) {
-            return values()[i];
-        }
+    /**
+     * @return true if the bytes are a single json text as defined by RFC 8259, see {@link JsonValidator}
+     */
+    public boolean isValid(byte[] json) {
+        return new JsonValidator(maxDepth).isValid(json);
+    }
+
+    /**
+     * @return true if the remaining bytes of the buffer are a single json text as defined by RFC 8259
+     */
+    public boolean isValid(ByteBuffer json) {
+        return new JsonValidator(maxDepth).isValid(json);
+    }
+
+    /**
+     * Read UTF-8 encoded bytes as a document that is decoded on demand, see {@link LazyDocument}.
+     * The bytes are used in place and must not change while the document is in use.
+     */
+    public LazyDocument readLazy(byte[] json) {
+        return LazyDocument.of(json);
+    }
+
+    /**
+     * Read the remaining bytes of a buffer as a document that is decoded on demand, see {@link LazyDocument}.
+     */
+    public LazyDocument readLazy(ByteBuffer json) {
+        return LazyDocument.of(json);
+    }
+
+    private URL resource() {
+        return Objects.requireNonNull(getClass().getResource(filename));
     }
 
+    private Utf8Source source(byte[] json) {
+        return structuralIndex ? new IndexedUtf8Source(json) : new Utf8Source(json);
+    }
+
+    private Utf8Source source(ByteBuffer json) {
+        return structuralIndex ? new IndexedUtf8Source(json) : new Utf8Source(json);
+    }
+
+    private static JsonSource source(Path file) throws IOException {
+        return GzipSource.isGzip(file) ? GzipSource.open(file) : MappedFileSource.open(file);
+    }
+
+    private JsonCursor cursor(JsonSource source) {
+        return new JsonCursor(source, KeyCache.shared(), maxDepth, metrics);
+    }
+
+    private Object readTree(JsonCursor cursor) {
+        return ParseContext.readTree(cursor, new JsonTreeBuilder());
+    }
+
+    private <T> T readValue(JsonCursor cursor, Class<T> type) {
+        return ParseContext.readValue(cursor, type);
+    }
+
+    private Set<Pair<String, Object>> parse(JsonSource source) {
+        return new ParseContext(false, maxDepth, metrics).parse(source);
+    }
+
+    /**
+     * Parse for the cache, failures are logged as by {@link #parse(JsonSource)} and read as null so they are not kept.
+     *
+     * @return the parsed object, read only, or null if it could not be parsed
+     */
+    private Set<Pair<String, Object>> parseOrNull(JsonSource source) {
+        try {
+            return DocumentCache.freeze(new ParseContext(false, maxDepth, metrics).parseOrThrow(source));
+        } catch (RuntimeException e) {
+            LOGGER.fatal("Exception while parsing object: {}", e.getMessage());
+            return null;
+        }
+    }
 }
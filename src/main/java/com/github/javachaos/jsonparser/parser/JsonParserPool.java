@@ -0,0 +1,158 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.metrics.ParseMetrics;
+import com.github.javachaos.jsonparser.utils.Pair;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of {@link ParseContext}s for parsing many documents from many threads.
+ * Contexts are created on demand and up to capacity idle ones are kept, so a fixed set of worker threads
+ * settles on warm buffers and no per document setup. Neither acquiring nor releasing ever blocks.
+ * <p>
+ * A pool is thread safe, the contexts it hands out are not.
+ */
+public final class JsonParserPool {
+
+    private final ArrayBlockingQueue<ParseContext> idle;
+    private final boolean structuralIndex;
+    private final int maxDepth;
+    private final ParseMetrics metrics;
+
+    /**
+     * Keep one idle context per available processor.
+     */
+    public JsonParserPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public JsonParserPool(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * @param capacity        the most idle contexts kept
+     * @param structuralIndex true to parse in two stages, see {@link ParseContext#ParseContext(boolean)}
+     */
+    public JsonParserPool(int capacity, boolean structuralIndex) {
+        this(capacity, structuralIndex, JsonParser.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param capacity        the most idle contexts kept
+     * @param structuralIndex true to parse in two stages, see {@link ParseContext#ParseContext(boolean)}
+     * @param maxDepth        the most objects and arrays that may be open at once, deeper input is rejected
+     */
+    public JsonParserPool(int capacity, boolean structuralIndex, int maxDepth) {
+        this(capacity, structuralIndex, maxDepth, ParseMetrics.NONE);
+    }
+
+    /**
+     * @param capacity        the most idle contexts kept
+     * @param structuralIndex true to parse in two stages, see {@link ParseContext#ParseContext(boolean)}
+     * @param maxDepth        the most objects and arrays that may be open at once, deeper input is rejected
+     * @param metrics         where every context reports the statistics of each document
+     */
+    public JsonParserPool(int capacity, boolean structuralIndex, int maxDepth, ParseMetrics metrics) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive: " + maxDepth);
+        }
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.structuralIndex = structuralIndex;
+        this.maxDepth = maxDepth;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Take an idle context, or create one if there is none.
+     *
+     * @return a context, close it to hand it back
+     */
+    public ParseContext acquire() {
+        ParseContext context = idle.poll();
+        if (context == null) {
+            context = new ParseContext(this, structuralIndex, maxDepth, metrics);
+        }
+        context.owner = Thread.currentThread();
+        return context;
+    }
+
+    /**
+     * Take back a context closed by the thread holding it, any other close is ignored.
+     */
+    void release(ParseContext context) {
+        if (context.owner == Thread.currentThread()) {
+            context.owner = null;
+            idle.offer(context);
+        }
+    }
+
+    /**
+     * @return the number of contexts waiting to be acquired
+     */
+    public int idle() {
+        return idle.size();
+    }
+
+    /**
+     * Parse UTF-8 encoded bytes on a pooled context, see {@link JsonParser#parse(byte[])}.
+     */
+    public Set<Pair<String, Object>> parse(byte[] json) {
+        try (ParseContext context = acquire()) {
+            return context.parse(json);
+        }
+    }
+
+    /**
+     * Parse the remaining bytes of a buffer on a pooled context, see {@link JsonParser#parse(ByteBuffer)}.
+     */
+    public Set<Pair<String, Object>> parse(ByteBuffer json) {
+        try (ParseContext context = acquire()) {
+            return context.parse(json);
+        }
+    }
+
+    /**
+     * Read UTF-8 encoded bytes into a tree on a pooled context, see {@link JsonParser#readTree(byte[])}.
+     */
+    public Object readTree(byte[] json) {
+        try (ParseContext context = acquire()) {
+            return context.readTree(json);
+        }
+    }
+
+    /**
+     * Read UTF-8 encoded bytes into an instance of type on a pooled context, see
+     * {@link JsonParser#readValue(byte[], Class)}.
+     */
+    public <T> T readValue(byte[] json, Class<T> type) {
+        try (ParseContext context = acquire()) {
+            return context.readValue(json, type);
+        }
+    }
+
+    /**
+     * Read the remaining bytes of a buffer into an instance of type on a pooled context, see
+     * {@link JsonParser#readValue(ByteBuffer, Class)}.
+     */
+    public <T> T readValue(ByteBuffer json, Class<T> type) {
+        try (ParseContext context = acquire()) {
+            return context.readValue(json, type);
+        }
+    }
+
+    /**
+     * Read the remaining bytes of a buffer into a tree on a pooled context, see
+     * {@link JsonParser#readTree(ByteBuffer)}.
+     */
+    public Object readTree(ByteBuffer json) {
+        try (ParseContext context = acquire()) {
+            return context.readTree(json);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.utils.JsonSource;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+import com.github.javachaos.jsonparser.utils.NumberDecoder;
+
+import java.util.Arrays;
+
+/**
+ * Splits a {@link JsonSource} into {@link Token}s.
+ * Characters are classified with static lookup tables, so tokenizing does not allocate:
+ * single character tokens come straight from {@link #TOKENS} and the keywords
+ * true, false and null are checked against their spelling through the reader's lookahead.
+ */
+final class JsonTokenizer {
+
+    static final int WHITESPACE = 1;
+    static final int HEX = 1 << 1;
+    static final int DIGIT = 1 << 2;
+
+    /**
+     * Token for every ASCII character, {@link Token#NONE} for characters that do not start a token.
+     */
+    private static final Token[] TOKENS = new Token[128];
+
+    /**
+     * Character class bits ({@link #WHITESPACE}, {@link #HEX}, {@link #DIGIT}) for every ASCII character.
+     */
+    private static final byte[] CHAR_CLASS = new byte[128];
+
+    private static final int MAX_MANTISSA_DIGITS = 19;
+    private static final int MAX_EXPONENT = 100_000;
+
+    private static final char[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final char[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final char[] NULL = {'n', 'u', 'l', 'l'};
+
+    static {
+        Arrays.fill(TOKENS, Token.NONE);
+        TOKENS['{'] = Token.LBRACE;
+        TOKENS['}'] = Token.RBRACE;
+        TOKENS['['] = Token.LBRAC;
+        TOKENS[']'] = Token.RBRAC;
+        TOKENS[':'] = Token.COLON;
+        TOKENS[','] = Token.COMMA;
+        TOKENS['"'] = Token.DQUOTE;
+        TOKENS['-'] = Token.DASH;
+        TOKENS['+'] = Token.PLUS;
+        TOKENS['.'] = Token.PER;
+        TOKENS['e'] = Token.E;
+        TOKENS['E'] = Token.UE;
+        TOKENS['\\'] = Token.BACKSLASH;
+        TOKENS['/'] = Token.FWDSLASH;
+        TOKENS['t'] = Token.TRUE;
+        TOKENS['f'] = Token.FALSE;
+        TOKENS['n'] = Token.NULL;
+        for (char c = '0'; c <= '9'; c++) {
+            TOKENS[c] = Token.values()[Token.ZERO.ordinal() + c - '0'];
+            CHAR_CLASS[c] = DIGIT | HEX;
+        }
+        for (char c = 'a'; c <= 'f'; c++) {
+            CHAR_CLASS[c] = HEX;
+            CHAR_CLASS[Character.toUpperCase(c)] = HEX;
+        }
+        CHAR_CLASS[' '] = WHITESPACE;
+        CHAR_CLASS['\t'] = WHITESPACE;
+        CHAR_CLASS['\r'] = WHITESPACE;
+        CHAR_CLASS['\n'] = WHITESPACE;
+    }
+
+    private JsonSource inputStream;
+    private final KeyCache keys;
+
+    private Token curr = Token.NONE;
+    private int lineCount;
+
+    /*
+     * State of the last number read by number().
+     */
+    private long mantissa;
+    private int significantDigits;
+    private int exponent;
+    private boolean truncated;
+    private NumberType numberType;
+    private long longValue;
+    private double doubleValue;
+
+    JsonTokenizer(JsonSource inputStream) {
+        this(inputStream, KeyCache.shared());
+    }
+
+    /**
+     * @param keys the cache field names are resolved through, null to decode every name
+     */
+    JsonTokenizer(JsonSource inputStream, KeyCache keys) {
+        this.inputStream = inputStream;
+        this.keys = keys;
+    }
+
+    /**
+     * Start over on a new source.
+     */
+    void reset(JsonSource source) {
+        this.inputStream = source;
+        this.curr = Token.NONE;
+        this.lineCount = 0;
+    }
+
+    static boolean is(int c, int charClass) {
+        return c >= 0 && c < 128 && (CHAR_CLASS[c] & charClass) != 0;
+    }
+
+    /**
+     * Skip whitespace, counting lines as we go.
+     */
+    void whitespace() {
+        lineCount += inputStream.skipWhitespace();
+    }
+
+    /**
+     * Consume and return the next token.
+     */
+    Token next() {
+        Token t = peek();
+        switch (t) {
+            case NONE:
+                break;
+            case TRUE, NULL:
+                inputStream.skip(4);
+                break;
+            case FALSE:
+                inputStream.skip(5);
+                break;
+            default:
+                inputStream.read();
+        }
+        curr = t;
+        return t;
+    }
+
+    /**
+     * Return the next token without consuming it.
+     */
+    Token peek() {
+        whitespace();
+        int next = inputStream.peekChar();
+        Token t = next >= 0 && next < 128 ? TOKENS[next] : Token.NONE;
+        switch (t) {
+            case TRUE:
+                return keyword(TRUE, t);
+            case FALSE:
+                return keyword(FALSE, t);
+            case NULL:
+                return keyword(NULL, t);
+            default:
+                return t;
+        }
+    }
+
+    /**
+     * Check the spelling of a keyword using the reader's lookahead, nothing is consumed.
+     */
+    private Token keyword(char[] spelling, Token t) {
+        for (int i = 1; i < spelling.length; i++) {
+            if (inputStream.peekChar(i) != spelling[i]) {
+                throw new JsonParseException("Invalid literal, expected: " + String.valueOf(spelling)
+                        + " at line: " + lineCount);
+            }
+        }
+        return t;
+    }
+
+    /**
+     * The last token returned by {@link #next()}.
+     */
+    Token current() {
+        return curr;
+    }
+
+    /**
+     * Consume a string, the opening quote has already been consumed.
+     * Escape sequences are validated but kept as written.
+     *
+     * @return the content of the string
+     */
+    String string() {
+        return inputStream.readString(false);
+    }
+
+    /**
+     * Consume a string and resolve its escape sequences, the opening quote has already been consumed.
+     */
+    String decodedString() {
+        return inputStream.readString(true);
+    }
+
+    /**
+     * Consume a string, the opening quote has already been consumed, as a view over the input where possible.
+     */
+    CharSequence chars() {
+        return inputStream.readChars();
+    }
+
+    /**
+     * Consume up to len characters of a string with escapes resolved, the opening quote has already been consumed.
+     *
+     * @return the number of characters read, or -1 once the closing quote has been consumed
+     */
+    int stringChunk(char[] dst, int off, int len) {
+        return inputStream.readStringChunk(dst, off, len);
+    }
+
+    /**
+     * Consume a field name, the opening quote has already been consumed.
+     * Names are resolved through the key cache, so a repeated name is the same instance every time.
+     *
+     * @param decode true to resolve escape sequences, false to keep them as written
+     */
+    String name(boolean decode) {
+        return keys == null ? inputStream.readString(decode) : inputStream.readName(keys, decode);
+    }
+
+    /**
+     * Consume a string without materializing it, the opening quote has already been consumed.
+     */
+    void skipString() {
+        inputStream.skipString();
+    }
+
+    /**
+     * Consume a number, checking it against the json grammar, and decode it on the way.
+     * The result is available from {@link #numberType()}, {@link #longValue()} and {@link #doubleValue()}.
+     *
+     * @param num receives the characters of the number, it is cleared first
+     */
+    void number(StringBuilder num) {
+        num.setLength(0);
+        boolean negative = false;
+        mantissa = 0;
+        significantDigits = 0;
+        exponent = 0;
+        truncated = false;
+        int c = inputStream.peekChar();
+        if (c == '-') {
+            negative = true;
+            num.append('-');
+            inputStream.read();
+            c = inputStream.peekChar();
+        }
+        if (c == '0') {
+            num.append('0');
+            inputStream.read();
+        } else {
+            digits(num, false);
+        }
+        boolean integral = true;
+        if (inputStream.peekChar() == '.') {
+            integral = false;
+            num.append('.');
+            inputStream.read();
+            digits(num, true);
+        }
+        c = inputStream.peekChar();
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            num.append((char) c);
+            inputStream.read();
+            c = inputStream.peekChar();
+            boolean negativeExponent = c == '-';
+            if (c == '-' || c == '+') {
+                num.append((char) c);
+                inputStream.read();
+            }
+            int e = exponentDigits(num);
+            exponent += negativeExponent ? -e : e;
+        }
+        decode(negative, integral);
+    }
+
+    /**
+     * Consume a number, checking it against the json grammar without decoding it.
+     */
+    void skipNumber() {
+        if (inputStream.peekChar() == '-') {
+            inputStream.read();
+        }
+        if (inputStream.peekChar() == '0') {
+            inputStream.read();
+        } else {
+            skipDigits();
+        }
+        if (inputStream.peekChar() == '.') {
+            inputStream.read();
+            skipDigits();
+        }
+        int c = inputStream.peekChar();
+        if (c == 'e' || c == 'E') {
+            inputStream.read();
+            c = inputStream.peekChar();
+            if (c == '-' || c == '+') {
+                inputStream.read();
+            }
+            skipDigits();
+        }
+    }
+
+    private void skipDigits() {
+        if (!is(inputStream.peekChar(), DIGIT)) {
+            throw new JsonParseException("Expected a digit at line: " + lineCount);
+        }
+        do {
+            inputStream.read();
+        } while (is(inputStream.peekChar(), DIGIT));
+    }
+
+    /**
+     * Consume one or more digits, accumulating the first 19 significant ones into the mantissa.
+     */
+    private void digits(StringBuilder num, boolean fraction) {
+        int c = inputStream.peekChar();
+        if (!is(c, DIGIT)) {
+            throw new JsonParseException("Expected a digit at line: " + lineCount);
+        }
+        do {
+            num.append((char) c);
+            inputStream.read();
+            int d = c - '0';
+            if (significantDigits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + d;
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+                if (fraction) {
+                    exponent--;
+                }
+            } else {
+                truncated |= d != 0;
+                if (!fraction) {
+                    exponent++;
+                }
+            }
+            c = inputStream.peekChar();
+        } while (is(c, DIGIT));
+    }
+
+    /**
+     * Consume the digits of an exponent, saturating far outside of the range of a double.
+     */
+    private int exponentDigits(StringBuilder num) {
+        int c = inputStream.peekChar();
+        if (!is(c, DIGIT)) {
+            throw new JsonParseException("Expected a digit at line: " + lineCount);
+        }
+        int e = 0;
+        do {
+            num.append((char) c);
+            inputStream.read();
+            e = Math.min(e * 10 + c - '0', MAX_EXPONENT);
+            c = inputStream.peekChar();
+        } while (is(c, DIGIT));
+        return e;
+    }
+
+    private void decode(boolean negative, boolean integral) {
+        if (integral && exponent == 0 && (mantissa >= 0 || negative && mantissa == Long.MIN_VALUE)) {
+            numberType = NumberType.LONG;
+            longValue = negative ? -mantissa : mantissa;
+            doubleValue = longValue;
+            return;
+        }
+        double d = NumberDecoder.toDouble(negative, mantissa, exponent, truncated);
+        doubleValue = d;
+        numberType = !integral && !Double.isNaN(d) && !Double.isInfinite(d) && (d != 0 || mantissa == 0)
+                ? NumberType.DOUBLE : NumberType.BIG_DECIMAL;
+    }
+
+    /**
+     * @return how the last number was decoded
+     */
+    NumberType numberType() {
+        return numberType;
+    }
+
+    /**
+     * @return the last number, when it is a {@link NumberType#LONG}
+     */
+    long longValue() {
+        return longValue;
+    }
+
+    /**
+     * @return the last number as the nearest double, NaN if that needs the full text of the number
+     */
+    double doubleValue() {
+        return doubleValue;
+    }
+
+    int line() {
+        return lineCount;
+    }
+
+    /**
+     * @return the code units of input consumed so far
+     */
+    long position() {
+        return inputStream.position();
+    }
+}
@@ -0,0 +1,382 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Checks that UTF-8 encoded bytes are exactly one json text as defined by RFC 8259, without building or decoding
+ * anything.
+ * The bytes are scanned once in a single loop with the open containers on an explicit stack; strings are
+ * skipped through a table of plain bytes and only escapes and multi-byte sequences are looked at closely, the
+ * latter being checked to be well formed UTF-8. Lines and columns are not tracked while scanning, they are
+ * worked out from the bytes before an error once one has been found.
+ * <p>
+ * Compared to the parsers, nothing is lenient: control characters in strings, leading zeros, trailing commas,
+ * invalid escapes or UTF-8, a byte order mark and anything after the value are all errors.
+ * A validator can be reused but not by several threads at once.
+ */
+public final class JsonValidator {
+
+    private static final byte IN_OBJECT = 1;
+    private static final byte IN_ARRAY = 2;
+
+    /*
+     * What the validator expects next.
+     */
+    private static final int VALUE = 0;
+    private static final int FIELD = 1;
+    private static final int AFTER_VALUE = 2;
+
+    /**
+     * Bytes that stand for themselves inside a string.
+     */
+    private static final boolean[] PLAIN = new boolean[256];
+
+    static {
+        for (int c = 0x20; c < 0x80; c++) {
+            PLAIN[c] = c != '"' && c != '\\';
+        }
+    }
+
+    private final int maxDepth;
+    private byte[] stack = new byte[16];
+    private String error;
+
+    public JsonValidator() {
+        this(JsonParser.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param maxDepth the most objects and arrays that may be open at once, deeper input is rejected
+     */
+    public JsonValidator(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return true if the bytes are a single valid json text
+     */
+    public boolean isValid(byte[] json) {
+        return check(json, 0, json.length) < 0;
+    }
+
+    /**
+     * @return true if the remaining bytes of the buffer are a single valid json text, its position is untouched
+     */
+    public boolean isValid(ByteBuffer json) {
+        if (json.hasArray()) {
+            return check(json.array(), json.arrayOffset() + json.position(), json.arrayOffset() + json.limit()) < 0;
+        }
+        return isValid(copy(json));
+    }
+
+    /**
+     * Check that the bytes are a single valid json text.
+     *
+     * @throws JsonParseException for the first error, with its byte offset, line and column
+     */
+    public void validate(byte[] json) {
+        validate(json, 0, json.length);
+    }
+
+    /**
+     * Check that the remaining bytes of the buffer are a single valid json text, its position is untouched.
+     * Offsets are counted from the buffer's position.
+     *
+     * @throws JsonParseException for the first error, with its byte offset, line and column
+     */
+    public void validate(ByteBuffer json) {
+        if (json.hasArray()) {
+            validate(json.array(), json.arrayOffset() + json.position(), json.arrayOffset() + json.limit());
+        } else {
+            validate(copy(json));
+        }
+    }
+
+    private static byte[] copy(ByteBuffer json) {
+        byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private void validate(byte[] b, int start, int end) {
+        int at = check(b, start, end);
+        if (at >= 0) {
+            int line = 1;
+            int lineStart = start;
+            for (int i = start; i < at; i++) {
+                if (b[i] == '\n') {
+                    line++;
+                    lineStart = i + 1;
+                }
+            }
+            int column = 1;
+            for (int i = lineStart; i < at; i++) {
+                if ((b[i] & 0xC0) != 0x80) {
+                    column++;
+                }
+            }
+            throw new JsonParseException(error, at - start, line, column);
+        }
+    }
+
+    /**
+     * @return the index of the first error, with its description in {@link #error}, or -1 if there is none
+     */
+    private int check(byte[] b, int i, int end) {
+        int depth = 0;
+        int state = VALUE;
+        while (true) {
+            while (i < end && isWhitespace(b[i])) {
+                i++;
+            }
+            if (i == end) {
+                if (state == AFTER_VALUE && depth == 0) {
+                    return -1;
+                }
+                return fail(i, "Unexpected end of input");
+            }
+            int c = b[i] & 0xFF;
+            switch (state) {
+                case FIELD:
+                    if (c != '"') {
+                        return fail(i, "Expected a field name");
+                    }
+                    i = string(b, i + 1, end);
+                    if (i < 0) {
+                        return ~i;
+                    }
+                    while (i < end && isWhitespace(b[i])) {
+                        i++;
+                    }
+                    if (i == end || b[i] != ':') {
+                        return fail(i, "Expected ':'");
+                    }
+                    i++;
+                    state = VALUE;
+                    break;
+                case AFTER_VALUE:
+                    if (depth == 0) {
+                        return fail(i, "Unexpected data after the end of the document");
+                    }
+                    boolean object = stack[depth - 1] == IN_OBJECT;
+                    if (c == ',') {
+                        i++;
+                        state = object ? FIELD : VALUE;
+                    } else if (c == (object ? '}' : ']')) {
+                        i++;
+                        depth--;
+                    } else {
+                        return fail(i, object ? "Expected ',' or '}'" : "Expected ',' or ']'");
+                    }
+                    break;
+                default:
+                    switch (c) {
+                        case '{':
+                        case '[':
+                            if (depth == maxDepth) {
+                                return fail(i, "Nesting deeper than " + maxDepth + " levels");
+                            }
+                            if (depth == stack.length) {
+                                stack = Arrays.copyOf(stack, depth * 2);
+                            }
+                            stack[depth++] = c == '{' ? IN_OBJECT : IN_ARRAY;
+                            i++;
+                            while (i < end && isWhitespace(b[i])) {
+                                i++;
+                            }
+                            if (i < end && b[i] == (c == '{' ? '}' : ']')) {
+                                i++;
+                                depth--;
+                                state = AFTER_VALUE;
+                            } else {
+                                state = c == '{' ? FIELD : VALUE;
+                            }
+                            continue;
+                        case '"':
+                            i = string(b, i + 1, end);
+                            break;
+                        case '-': case '0': case '1': case '2': case '3': case '4':
+                        case '5': case '6': case '7': case '8': case '9':
+                            i = number(b, i, end);
+                            break;
+                        case 't':
+                            i = literal(b, i, end, "true");
+                            break;
+                        case 'f':
+                            i = literal(b, i, end, "false");
+                            break;
+                        case 'n':
+                            i = literal(b, i, end, "null");
+                            break;
+                        default:
+                            return fail(i, "Expected a value");
+                    }
+                    if (i < 0) {
+                        return ~i;
+                    }
+                    state = AFTER_VALUE;
+            }
+        }
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int fail(int at, String message) {
+        error = message;
+        return at;
+    }
+
+    /**
+     * Skip the rest of a string, the opening quote has been consumed.
+     *
+     * @return the index after the closing quote, or the complement of the index of an error
+     */
+    private int string(byte[] b, int i, int end) {
+        while (true) {
+            while (i < end && PLAIN[b[i] & 0xFF]) {
+                i++;
+            }
+            if (i == end) {
+                return ~fail(i, "Unterminated string");
+            }
+            int c = b[i] & 0xFF;
+            if (c == '"') {
+                return i + 1;
+            }
+            if (c == '\\') {
+                i = escape(b, i, end);
+            } else if (c < 0x20) {
+                return ~fail(i, "Control character in string");
+            } else {
+                i = utf8(b, i, end, c);
+            }
+            if (i < 0) {
+                return i;
+            }
+        }
+    }
+
+    private int escape(byte[] b, int i, int end) {
+        if (i + 1 == end) {
+            return ~fail(i, "Unterminated string");
+        }
+        switch (b[i + 1]) {
+            case '"': case '\\': case '/': case 'b': case 'f': case 'n': case 'r': case 't':
+                return i + 2;
+            case 'u':
+                for (int k = i + 2; k < i + 6; k++) {
+                    if (k == end || !JsonTokenizer.is(b[k], JsonTokenizer.HEX)) {
+                        return ~fail(i, "Invalid unicode escape");
+                    }
+                }
+                return i + 6;
+            default:
+                return ~fail(i, "Invalid escape");
+        }
+    }
+
+    /**
+     * Check a multi-byte sequence, rejecting overlong forms, surrogates and code points past U+10FFFF.
+     */
+    private int utf8(byte[] b, int i, int end, int lead) {
+        int n;
+        int min = 0x80;
+        int max = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            n = 1;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            n = 2;
+            if (lead == 0xE0) {
+                min = 0xA0;
+            } else if (lead == 0xED) {
+                max = 0x9F;
+            }
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            n = 3;
+            if (lead == 0xF0) {
+                min = 0x90;
+            } else if (lead == 0xF4) {
+                max = 0x8F;
+            }
+        } else {
+            return ~fail(i, "Invalid UTF-8");
+        }
+        if (i + n >= end) {
+            return ~fail(i, "Invalid UTF-8");
+        }
+        int second = b[i + 1] & 0xFF;
+        if (second < min || second > max) {
+            return ~fail(i, "Invalid UTF-8");
+        }
+        for (int k = i + 2; k <= i + n; k++) {
+            if ((b[k] & 0xC0) != 0x80) {
+                return ~fail(i, "Invalid UTF-8");
+            }
+        }
+        return i + n + 1;
+    }
+
+    private int number(byte[] b, int i, int end) {
+        if (b[i] == '-') {
+            i++;
+        }
+        if (i == end || !isDigit(b[i])) {
+            return ~fail(i, "Expected a digit");
+        }
+        if (b[i] == '0') {
+            i++;
+            if (i < end && isDigit(b[i])) {
+                return ~fail(i, "Leading zeros are not allowed");
+            }
+        } else {
+            while (i < end && isDigit(b[i])) {
+                i++;
+            }
+        }
+        if (i < end && b[i] == '.') {
+            i = digits(b, i + 1, end);
+            if (i < 0) {
+                return i;
+            }
+        }
+        if (i < end && (b[i] == 'e' || b[i] == 'E')) {
+            i++;
+            if (i < end && (b[i] == '+' || b[i] == '-')) {
+                i++;
+            }
+            i = digits(b, i, end);
+        }
+        return i;
+    }
+
+    private int digits(byte[] b, int i, int end) {
+        if (i == end || !isDigit(b[i])) {
+            return ~fail(i, "Expected a digit");
+        }
+        while (i < end && isDigit(b[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int literal(byte[] b, int i, int end, String literal) {
+        for (int k = 0; k < literal.length(); k++) {
+            if (i + k == end || b[i + k] != literal.charAt(k)) {
+                return ~fail(i, "Expected " + literal);
+            }
+        }
+        return i + literal.length();
+    }
+}
@@ -0,0 +1,247 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parses newline delimited json files, one json value per line, on all cores.
+ * The file is cut into chunks of about {@link #DEFAULT_CHUNK_SIZE} bytes, each chunk ending just after a newline.
+ * Chunks are memory mapped and parsed in parallel on a {@link ForkJoinPool}, each worker on a pooled
+ * {@link ParseContext}. Only a few chunks per worker are in flight at a time, so files of any size are parsed
+ * in bounded memory. Blank lines are skipped.
+ * <p>
+ * Records are read as trees, see {@link JsonParser#readTree(byte[])}. A parser is thread safe.
+ */
+public final class NdjsonParser {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    /**
+     * Chunks in flight per worker thread.
+     */
+    private static final int CHUNKS_PER_WORKER = 2;
+
+    private final ForkJoinPool executor;
+    private final JsonParserPool contexts;
+    private final int chunkSize;
+
+    /**
+     * Parse on the common fork join pool.
+     */
+    public NdjsonParser() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public NdjsonParser(ForkJoinPool executor, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.contexts = new JsonParserPool(executor.getParallelism());
+    }
+
+    /**
+     * Deliver every record to the callback in file order, on the calling thread.
+     */
+    public void forEachOrdered(Path file, Consumer<Object> callback) {
+        try (Chunks chunks = new Chunks(file, null)) {
+            while (chunks.hasNext()) {
+                chunks.next().forEach(callback);
+            }
+        }
+    }
+
+    /**
+     * Deliver every record to the callback as soon as it is parsed.
+     * The callback is called concurrently from the worker threads, in no particular order, and must be thread
+     * safe. Returns once every record has been delivered.
+     */
+    public void forEach(Path file, Consumer<Object> callback) {
+        try (Chunks chunks = new Chunks(file, callback)) {
+            while (chunks.hasNext()) {
+                chunks.next();
+            }
+        }
+    }
+
+    /**
+     * Stream the records in file order, the stream must be closed to release the file.
+     */
+    public Stream<Object> stream(Path file) {
+        Chunks chunks = new Chunks(file, null);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                .onClose(chunks::close)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Parse the records between start and end, end is just after a newline or at the end of the file.
+     */
+    private List<Object> parse(FileChannel channel, long start, long end, Consumer<Object> callback) {
+        MappedByteBuffer chunk;
+        try {
+            chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+        List<Object> records = callback == null ? new ArrayList<>() : Collections.emptyList();
+        ByteBuffer line = chunk.duplicate();
+        int limit = chunk.limit();
+        try (ParseContext context = contexts.acquire()) {
+            int from = 0;
+            while (from < limit) {
+                int to = from;
+                while (to < limit && chunk.get(to) != '\n') {
+                    to++;
+                }
+                if (!blank(chunk, from, to)) {
+                    line.limit(to).position(from);
+                    Object record;
+                    try {
+                        record = context.readTree(line);
+                    } catch (JsonParseException e) {
+                        throw new JsonParseException("Invalid record at byte offset " + (start + from) + ": "
+                                + e.getMessage(), e);
+                    }
+                    if (callback == null) {
+                        records.add(record);
+                    } else {
+                        callback.accept(record);
+                    }
+                }
+                from = to + 1;
+            }
+        }
+        return records;
+    }
+
+    private static boolean blank(ByteBuffer chunk, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = chunk.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Submits chunks ahead of the reader and hands back their records in order.
+     */
+    private final class Chunks implements Iterator<List<Object>>, AutoCloseable {
+
+        private final FileChannel channel;
+        private final long size;
+        private final Consumer<Object> callback;
+        private final ArrayDeque<ForkJoinTask<List<Object>>> inFlight = new ArrayDeque<>();
+        private final ByteBuffer scan = ByteBuffer.allocate(64 * 1024);
+        private long next;
+
+        Chunks(Path file, Consumer<Object> callback) {
+            this.callback = callback;
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ);
+                this.size = channel.size();
+            } catch (IOException e) {
+                throw new JsonParseException(e);
+            }
+            try {
+                submit();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void submit() {
+            int window = executor.getParallelism() * CHUNKS_PER_WORKER;
+            while (inFlight.size() < window && next < size) {
+                long start = next;
+                long end = boundary(start);
+                next = end;
+                inFlight.add(executor.submit(() -> parse(channel, start, end, callback)));
+            }
+        }
+
+        /**
+         * @return the end of the chunk starting at start, just after the first newline at or past chunkSize bytes
+         */
+        private long boundary(long start) {
+            long p = start + chunkSize - 1;
+            try {
+                while (p < size) {
+                    scan.clear();
+                    int n = channel.read(scan, p);
+                    for (int i = 0; i < n; i++) {
+                        if (scan.get(i) == '\n') {
+                            long end = p + i + 1;
+                            if (end - start > Integer.MAX_VALUE) {
+                                throw new JsonParseException("Record at byte offset " + start + " is too large.");
+                            }
+                            return end;
+                        }
+                    }
+                    p += n;
+                }
+            } catch (IOException e) {
+                throw new JsonParseException(e);
+            }
+            if (size - start > Integer.MAX_VALUE) {
+                throw new JsonParseException("Record at byte offset " + start + " is too large.");
+            }
+            return size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !inFlight.isEmpty();
+        }
+
+        @Override
+        public List<Object> next() {
+            ForkJoinTask<List<Object>> task = inFlight.poll();
+            if (task == null) {
+                throw new NoSuchElementException();
+            }
+            List<Object> records = task.join();
+            submit();
+            return records;
+        }
+
+        @Override
+        public void close() {
+            for (ForkJoinTask<List<Object>> task : inFlight) {
+                task.cancel(false);
+            }
+            for (ForkJoinTask<List<Object>> task : inFlight) {
+                task.quietlyJoin();
+            }
+            inFlight.clear();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new JsonParseException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.javachaos.jsonparser.parser;
+
+/**
+ * How a json number was decoded.
+ */
+public enum NumberType {
+    /** An integer that fits in a long. */
+    LONG,
+    /** A number with a fraction or an exponent, correctly rounded to the nearest double. */
+    DOUBLE,
+    /** An integer too large for a long, or a number outside the range of a double. */
+    BIG_DECIMAL
+}
@@ -0,0 +1,552 @@
+package com.github.javachaos.jsonparser.parser;
+
+import com.github.javachaos.jsonparser.dom.JsonTreeBuilder;
+import com.github.javachaos.jsonparser.binding.JsonBinder;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.JsonTokenEvent;
+import com.github.javachaos.jsonparser.metrics.ParseMetrics;
+import com.github.javachaos.jsonparser.utils.CharacterStreamReader;
+import com.github.javachaos.jsonparser.utils.IndexedUtf8Source;
+import com.github.javachaos.jsonparser.utils.JsonSource;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+import com.github.javachaos.jsonparser.utils.Pair;
+import com.github.javachaos.jsonparser.utils.Utf8Source;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The mutable state of a parse: tokenizer, cursor, tree builder and byte source, all reused from one document
+ * to the next. The cursor, builder and byte source are made on first use, so a context that only parses a
+ * {@link JsonSource} once does not pay for them. A context parses one document at a time and must not be shared between threads; a
+ * {@link JsonParser} is stateless and creates a context per call, {@link JsonParserPool} hands out warm ones.
+ * <p>
+ * Closing a context taken from a pool returns it to the pool, closing any other context does nothing. Only the
+ * thread that acquired a pooled context gives it back by closing it, so a second close, or a stale one racing with
+ * the next holder, cannot put it in the pool while it is in use.
+ */
+public final class ParseContext implements AutoCloseable {
+    private static final Logger LOGGER = LogManager.getLogger(ParseContext.class);
+
+    /*
+     * Where a container frame of the legacy grammar resumes.
+     */
+    private static final int OBJECT_START = 0;
+    private static final int MEMBER = 1;
+    private static final int AFTER_MEMBER = 2;
+    private static final int ARRAY_START = 3;
+    private static final int ELEMENT = 4;
+    private static final int AFTER_ELEMENT = 5;
+
+    private final JsonParserPool pool;
+    private final boolean structuralIndex;
+    private final int maxDepth;
+    private final ParseMetrics metrics;
+    private final JsonTokenizer tokenizer = new JsonTokenizer(null);
+    private final StringBuilder numberText = new StringBuilder();
+    private final DocumentStats stats;
+    private Utf8Source bytes;
+    private JsonCursor cursor;
+    private JsonTreeBuilder builder;
+
+    /*
+     * Container frames of the legacy grammar.
+     */
+    private int[] states;
+    private Object[] containers;
+    private String[] names;
+    private int depth;
+
+    /*
+     * Counted for the metrics.
+     */
+    private long tokens;
+    private long strings;
+    private long numbers;
+    private int deepest;
+
+    /**
+     * The thread holding the context since it was acquired from its pool, null while it sits idle.
+     */
+    volatile Thread owner;
+
+    public ParseContext() {
+        this(false);
+    }
+
+    /**
+     * @param structuralIndex true to parse byte arrays and buffers in two stages, see {@link IndexedUtf8Source}
+     */
+    public ParseContext(boolean structuralIndex) {
+        this(structuralIndex, JsonParser.DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param structuralIndex true to parse byte arrays and buffers in two stages, see {@link IndexedUtf8Source}
+     * @param maxDepth        the most objects and arrays that may be open at once, deeper input is rejected
+     */
+    public ParseContext(boolean structuralIndex, int maxDepth) {
+        this(structuralIndex, maxDepth, ParseMetrics.NONE);
+    }
+
+    /**
+     * @param structuralIndex true to parse byte arrays and buffers in two stages, see {@link IndexedUtf8Source}
+     * @param maxDepth        the most objects and arrays that may be open at once, deeper input is rejected
+     * @param metrics         where the statistics of each document are reported
+     */
+    public ParseContext(boolean structuralIndex, int maxDepth, ParseMetrics metrics) {
+        this(null, structuralIndex, maxDepth, metrics);
+    }
+
+    ParseContext(JsonParserPool pool, boolean structuralIndex, int maxDepth, ParseMetrics metrics) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be positive: " + maxDepth);
+        }
+        this.pool = pool;
+        this.structuralIndex = structuralIndex;
+        this.maxDepth = maxDepth;
+        this.metrics = metrics;
+        this.stats = new DocumentStats(metrics);
+        int frames = Math.min(32, maxDepth);
+        this.states = new int[frames];
+        this.containers = new Object[frames];
+        this.names = new String[frames];
+    }
+
+    /**
+     * Parse a json object from UTF-8 encoded bytes, see {@link JsonParser#parse(byte[])}.
+     */
+    public Set<Pair<String, Object>> parse(byte[] json) {
+        Utf8Source bytes = bytes();
+        bytes.reset(json, 0, json.length);
+        return parse(bytes);
+    }
+
+    /**
+     * Parse a json object from the remaining bytes of a buffer, see {@link JsonParser#parse(ByteBuffer)}.
+     */
+    public Set<Pair<String, Object>> parse(ByteBuffer json) {
+        Utf8Source bytes = bytes();
+        bytes.reset(json);
+        return parse(bytes);
+    }
+
+    /**
+     * Parse a json object from a stream, see {@link JsonParser#parse(InputStream)}.
+     */
+    public Set<Pair<String, Object>> parse(InputStream is) {
+        return parse(new CharacterStreamReader(is));
+    }
+
+    /**
+     * Read UTF-8 encoded bytes into a tree, see {@link JsonParser#readTree(byte[])}.
+     */
+    public Object readTree(byte[] json) {
+        return readTree(cursor(json));
+    }
+
+    /**
+     * Read the remaining bytes of a buffer into a tree, see {@link JsonParser#readTree(ByteBuffer)}.
+     */
+    public Object readTree(ByteBuffer json) {
+        return readTree(cursor(json));
+    }
+
+    /**
+     * Read a stream into a tree, see {@link JsonParser#readTree(InputStream)}.
+     */
+    public Object readTree(InputStream is) {
+        JsonCursor cursor = cursor();
+        cursor.reset(new CharacterStreamReader(is));
+        return readTree(cursor);
+    }
+
+    /**
+     * Read UTF-8 encoded bytes into an instance of type, see {@link JsonParser#readValue(byte[], Class)}.
+     */
+    public <T> T readValue(byte[] json, Class<T> type) {
+        return readValue(cursor(json), type);
+    }
+
+    /**
+     * Read the remaining bytes of a buffer into an instance of type, see
+     * {@link JsonParser#readValue(ByteBuffer, Class)}.
+     */
+    public <T> T readValue(ByteBuffer json, Class<T> type) {
+        return readValue(cursor(json), type);
+    }
+
+    /**
+     * Read a stream into an instance of type, see {@link JsonParser#readValue(InputStream, Class)}.
+     */
+    public <T> T readValue(InputStream is, Class<T> type) {
+        JsonCursor cursor = cursor();
+        cursor.reset(new CharacterStreamReader(is));
+        return readValue(cursor, type);
+    }
+
+    /**
+     * Point this context's cursor at UTF-8 encoded bytes.
+     * The same cursor is handed out on every call, it is only valid until the context is used again.
+     */
+    public JsonCursor cursor(byte[] json) {
+        Utf8Source bytes = bytes();
+        bytes.reset(json, 0, json.length);
+        JsonCursor cursor = cursor();
+        cursor.reset(bytes);
+        return cursor;
+    }
+
+    /**
+     * Point this context's cursor at the remaining bytes of a buffer, see {@link #cursor(byte[])}.
+     */
+    public JsonCursor cursor(ByteBuffer json) {
+        Utf8Source bytes = bytes();
+        bytes.reset(json);
+        JsonCursor cursor = cursor();
+        cursor.reset(bytes);
+        return cursor;
+    }
+
+    private Utf8Source bytes() {
+        if (bytes == null) {
+            bytes = structuralIndex ? new IndexedUtf8Source(new byte[0]) : new Utf8Source(new byte[0]);
+        }
+        return bytes;
+    }
+
+    private JsonCursor cursor() {
+        if (cursor == null) {
+            cursor = new JsonCursor(bytes(), KeyCache.shared(), maxDepth, metrics);
+        }
+        return cursor;
+    }
+
+    private Object readTree(JsonCursor cursor) {
+        if (builder == null) {
+            builder = new JsonTreeBuilder();
+        }
+        return readTree(cursor, builder);
+    }
+
+    /**
+     * Build the tree of a whole document, rejecting anything after it.
+     */
+    static Object readTree(JsonCursor cursor, JsonTreeBuilder builder) {
+        try (cursor) {
+            Object tree = builder.build(cursor);
+            if (cursor.hasNext()) {
+                throw new JsonParseException("Unexpected data after the end of the document.");
+            }
+            return tree;
+        }
+    }
+
+    static <T> T readValue(JsonCursor cursor, Class<T> type) {
+        try (cursor) {
+            T value = JsonBinder.shared().read(cursor, type);
+            if (cursor.hasNext()) {
+                throw new JsonParseException("Unexpected data after the end of the document.");
+            }
+            return value;
+        }
+    }
+
+    Set<Pair<String, Object>> parse(JsonSource source) {
+        try {
+            return parseOrThrow(source);
+        } catch (RuntimeException e) {
+            LOGGER.fatal("Exception while parsing object: {}", e.getMessage());
+            return new HashSet<>();
+        }
+    }
+
+    /**
+     * Parse like {@link #parse(JsonSource)}, but let errors through rather than log them and return an empty set.
+     */
+    Set<Pair<String, Object>> parseOrThrow(JsonSource source) {
+        Set<Pair<String, Object>> result = new HashSet<>();
+        try (source) {
+            tokenizer.reset(source);
+            tokens = 0;
+            strings = 0;
+            numbers = 0;
+            deepest = 0;
+            stats.start();
+            long start = System.nanoTime();
+            try {
+                result.addAll(object());
+            } catch (JsonParseException e) {
+                stats.fail(e, source.position(), tokenizer.line(), tokens, deepest, strings, numbers);
+                throw e;
+            }
+            long end = System.nanoTime();
+            stats.finish(source.position(), tokens, deepest, strings, numbers);
+            LOGGER.debug("JsonParse completed in {} ns", end - start);
+        } catch (RuntimeException e) {
+            Arrays.fill(containers, 0, depth, null);
+            Arrays.fill(names, 0, depth, null);
+            throw e;
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+
+    private void whitespace() {
+        tokenizer.whitespace();
+    }
+
+    private Token getNextToken() {
+        tokens++;
+        return tokenizer.next();
+    }
+
+    private Token peekNextToken() {
+        return tokenizer.peek();
+    }
+
+    /**
+     * Consume a string, the opening quote has already been consumed.
+     * Escape sequences are validated but kept as written.
+     *
+     * @return the content of the string
+     */
+    private String string() {
+        JsonTokenEvent event = stats.beginToken();
+        String s = tokenizer.string();
+        stats.endToken(event, "string", tokenizer.position(), s.length());
+        return s;
+    }
+
+    /**
+     * Accept the next token and advance to the next if advance is true
+     *
+     * @param token   the token to accept
+     * @param advance the boolean flag used to indicate if we should advance after accepting token
+     * @return true if the current token is token.
+     */
+    private boolean accept(Token token, boolean advance) {
+        if (advance) {
+            getNextToken();
+        }
+        return tokenizer.current() == token;
+    }
+
+    /**
+     * Peek the next token, accept if it matches.
+     */
+    private boolean acceptPeek(Token token) {
+        return peekNextToken() == token;
+    }
+
+    /**
+     * Expect the next token to be token and advance if flag is true.
+     *
+     * @param token   the token we expect to see
+     */
+    private boolean expect(Token token) {
+        if (accept(token, false)) {
+            return true;
+        }
+        LOGGER.debug("Expected: {} at line: {}", token, tokenizer.line());
+        return false;
+    }
+
+    /**
+     * Parse the root object. Nested objects and arrays are frames on an explicit stack rather than calls on the
+     * thread's stack, each frame resumes at its state once its current value has been read.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Pair<String, Object>> object() {
+        depth = 0;
+        push(OBJECT_START, new HashSet<Pair<String, Object>>());
+        while (true) {
+            int top = depth - 1;
+            List<Object> value = null;
+            switch (states[top]) {
+                case OBJECT_START:
+                    getNextToken();
+                    expect(Token.LBRACE);
+                    if (acceptPeek(Token.RBRACE)) {
+                        getNextToken();
+                        value = end();
+                    } else {
+                        states[top] = MEMBER;
+                    }
+                    break;
+                case MEMBER:
+                    whitespace();
+                    getNextToken();
+                    if (!expect(Token.DQUOTE)) {//Start of string
+                        throw new JsonParseException("Expected a field name at line: " + tokenizer.line());
+                    }
+                    names[top] = tokenizer.name(false);
+                    whitespace();
+                    getNextToken();
+                    expect(Token.COLON);
+                    states[top] = AFTER_MEMBER;
+                    value = value();
+                    break;
+                case AFTER_MEMBER:
+                    whitespace();
+                    if (acceptPeek(Token.RBRACE)) {
+                        getNextToken();
+                        expect(Token.RBRACE);
+                        value = end();
+                    } else if (accept(Token.COMMA, true)) {
+                        states[top] = MEMBER;
+                    } else {
+                        value = end();
+                    }
+                    break;
+                case ARRAY_START:
+                    getNextToken();
+                    expect(Token.LBRAC);
+                    if (acceptPeek(Token.RBRAC)) {
+                        getNextToken();
+                        value = end();
+                    } else {
+                        states[top] = ELEMENT;
+                    }
+                    break;
+                case ELEMENT:
+                    states[top] = AFTER_ELEMENT;
+                    value = value();
+                    break;
+                default:
+                    if (accept(Token.RBRAC, true)) {
+                        value = end();
+                    } else if (accept(Token.COMMA, false)) {
+                        states[top] = ELEMENT;
+                    } else {
+                        expect(Token.RBRAC);
+                        getNextToken();
+                        value = end();
+                    }
+            }
+            if (depth == 0) {
+                return (Set<Pair<String, Object>>) value.get(0);
+            }
+            if (value != null) {
+                add(value);
+            }
+        }
+    }
+
+    /**
+     * Hand a value to the innermost open container.
+     */
+    @SuppressWarnings("unchecked")
+    private void add(List<Object> value) {
+        int top = depth - 1;
+        if (states[top] == AFTER_MEMBER) {
+            ((Set<Pair<String, Object>>) containers[top]).add(new Pair<>(names[top], value));
+        } else if (!value.isEmpty()) {
+            ((List<Object>) containers[top]).add(value);
+        } else {
+            throw new JsonParseException("Expected a value at line:  " + tokenizer.line());
+        }
+    }
+
+    /**
+     * Open a container frame.
+     */
+    private void push(int state, Object container) {
+        if (depth == maxDepth) {
+            throw new JsonParseException("Nesting deeper than " + maxDepth + " levels at line: " + tokenizer.line());
+        }
+        if (depth == states.length) {
+            int capacity = Math.min(depth * 2, maxDepth);
+            states = Arrays.copyOf(states, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        states[depth] = state;
+        containers[depth++] = container;
+        if (depth > deepest) {
+            deepest = depth;
+        }
+    }
+
+    /**
+     * Close the innermost container frame.
+     *
+     * @return the container as a value
+     */
+    private List<Object> end() {
+        depth--;
+        List<Object> list = new ArrayList<>();
+        list.add(containers[depth]);
+        containers[depth] = null;
+        names[depth] = null;
+        return list;
+    }
+
+    /**
+     * Consume a number, it is kept as written.
+     */
+    private String number() {
+        JsonTokenEvent event = stats.beginToken();
+        tokenizer.number(numberText);
+        stats.endToken(event, "number", tokenizer.position(), numberText.length());
+        return numberText.toString();
+    }
+
+    /**
+     * Read a scalar value, or open a frame for an object or array.
+     *
+     * @return the value, an empty list if there is none, or null if a frame was opened
+     */
+    private List<Object> value() {
+        List<Object> list = new ArrayList<>();
+        whitespace();
+        Token next = peekNextToken();
+        switch (next) {
+            case DQUOTE:
+                getNextToken();
+                strings++;
+                String s = string();
+                list.add(s);
+                return list;
+            case DASH, ZERO, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE:
+                numbers++;
+                String num = number();
+                list.add(num);
+                return list;
+            case LBRACE:
+                push(OBJECT_START, new HashSet<Pair<String, Object>>());
+                return null;
+            case LBRAC:
+                push(ARRAY_START, new ArrayList<>());
+                return null;
+            case TRUE:
+                getNextToken();
+                list.add("true");
+                return list;
+            case FALSE:
+                getNextToken();
+                list.add("false");
+                return list;
+            case NULL:
+                getNextToken();
+                list.add("null");
+                return list;
+            default:
+                return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.javachaos.jsonparser.parser;
+
+/**
+ * Tokens produced by the {@link JsonTokenizer}.
+ * A DASH or digit token starts a number, the number itself is read by {@link JsonTokenizer#number(StringBuilder)}.
+ */
+enum Token {
+    NONE, LBRACE, RBRACE, LBRAC, RBRAC, COLON, COMMA, DQUOTE, DASH, PLUS, PER, E, UE, BACKSLASH, FWDSLASH,
+    ZERO, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE,
+    TRUE, FALSE, NULL
+}
@@ -0,0 +1,136 @@
+package com.github.javachaos.jsonparser.path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled JSONPath of plain steps, such as {@code $.menu.popup.menuitem[*].value}.
+ * Supported steps are {@code .name}, {@code ['name']}, {@code ["name"]}, {@code [index]}, and the wildcards
+ * {@code .*} and {@code [*]}. Filters, slices and recursive descent are not supported.
+ */
+public final class JsonPath {
+
+    /**
+     * Index of a step that selects by name.
+     */
+    private static final int NAME = -1;
+
+    /**
+     * Index of a wildcard step.
+     */
+    private static final int ANY = -2;
+
+    private final String expression;
+    private final String[] names;
+    private final int[] indexes;
+
+    private JsonPath(String expression, String[] names, int[] indexes) {
+        this.expression = expression;
+        this.names = names;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not a path this class supports
+     */
+    public static JsonPath compile(String expression) {
+        if (!expression.startsWith("$")) {
+            throw invalid(expression, 0);
+        }
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int i = 1;
+        int n = expression.length();
+        while (i < n) {
+            char c = expression.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < n && expression.charAt(i) != '.' && expression.charAt(i) != '[') {
+                    i++;
+                }
+                if (i == start) {
+                    throw invalid(expression, start);
+                }
+                String name = expression.substring(start, i);
+                names.add(name.equals("*") ? null : name);
+                indexes.add(name.equals("*") ? ANY : NAME);
+            } else if (c == '[') {
+                int close = expression.indexOf(']', i);
+                if (close < 0) {
+                    throw invalid(expression, i);
+                }
+                String step = expression.substring(i + 1, close);
+                if (step.equals("*")) {
+                    names.add(null);
+                    indexes.add(ANY);
+                } else if (step.length() >= 2 && (step.charAt(0) == '\'' || step.charAt(0) == '"')
+                        && step.charAt(step.length() - 1) == step.charAt(0)) {
+                    names.add(step.substring(1, step.length() - 1));
+                    indexes.add(NAME);
+                } else {
+                    try {
+                        int index = Integer.parseInt(step);
+                        if (index < 0) {
+                            throw invalid(expression, i + 1);
+                        }
+                        names.add(null);
+                        indexes.add(index);
+                    } catch (NumberFormatException e) {
+                        throw invalid(expression, i + 1);
+                    }
+                }
+                i = close + 1;
+            } else {
+                throw invalid(expression, i);
+            }
+        }
+        int[] ix = new int[indexes.size()];
+        for (int k = 0; k < ix.length; k++) {
+            ix[k] = indexes.get(k);
+        }
+        return new JsonPath(expression, names.toArray(new String[0]), ix);
+    }
+
+    private static IllegalArgumentException invalid(String expression, int index) {
+        return new IllegalArgumentException("Invalid path at index " + index + ": " + expression);
+    }
+
+    /**
+     * @return the number of steps, 0 for {@code $}
+     */
+    public int length() {
+        return indexes.length;
+    }
+
+    /**
+     * @return true if step selects the field called name
+     */
+    boolean matches(int step, String name) {
+        return indexes[step] == ANY || indexes[step] == NAME && names[step].equals(name);
+    }
+
+    /**
+     * @return true if step selects the array element at index
+     */
+    boolean matches(int step, int index) {
+        return indexes[step] == ANY || indexes[step] == index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonPath && expression.equals(((JsonPath) o).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    /**
+     * @return the expression the path was compiled from
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.javachaos.jsonparser.path;
+
+import com.github.javachaos.jsonparser.dom.JsonArray;
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.dom.JsonTreeBuilder;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A set of {@link JsonPath}s evaluated while a document is read.
+ * The projection follows the document through a {@link JsonCursor} and keeps track of which paths are still
+ * alive at each level. Subtrees that no path can reach are skipped at the token level and values nobody
+ * selects are never decoded; only the selected values are built, as {@link JsonTreeBuilder} trees.
+ * <p>
+ * A projection is immutable and can be shared between threads.
+ */
+public final class Projection {
+
+    private static final int MAX_PATHS = Long.SIZE;
+
+    private final JsonPath[] paths;
+
+    private Projection(JsonPath[] paths) {
+        if (paths.length == 0 || paths.length > MAX_PATHS) {
+            throw new IllegalArgumentException("A projection needs 1 to " + MAX_PATHS + " paths: " + paths.length);
+        }
+        this.paths = paths;
+    }
+
+    /**
+     * Compile a projection, see {@link JsonPath#compile(String)} for the syntax.
+     */
+    public static Projection of(String... expressions) {
+        JsonPath[] paths = new JsonPath[expressions.length];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = JsonPath.compile(expressions[i]);
+        }
+        return new Projection(paths);
+    }
+
+    public static Projection of(JsonPath... paths) {
+        return new Projection(paths.clone());
+    }
+
+    /**
+     * @return the paths in the order they were given
+     */
+    public List<JsonPath> paths() {
+        return List.of(paths);
+    }
+
+    /**
+     * Read the value at the cursor and collect what each path selects.
+     *
+     * @return the selected values of every path, in document order, keyed by path in the order they were given
+     */
+    public Map<JsonPath, List<Object>> collect(JsonCursor cursor) {
+        Map<JsonPath, List<Object>> result = new LinkedHashMap<>();
+        for (JsonPath path : paths) {
+            result.put(path, new ArrayList<>());
+        }
+        apply(cursor, (path, value) -> result.get(path).add(value));
+        return result;
+    }
+
+    /**
+     * Read the value at the cursor and hand every selected value to the sink, in document order.
+     * If the cursor has not started yet or is on a {@link JsonEvent#FIELD_NAME} it is advanced to the next value
+     * first; afterwards the cursor is on the last event of the value.
+     *
+     * @param sink receives the path and a JsonObject, JsonArray, String, Long, Double, BigDecimal, Boolean or null
+     */
+    public void apply(JsonCursor cursor, BiConsumer<JsonPath, Object> sink) {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        JsonEvent e = cursor.current();
+        if (e == null || e == JsonEvent.FIELD_NAME) {
+            e = cursor.next();
+        }
+        long all = paths.length == MAX_PATHS ? -1L : (1L << paths.length) - 1;
+        long root = complete(all, 0);
+        if (root != 0) {
+            select(builder.build(cursor), all, root, 0, sink);
+            return;
+        }
+        if (e != JsonEvent.START_OBJECT && e != JsonEvent.START_ARRAY) {
+            return;
+        }
+        long[] alive = new long[8];
+        int[] elements = new int[8];
+        alive[0] = all;
+        int depth = 1;
+        while (depth > 0) {
+            e = cursor.next();
+            long mask = alive[depth - 1];
+            int step = depth - 1;
+            long selected = 0;
+            switch (e) {
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    continue;
+                case FIELD_NAME: {
+                    String name = cursor.getText();
+                    for (long m = mask; m != 0; m &= m - 1) {
+                        int p = Long.numberOfTrailingZeros(m);
+                        if (paths[p].matches(step, name)) {
+                            selected |= 1L << p;
+                        }
+                    }
+                    e = cursor.next();
+                    break;
+                }
+                default: {
+                    int index = elements[depth - 1]++;
+                    for (long m = mask; m != 0; m &= m - 1) {
+                        int p = Long.numberOfTrailingZeros(m);
+                        if (paths[p].matches(step, index)) {
+                            selected |= 1L << p;
+                        }
+                    }
+                }
+            }
+            boolean container = e == JsonEvent.START_OBJECT || e == JsonEvent.START_ARRAY;
+            long done = complete(selected, depth);
+            if (done != 0) {
+                select(builder.build(cursor), selected, done, depth, sink);
+            } else if (selected != 0 && container) {
+                if (depth == alive.length) {
+                    alive = Arrays.copyOf(alive, depth * 2);
+                    elements = Arrays.copyOf(elements, depth * 2);
+                }
+                alive[depth] = selected;
+                elements[depth] = 0;
+                depth++;
+            } else if (container) {
+                cursor.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * @return the paths of mask that end after the given number of steps
+     */
+    private long complete(long mask, int steps) {
+        long done = 0;
+        for (long m = mask; m != 0; m &= m - 1) {
+            int p = Long.numberOfTrailingZeros(m);
+            if (paths[p].length() == steps) {
+                done |= 1L << p;
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Hand a built value to the paths that end at it, and follow the longer paths of mask into it.
+     */
+    private void select(Object value, long mask, long done, int steps, BiConsumer<JsonPath, Object> sink) {
+        for (long m = mask; m != 0; m &= m - 1) {
+            int p = Long.numberOfTrailingZeros(m);
+            if ((done & 1L << p) != 0) {
+                sink.accept(paths[p], value);
+            } else {
+                follow(paths[p], steps, value, sink);
+            }
+        }
+    }
+
+    private static void follow(JsonPath path, int step, Object value, BiConsumer<JsonPath, Object> sink) {
+        if (step == path.length()) {
+            sink.accept(path, value);
+        } else if (value instanceof JsonObject) {
+            JsonObject o = (JsonObject) value;
+            for (int i = 0; i < o.size(); i++) {
+                if (path.matches(step, o.name(i))) {
+                    follow(path, step + 1, o.get(i), sink);
+                }
+            }
+        } else if (value instanceof JsonArray) {
+            JsonArray a = (JsonArray) value;
+            for (int i = 0; i < a.size(); i++) {
+                if (path.matches(step, i)) {
+                    follow(path, step + 1, a.get(i), sink);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.javachaos.jsonparser.utils;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+import java.util.Arrays;
+
+/**
+ * Decodes base64 that arrives a chunk of characters at a time.
+ * Unlike {@link java.util.Base64.Decoder} the bits of an incomplete quantum are kept between calls, so the input
+ * can be split anywhere and never has to be held at once. Both the standard and the URL safe alphabet of RFC 4648
+ * are accepted, padding is optional but nothing may follow it.
+ */
+public final class Base64Decoder {
+
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+        VALUES['-'] = 62;
+        VALUES['_'] = 63;
+    }
+
+    private int bits;
+    private int count;
+    private int padding;
+    private long position;
+
+    /**
+     * @return the most bytes {@link #decode(char[], int, int, byte[], int)} writes for len characters
+     */
+    public static int maxDecodedLength(int len) {
+        return (len + 3) / 4 * 3;
+    }
+
+    private static int value(char c) {
+        return c < 128 ? VALUES[c] : -1;
+    }
+
+    /**
+     * Decode the next len characters.
+     *
+     * @param dst    where the bytes go, it needs room for {@link #maxDecodedLength(int)} bytes
+     * @param dstOff the index in dst of the first byte
+     * @return the number of bytes written
+     * @throws JsonParseException if the characters are not base64
+     */
+    public int decode(char[] src, int off, int len, byte[] dst, int dstOff) {
+        int o = dstOff;
+        int i = off;
+        int end = off + len;
+        while (i < end) {
+            if (count == 0 && padding == 0) {
+                while (i + 4 <= end) {
+                    int a = value(src[i]);
+                    int b = value(src[i + 1]);
+                    int c = value(src[i + 2]);
+                    int d = value(src[i + 3]);
+                    if ((a | b | c | d) < 0) {
+                        break;
+                    }
+                    int quantum = a << 18 | b << 12 | c << 6 | d;
+                    dst[o] = (byte) (quantum >> 16);
+                    dst[o + 1] = (byte) (quantum >> 8);
+                    dst[o + 2] = (byte) quantum;
+                    o += 3;
+                    i += 4;
+                }
+                if (i == end) {
+                    break;
+                }
+            }
+            char c = src[i];
+            int v = value(c);
+            if (v < 0 || padding > 0) {
+                if (c != '=' || count < 2 || count + padding == 4) {
+                    throw invalid(c, position + i - off);
+                }
+                padding++;
+            } else {
+                bits = bits << 6 | v;
+                if (++count == 4) {
+                    dst[o] = (byte) (bits >> 16);
+                    dst[o + 1] = (byte) (bits >> 8);
+                    dst[o + 2] = (byte) bits;
+                    o += 3;
+                    bits = 0;
+                    count = 0;
+                }
+            }
+            i++;
+        }
+        position += len;
+        return o - dstOff;
+    }
+
+    /**
+     * Decode what is left of the last quantum, after which the decoder can be used for new input.
+     *
+     * @param dst    where the bytes go, it needs room for 2 bytes
+     * @param dstOff the index in dst of the first byte
+     * @return the number of bytes written
+     * @throws JsonParseException if the input ended in the middle of a quantum
+     */
+    public int finish(byte[] dst, int dstOff) {
+        int n = count == 0 ? 0 : count - 1;
+        boolean valid = count != 1 && (padding == 0 || count + padding == 4);
+        if (n == 1) {
+            dst[dstOff] = (byte) (bits >> 4);
+        } else if (n == 2) {
+            dst[dstOff] = (byte) (bits >> 10);
+            dst[dstOff + 1] = (byte) (bits >> 2);
+        }
+        long at = position;
+        bits = 0;
+        count = 0;
+        padding = 0;
+        position = 0;
+        if (!valid) {
+            throw new JsonParseException("Truncated base64 at index " + at);
+        }
+        return n;
+    }
+
+    private static JsonParseException invalid(char c, long at) {
+        return new JsonParseException("Invalid base64 character '" + c + "' at index " + at);
+    }
+}
@@ -1,81 +1,344 @@
 package com.github.javachaos.jsonparser.utils;
 
 import com.github.javachaos.jsonparser.exceptions.JsonParseException;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import com.github.javachaos.jsonparser.metrics.JsonRefillEvent;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class CharacterStreamReader implements Iterator<Character>, AutoCloseable {
+/**
+ * Block buffered character source.
+ * Characters are read from the underlying reader a buffer at a time, and are handed out through the primitive
+ * {@link #read()}, {@link #peekChar()} and {@link #peekChar(int)} accessors. The boxed {@link Iterator} methods
+ * are kept for callers that want them.
+ * <p>
+ * {@link #mark(int)} and {@link #reset()} work regardless of the underlying reader, the marked characters are
+ * retained in the buffer until more than the read ahead limit has been consumed.
+ */
+public class CharacterStreamReader implements Iterator<Character>, JsonSource {
 
-    private static final Logger LOGGER = LogManager.getLogger(CharacterStreamReader.class);
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
 
     private final Reader reader;
+    private final int bufferSize;
 
-    private int nextChar;
+    private char[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    private int markPos = -1;
+    private int markLimit;
+
+    /**
+     * Number of characters dropped from the front of the buffer so far.
+     */
+    private long base;
+    private final StringBuilder scratch = new StringBuilder();
 
     public CharacterStreamReader(InputStream is) {
-        reader = new InputStreamReader(is);
+        this(is, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CharacterStreamReader(InputStream is, int bufferSize) {
+        this(new InputStreamReader(is, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    public CharacterStreamReader(Reader reader, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.reader = reader;
+        this.bufferSize = bufferSize;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Refill the buffer, keeping marked characters and anything not yet consumed.
+     *
+     * @return false if the end of the input was reached and no characters were added
+     */
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        if (markPos >= 0 && pos - markPos > markLimit) {
+            markPos = -1;
+        }
+        int keep = markPos >= 0 ? markPos : pos;
+        if (keep > 0) {
+            System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+            limit -= keep;
+            pos -= keep;
+            base += keep;
+            if (markPos >= 0) {
+                markPos = 0;
+            }
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        JsonRefillEvent event = new JsonRefillEvent();
+        event.begin();
         try {
-            nextChar = reader.read();
+            int n;
+            do {
+                n = reader.read(buffer, limit, buffer.length - limit);
+            } while (n == 0);
+            event.end(n, buffer.length, base + limit);
+            if (n < 0) {
+                eof = true;
+                return false;
+            }
+            limit += n;
+            return true;
         } catch (IOException e) {
-            LOGGER.error("Error reading first character: {}", e.getMessage());
+            throw new JsonParseException(e);
         }
     }
 
     @Override
     public boolean hasNext() {
-        return nextChar != -1;
+        return pos < limit || fill();
     }
 
+    /**
+     * Consume the next character.
+     *
+     * @return the next character or {@link #EOF} at the end of the input
+     */
     @Override
-    public Character next() {
-        if (!hasNext()) {
-            throw new NoSuchElementException();
+    public int read() {
+        if (pos >= limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos++];
+    }
+
+    /**
+     * @return the next character without consuming it, or {@link #EOF} at the end of the input
+     */
+    @Override
+    public int peekChar() {
+        if (pos >= limit && !fill()) {
+            return EOF;
         }
-        if (nextChar < 0 || nextChar > 65535) {
-            throw new JsonParseException("Input character out of range.");
+        return buffer[pos];
+    }
+
+    /**
+     * Look ahead without consuming anything.
+     *
+     * @param offset how far to look ahead, 0 is the next character. Must be smaller than the buffer size.
+     * @return the character at offset, or {@link #EOF} if the input ends before it
+     */
+    @Override
+    public int peekChar(int offset) {
+        if (offset < 0 || offset >= bufferSize) {
+            throw new IllegalArgumentException("Lookahead out of range: " + offset);
         }
-        char ch = (char) nextChar;
-        try {
-            nextChar = reader.read();
-        } catch (IOException e) {
-            throw new JsonParseException("Error reading from input stream.");
+        while (limit - pos <= offset) {
+            if (!fill()) {
+                return EOF;
+            }
         }
-        return ch;
+        return buffer[pos + offset];
     }
 
-    public Character peek() {
-        return (char) nextChar;
+    /**
+     * Consume up to n characters.
+     *
+     * @return the number of characters skipped
+     */
+    @Override
+    public int skip(int n) {
+        int skipped = 0;
+        while (skipped < n && (pos < limit || fill())) {
+            int step = Math.min(n - skipped, limit - pos);
+            pos += step;
+            skipped += step;
+        }
+        return skipped;
     }
 
+    /**
+     * Strings that fit in the buffer and contain no escapes are copied out of it in one go.
+     */
     @Override
-    public void close() throws Exception {
-        reader.close();
+    public String readString(boolean decode) {
+        StringBuilder str = null;
+        while (pos < limit || fill()) {
+            int start = pos;
+            char[] buf = buffer;
+            int end = limit;
+            int i = start;
+            while (i < end) {
+                char c = buf[i];
+                if (c == '"') {
+                    pos = i + 1;
+                    if (str == null) {
+                        return new String(buf, start, i - start);
+                    }
+                    return str.append(buf, start, i - start).toString();
+                }
+                if (c == '\\') {
+                    break;
+                }
+                i++;
+            }
+            if (str == null) {
+                str = scratch;
+                str.setLength(0);
+            }
+            str.append(buf, start, i - start);
+            pos = i;
+            if (i < end) {
+                pos++;
+                JsonEscapes.appendEscape(this, str, decode);
+            }
+        }
+        throw new JsonParseException("Unterminated string.");
     }
 
-    public void mark(int i) {
-        if (reader.markSupported()) {
-            try {
-                reader.mark(i);
-            } catch (IOException e) {
-                throw new JsonParseException(e);
+    /**
+     * Names without escapes that are already in the buffer are hashed in place and looked up in the cache,
+     * anything else goes through {@link #readString(boolean)}.
+     */
+    @Override
+    public String readName(KeyCache keys, boolean decode) {
+        char[] buf = buffer;
+        int end = Math.min(limit, pos + KeyCache.MAX_KEY_LENGTH + 1);
+        int hash = 0;
+        for (int i = pos; i < end; i++) {
+            char c = buf[i];
+            if (c == '"') {
+                String name = keys.get(buf, pos, i - pos, hash);
+                pos = i + 1;
+                return name;
+            }
+            if (c == '\\') {
+                break;
             }
+            hash = KeyCache.hash(hash, c);
         }
+        return readString(decode);
     }
 
-    public void reset() {
-        if (reader.markSupported()) {
-            try {
-                reader.reset();
-            } catch (IOException e) {
-                throw new JsonParseException(e);
+    /**
+     * Runs without escapes are copied out of the buffer in one go.
+     */
+    @Override
+    public int readStringChunk(char[] dst, int off, int len) {
+        int o = off;
+        int stop = off + len;
+        while (o < stop) {
+            if (pos >= limit && !fill()) {
+                throw new JsonParseException("Unterminated string.");
+            }
+            char[] buf = buffer;
+            int end = Math.min(limit, pos + stop - o);
+            int i = pos;
+            while (i < end && buf[i] != '"' && buf[i] != '\\') {
+                i++;
+            }
+            System.arraycopy(buf, pos, dst, o, i - pos);
+            o += i - pos;
+            pos = i;
+            if (i == end) {
+                continue;
+            }
+            if (buf[i] == '"') {
+                if (o == off) {
+                    pos++;
+                    return -1;
+                }
+                break;
+            }
+            pos++;
+            dst[o++] = JsonEscapes.readEscape(this);
+        }
+        return o - off;
+    }
+
+    @Override
+    public void skipString() {
+        while (pos < limit || fill()) {
+            char[] buf = buffer;
+            int end = limit;
+            int i = pos;
+            while (i < end) {
+                char c = buf[i++];
+                if (c == '"') {
+                    pos = i;
+                    return;
+                }
+                if (c == '\\') {
+                    pos = i;
+                    JsonEscapes.skipEscape(this);
+                    i = pos;
+                    end = limit;
+                    buf = buffer;
+                }
             }
+            pos = i;
+        }
+        throw new JsonParseException("Unterminated string.");
+    }
+
+    @Override
+    public Character next() {
+        int c = read();
+        if (c == EOF) {
+            throw new NoSuchElementException();
+        }
+        return (char) c;
+    }
+
+    public Character peek() {
+        return (char) peekChar();
+    }
+
+    @Override
+    public long position() {
+        return base + pos;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /**
+     * Remember the current position, a later {@link #reset()} returns to it
+     * as long as no more than readAheadLimit characters have been consumed since.
+     *
+     * @param readAheadLimit the number of characters that may be read before the mark is dropped
+     */
+    public void mark(int readAheadLimit) {
+        if (readAheadLimit < 0) {
+            throw new IllegalArgumentException("Read ahead limit < 0: " + readAheadLimit);
+        }
+        markPos = pos;
+        markLimit = readAheadLimit;
+    }
+
+    /**
+     * Return to the position of the last {@link #mark(int)}.
+     */
+    public void reset() {
+        if (markPos < 0 || pos - markPos > markLimit) {
+            throw new JsonParseException("Stream not marked, or mark invalidated.");
         }
+        pos = markPos;
     }
 }
@@ -0,0 +1,596 @@
+package com.github.javachaos.jsonparser.utils;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.JsonRefillEvent;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * A {@link Utf8Source} over gzip compressed input, inflated on other threads while it is parsed.
+ * Inflated bytes are handed over in a ring of reusable buffers that become the parser's window one after the
+ * other, so the next buffers are being inflated while the current one is parsed.
+ * <p>
+ * Files made of several gzip members, as written by bgzip or by concatenating gzip files, have their members
+ * inflated in parallel. The file is mapped and searched for member headers, and the members following the one
+ * being parsed are inflated ahead of it. A header found inside compressed data is only trusted once the member
+ * before it is seen to end there, so a false match wastes some work but never changes the output. Each member in
+ * flight holds at most {@link #BUFFERS_PER_MEMBER} buffers, which bounds memory for inputs of any size.
+ * <p>
+ * Inflating runs on a shared pool of one daemon thread per processor unless an {@link Executor} is given. An
+ * inflater never waits for the parser: once its buffers are full it hands its thread back and is submitted again
+ * when the parser returns one, so any number of sources can share a bounded pool without deadlocking.
+ * <p>
+ * String values are always copied out of the buffers, {@link #readChars()} does not return views.
+ */
+public class GzipSource extends Utf8Source {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Buffers a member may fill before the parser has to catch up with it.
+     */
+    public static final int BUFFERS_PER_MEMBER = 4;
+
+    /**
+     * Bytes kept free at the front of each buffer, where the unread end of the previous window is copied.
+     * Also the smallest window handed out before the end of the input, enough for the longest lookahead.
+     */
+    private static final int HEADROOM = 16;
+
+    /**
+     * Compressed bytes searched for member headers per buffer handed out.
+     */
+    private static final int SCAN_STEP = 1 << 20;
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final int RESERVED = 0xE0;
+
+    private static final Chunk END = new Chunk(0);
+
+    private static final Executor INFLATERS = inflaters();
+
+    private final Closeable input;
+    private final Executor executor;
+    private final ByteBuffer file;
+    private final int parallelism;
+    private final int bufferSize;
+
+    private final ArrayDeque<Member> inFlight = new ArrayDeque<>();
+    private final ConcurrentLinkedQueue<Chunk> spare = new ConcurrentLinkedQueue<>();
+    private Chunk current;
+    private long scanned;
+    private boolean finished;
+
+    /**
+     * Inflate a stream on another thread, the members of a multi-member stream one after the other.
+     * The stream is closed along with the source.
+     */
+    public GzipSource(InputStream compressed) {
+        this(compressed, DEFAULT_BUFFER_SIZE);
+    }
+
+    public GzipSource(InputStream compressed, int bufferSize) {
+        this(compressed, bufferSize, INFLATERS);
+    }
+
+    /**
+     * @param executor where the stream is inflated
+     */
+    public GzipSource(InputStream compressed, int bufferSize, Executor executor) {
+        this(compressed, null, 1, bufferSize, executor);
+        start(new StreamMember(compressed));
+    }
+
+    private GzipSource(Closeable input, ByteBuffer file, int parallelism, int bufferSize, Executor executor) {
+        if (bufferSize < HEADROOM) {
+            throw new IllegalArgumentException("Buffer size must be at least " + HEADROOM + ": " + bufferSize);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.input = input;
+        this.executor = executor;
+        this.file = file;
+        this.parallelism = parallelism;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Map a gzip file and inflate up to as many of its members at once as there are processors.
+     * The file is closed along with the source.
+     */
+    public static GzipSource open(Path file) throws IOException {
+        return open(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Map a gzip file and inflate up to parallelism of its members at once.
+     * Files larger than a single mapping are streamed instead, their members are inflated one at a time.
+     */
+    public static GzipSource open(Path file, int parallelism) throws IOException {
+        return open(file, parallelism, INFLATERS);
+    }
+
+    /**
+     * Map a gzip file and inflate up to parallelism of its members at once on the executor.
+     */
+    public static GzipSource open(Path file, int parallelism, Executor executor) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return new GzipSource(Channels.newInputStream(channel), DEFAULT_BUFFER_SIZE, executor);
+            }
+            GzipSource source = new GzipSource(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, size),
+                    parallelism, DEFAULT_BUFFER_SIZE, executor);
+            if (!source.isHeader(0)) {
+                throw new ZipException("Not in GZIP format");
+            }
+            source.start(source.new FileMember(0));
+            source.scanned = 1;
+            return source;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * One daemon thread per processor, let go of when idle.
+     */
+    private static Executor inflaters() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "json-inflater");
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * @return true if the file starts with the gzip magic bytes
+     */
+    public static boolean isGzip(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+
+    private Member start(Member member) {
+        inFlight.addLast(member);
+        executor.execute(member);
+        return member;
+    }
+
+    /**
+     * Hand the parser the next buffer, with the unread end of the current window copied in front of it.
+     * Short buffers at the end of a member are joined with the ones that follow.
+     */
+    @Override
+    protected boolean nextWindow(long from) {
+        int tail = (int) (base + limit - from);
+        int at = (int) (from - base);
+        Chunk chunk = take();
+        if (chunk == null) {
+            return false;
+        }
+        if (tail <= HEADROOM && chunk.length >= HEADROOM) {
+            buffer.get(at, chunk.bytes, HEADROOM - tail, tail);
+            release(current);
+            current = chunk;
+            setWindow(ByteBuffer.wrap(chunk.bytes, HEADROOM - tail, tail + chunk.length), from);
+            return true;
+        }
+        byte[] joined = new byte[tail + chunk.length];
+        buffer.get(at, joined, 0, tail);
+        int length = tail;
+        while (chunk != null) {
+            if (joined.length < length + chunk.length) {
+                joined = Arrays.copyOf(joined, Math.max(joined.length * 2, length + chunk.length));
+            }
+            System.arraycopy(chunk.bytes, HEADROOM, joined, length, chunk.length);
+            length += chunk.length;
+            release(chunk);
+            chunk = length < HEADROOM ? take() : null;
+        }
+        release(current);
+        current = null;
+        setWindow(ByteBuffer.wrap(joined, 0, length), from);
+        return true;
+    }
+
+    /**
+     * @return the next inflated buffer in order, or null at the end of the input
+     */
+    private Chunk take() {
+        while (!finished) {
+            Member head = inFlight.peekFirst();
+            JsonRefillEvent event = new JsonRefillEvent();
+            event.begin();
+            Chunk chunk;
+            try {
+                chunk = head.full.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JsonParseException(new InterruptedIOException("Interrupted while waiting for input"));
+            }
+            event.end(chunk == END ? -1 : chunk.length, bufferSize, base + limit);
+            if (chunk != END) {
+                scan();
+                return chunk;
+            }
+            inFlight.pollFirst();
+            if (head.error != null) {
+                throw new JsonParseException(head.error);
+            }
+            follow(head);
+        }
+        return null;
+    }
+
+    /**
+     * Make the member starting where the finished one ended the new head, dropping any that started inside it.
+     * Bytes after the last member that are not a gzip header are ignored, as {@link GZIPInputStream} does.
+     */
+    private void follow(Member done) {
+        if (file == null) {
+            finished = true;
+            return;
+        }
+        long end = done.end;
+        while (!inFlight.isEmpty() && inFlight.peekFirst().start < end) {
+            inFlight.pollFirst().cancel();
+        }
+        scanned = Math.max(scanned, end + 1);
+        if (inFlight.isEmpty() || inFlight.peekFirst().start != end) {
+            if (!isHeader(end)) {
+                finished = true;
+                return;
+            }
+            Member next = new FileMember(end);
+            inFlight.addFirst(next);
+            executor.execute(next);
+        }
+        scan();
+    }
+
+    /**
+     * Search a step further for member headers, starting members until enough are in flight.
+     */
+    private void scan() {
+        if (file == null) {
+            return;
+        }
+        long stop = Math.min(file.limit(), scanned + SCAN_STEP);
+        while (inFlight.size() < parallelism && scanned < stop) {
+            long at = scanned;
+            while (at < stop && !isHeader(at)) {
+                at++;
+            }
+            scanned = at + 1;
+            if (at < stop) {
+                start(new FileMember(at));
+            }
+        }
+    }
+
+    private boolean isHeader(long at) {
+        if (at < 0 || at + 10 > file.limit()) {
+            return false;
+        }
+        int i = (int) at;
+        return file.get(i) == 0x1f && file.get(i + 1) == (byte) 0x8b && file.get(i + 2) == 8
+                && (file.get(i + 3) & RESERVED) == 0;
+    }
+
+    private void release(Chunk chunk) {
+        if (chunk == null) {
+            return;
+        }
+        Member owner = chunk.owner;
+        if (owner.done) {
+            spare.offer(chunk);
+        } else {
+            owner.free.offer(chunk);
+            owner.resume();
+        }
+    }
+
+    /**
+     * The buffers are recycled, so strings are always copied out of them.
+     */
+    @Override
+    public CharSequence readChars() {
+        return readString(true);
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        for (Member member : inFlight) {
+            member.cancel();
+        }
+        inFlight.clear();
+        try {
+            input.close();
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /**
+     * A buffer of inflated bytes, which start after {@link #HEADROOM} free bytes.
+     */
+    private static final class Chunk {
+
+        final byte[] bytes;
+        int length;
+        Member owner;
+
+        Chunk(int size) {
+            this.bytes = new byte[HEADROOM + size];
+        }
+    }
+
+    /**
+     * Inflates one member, or a whole stream, into a ring of buffers on an inflater thread.
+     * Once every buffer is full the member parks, giving its thread back, until the parser releases one.
+     */
+    private abstract class Member implements Runnable {
+
+        final long start;
+        final ArrayBlockingQueue<Chunk> full = new ArrayBlockingQueue<>(BUFFERS_PER_MEMBER + 1);
+        final ArrayBlockingQueue<Chunk> free = new ArrayBlockingQueue<>(BUFFERS_PER_MEMBER);
+        final AtomicBoolean parked = new AtomicBoolean();
+        volatile boolean cancelled;
+        volatile boolean done;
+
+        /*
+         * Written before END is queued, read after it is taken.
+         */
+        long end = -1;
+        IOException error;
+
+        private int allocated;
+
+        Member(long start) {
+            this.start = start;
+        }
+
+        /**
+         * @return the number of bytes inflated into b, or -1 at the end of the member
+         */
+        abstract int inflate(byte[] b, int off, int len) throws IOException;
+
+        abstract void finish();
+
+        @Override
+        public void run() {
+            try {
+                int n = 0;
+                while (n >= 0 && !cancelled) {
+                    Chunk chunk = obtain();
+                    if (chunk == null) {
+                        parked.set(true);
+                        // a buffer released before parking would not resume the member
+                        if (free.isEmpty() || !parked.compareAndSet(true, false)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    int length = 0;
+                    while (length < bufferSize && (n = inflate(chunk.bytes, HEADROOM + length,
+                            bufferSize - length)) >= 0) {
+                        length += n;
+                    }
+                    chunk.length = length;
+                    if (length > 0) {
+                        full.add(chunk);
+                    } else {
+                        free.add(chunk);
+                    }
+                }
+            } catch (IOException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                error = new IOException(e);
+            }
+            finish();
+            done = true;
+            full.add(END);
+        }
+
+        /**
+         * @return a free buffer, or null if all of the member's buffers are full
+         */
+        private Chunk obtain() {
+            Chunk chunk = free.poll();
+            if (chunk == null && allocated < BUFFERS_PER_MEMBER) {
+                allocated++;
+                chunk = spare.poll();
+                if (chunk == null) {
+                    chunk = new Chunk(bufferSize);
+                }
+                chunk.owner = this;
+            }
+            return chunk;
+        }
+
+        /**
+         * Submit the member again if it parked waiting for a buffer.
+         */
+        void resume() {
+            if (parked.compareAndSet(true, false)) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Stop inflating, handing back the buffers so that a parked inflater runs again to finish.
+         */
+        void cancel() {
+            cancelled = true;
+            Chunk chunk;
+            while ((chunk = full.poll()) != null) {
+                if (chunk != END) {
+                    free.offer(chunk);
+                }
+            }
+            resume();
+        }
+    }
+
+    /**
+     * A whole stream through {@link GZIPInputStream}, which reads its members one after the other.
+     */
+    private final class StreamMember extends Member {
+
+        private final InputStream compressed;
+        private GZIPInputStream in;
+
+        StreamMember(InputStream compressed) {
+            super(0);
+            this.compressed = compressed;
+        }
+
+        @Override
+        int inflate(byte[] b, int off, int len) throws IOException {
+            if (in == null) {
+                in = new GZIPInputStream(compressed, bufferSize);
+            }
+            return in.read(b, off, len);
+        }
+
+        @Override
+        void finish() {
+            // The stream is closed along with the source.
+        }
+    }
+
+    /**
+     * One member of a mapped file, its header and trailer are checked here.
+     */
+    private final class FileMember extends Member {
+
+        private final Inflater inflater = new Inflater(true);
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer in;
+
+        FileMember(long start) {
+            super(start);
+        }
+
+        @Override
+        int inflate(byte[] b, int off, int len) throws IOException {
+            if (in == null) {
+                in = file.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                in.position(header((int) start));
+                inflater.setInput(in);
+            }
+            try {
+                while (true) {
+                    int n = inflater.inflate(b, off, len);
+                    if (n > 0) {
+                        crc.update(b, off, n);
+                        return n;
+                    }
+                    if (inflater.finished()) {
+                        trailer();
+                        return -1;
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw new ZipException("Unexpected preset dictionary");
+                    }
+                    if (inflater.needsInput()) {
+                        throw new EOFException("Unexpected end of ZLIB input stream");
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new ZipException(e.getMessage());
+            }
+        }
+
+        /**
+         * @return the offset of the compressed data
+         */
+        private int header(int at) throws IOException {
+            int flags = file.get(at + 3) & 0xFF;
+            int i = at + 10;
+            if ((flags & FEXTRA) != 0) {
+                i = require(i, 2);
+                i += 2 + (file.get(i) & 0xFF | (file.get(i + 1) & 0xFF) << 8);
+            }
+            if ((flags & FNAME) != 0) {
+                i = skipZeroTerminated(i);
+            }
+            if ((flags & FCOMMENT) != 0) {
+                i = skipZeroTerminated(i);
+            }
+            if ((flags & FHCRC) != 0) {
+                i += 2;
+            }
+            return require(i, 0);
+        }
+
+        private int skipZeroTerminated(int i) throws IOException {
+            while (require(i, 1) >= 0 && file.get(i) != 0) {
+                i++;
+            }
+            return i + 1;
+        }
+
+        private int require(int i, int n) throws IOException {
+            if (i + n > file.limit()) {
+                throw new EOFException("Unexpected end of gzip header");
+            }
+            return i;
+        }
+
+        private void trailer() throws IOException {
+            int at = require(in.position(), 8);
+            if ((int) crc.getValue() != in.getInt(at)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+            if ((int) inflater.getBytesWritten() != in.getInt(at + 4)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+            end = at + 8;
+        }
+
+        @Override
+        void finish() {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.javachaos.jsonparser.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Utf8Source} that first builds a {@link StructuralIndex} over the whole input, then skips whitespace
+ * and finds the end of strings by jumping through the index instead of looking at every byte.
+ * Strings with escapes are still decoded by {@link Utf8Source}, which also handles anything the index does not
+ * cover, such as unterminated strings.
+ * <p>
+ * The input must be in memory as a whole, use a plain {@link MappedFileSource} for files larger than 2 GB.
+ */
+public class IndexedUtf8Source extends Utf8Source {
+
+    private final StructuralIndex index = new StructuralIndex();
+
+    /**
+     * Offset of the indexed input in the buffer.
+     */
+    private int origin;
+
+    public IndexedUtf8Source(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public IndexedUtf8Source(byte[] bytes, int offset, int length) {
+        this(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Read the remaining bytes of the buffer, its position and limit are left untouched.
+     */
+    public IndexedUtf8Source(ByteBuffer buffer) {
+        super(buffer);
+        reindex(buffer);
+    }
+
+    @Override
+    public void reset(ByteBuffer buffer) {
+        super.reset(buffer);
+        reindex(buffer);
+    }
+
+    private void reindex(ByteBuffer buffer) {
+        origin = buffer.position();
+        index.build(buffer);
+    }
+
+    /**
+     * @return the index of the current input
+     */
+    public StructuralIndex index() {
+        return index;
+    }
+
+    @Override
+    public int skipWhitespace() {
+        if (pos >= limit || !isWhitespace(buffer.get(pos))) {
+            return 0;
+        }
+        int next = index.nextStructural(pos - origin);
+        int to = next < 0 ? limit : next + origin;
+        int lines = index.newlines(pos - origin, to - origin);
+        pos = to;
+        return lines;
+    }
+
+    @Override
+    public String readString(boolean decode) {
+        int close = closingQuote();
+        if (close < 0 || index.hasBackslash(pos - origin, close - origin)) {
+            return super.readString(decode);
+        }
+        String s = decode(pos, close - pos);
+        pos = close + 1;
+        return s;
+    }
+
+    @Override
+    public void skipString() {
+        int close = closingQuote();
+        if (close < 0 || index.hasBackslash(pos - origin, close - origin)) {
+            super.skipString();
+        } else {
+            pos = close + 1;
+        }
+    }
+
+    /**
+     * @return the position of the quote closing the string that starts at pos, or -1 if it is not known
+     */
+    private int closingQuote() {
+        int next = index.nextStructural(pos - origin);
+        if (next < 0) {
+            return -1;
+        }
+        next += origin;
+        return buffer.get(next) == '"' ? next : -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+}
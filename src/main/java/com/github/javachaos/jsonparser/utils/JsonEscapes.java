@@ -0,0 +1,127 @@
+package com.github.javachaos.jsonparser.utils;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+import java.util.Arrays;
+
+/**
+ * Escape sequence handling shared by the {@link JsonSource} implementations.
+ */
+public final class JsonEscapes {
+
+    private static final int[] SIMPLE = new int[128];
+    private static final int[] HEX = new int[128];
+
+    static {
+        Arrays.fill(SIMPLE, -1);
+        Arrays.fill(HEX, -1);
+        SIMPLE['"'] = '"';
+        SIMPLE['\\'] = '\\';
+        SIMPLE['/'] = '/';
+        SIMPLE['b'] = '\b';
+        SIMPLE['f'] = '\f';
+        SIMPLE['n'] = '\n';
+        SIMPLE['r'] = '\r';
+        SIMPLE['t'] = '\t';
+        for (int i = 0; i < 10; i++) {
+            HEX['0' + i] = i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX['a' + i] = 10 + i;
+            HEX['A' + i] = 10 + i;
+        }
+    }
+
+    private JsonEscapes() {
+    }
+
+    /**
+     * @return the value of a hex digit, or -1 if c is not one
+     */
+    public static int hex(int c) {
+        return c >= 0 && c < 128 ? HEX[c] : -1;
+    }
+
+    /**
+     * @return true if c may follow a backslash on its own, that is every escape but a unicode escape
+     */
+    public static boolean isSimple(int c) {
+        return c >= 0 && c < 128 && SIMPLE[c] >= 0;
+    }
+
+    /**
+     * Read the escape sequence following a backslash from the source and append it to str.
+     *
+     * @param source the source, positioned just after the backslash
+     * @param str    where the escape goes
+     * @param decode true to append the character the escape stands for, false to append it as written
+     */
+    public static void appendEscape(JsonSource source, StringBuilder str, boolean decode) {
+        if (decode) {
+            str.append(readEscape(source));
+            return;
+        }
+        int c = source.read();
+        if (c == 'u') {
+            str.append('\\').append('u');
+            for (int i = 0; i < 4; i++) {
+                int h = source.read();
+                if (hex(h) < 0) {
+                    throw new JsonParseException("Unexpected value: " + (char) h);
+                }
+                str.append((char) h);
+            }
+            return;
+        }
+        if (c < 0 || c >= 128 || SIMPLE[c] < 0) {
+            throw new JsonParseException(c == JsonSource.EOF ? "Unterminated string." : "Unexpected value: " + (char) c);
+        }
+        str.append('\\').append((char) c);
+    }
+
+    /**
+     * Read the escape sequence following a backslash from the source.
+     *
+     * @param source the source, positioned just after the backslash
+     * @return the character the escape stands for
+     */
+    public static char readEscape(JsonSource source) {
+        int c = source.read();
+        if (c == 'u') {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                int h = source.read();
+                int digit = hex(h);
+                if (digit < 0) {
+                    throw new JsonParseException("Unexpected value: " + (char) h);
+                }
+                value = value << 4 | digit;
+            }
+            return (char) value;
+        }
+        int unescaped = c >= 0 && c < 128 ? SIMPLE[c] : -1;
+        if (unescaped < 0) {
+            throw new JsonParseException(c == JsonSource.EOF ? "Unterminated string." : "Unexpected value: " + (char) c);
+        }
+        return (char) unescaped;
+    }
+
+    /**
+     * Validate and consume the escape sequence following a backslash.
+     *
+     * @param source the source, positioned just after the backslash
+     */
+    public static void skipEscape(JsonSource source) {
+        int c = source.read();
+        if (c == 'u') {
+            for (int i = 0; i < 4; i++) {
+                int h = source.read();
+                if (hex(h) < 0) {
+                    throw new JsonParseException("Unexpected value: " + (char) h);
+                }
+            }
+        } else if (c < 0 || c >= 128 || SIMPLE[c] < 0) {
+            throw new JsonParseException(c == JsonSource.EOF ? "Unterminated string." : "Unexpected value: " + (char) c);
+        }
+    }
+}
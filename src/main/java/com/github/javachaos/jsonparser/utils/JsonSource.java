@@ -0,0 +1,118 @@
+package com.github.javachaos.jsonparser.utils;
+
+/**
+ * A source of json text for the tokenizer.
+ * Structural characters are all ASCII, so the tokenizer only ever compares code units against ASCII values;
+ * implementations may hand out UTF-16 chars or raw UTF-8 bytes. String values are the only place where the
+ * encoding matters, they are read as a whole through {@link #readString(boolean)} or a chunk at a time through
+ * {@link #readStringChunk(char[], int, int)}.
+ */
+public interface JsonSource extends AutoCloseable {
+
+    int EOF = -1;
+
+    /**
+     * Consume the next code unit.
+     *
+     * @return the next code unit or {@link #EOF} at the end of the input
+     */
+    int read();
+
+    /**
+     * @return the next code unit without consuming it, or {@link #EOF} at the end of the input
+     */
+    int peekChar();
+
+    /**
+     * Look ahead without consuming anything.
+     *
+     * @param offset how far to look ahead, 0 is the next code unit
+     * @return the code unit at offset, or {@link #EOF} if the input ends before it
+     */
+    int peekChar(int offset);
+
+    /**
+     * Consume up to n code units.
+     *
+     * @return the number of code units skipped
+     */
+    int skip(int n);
+
+    /**
+     * @return the number of code units consumed so far
+     */
+    long position();
+
+    /**
+     * Consume whitespace up to the next significant code unit, the position must not be inside a string.
+     *
+     * @return the number of newlines skipped
+     */
+    default int skipWhitespace() {
+        int lines = 0;
+        int c;
+        while ((c = peekChar()) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            if (read() == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Consume the rest of a string value up to and including its closing quote, the opening quote has
+     * already been consumed. Escape sequences are validated.
+     *
+     * @param decode true to resolve escape sequences, false to keep them as written
+     * @return the content of the string
+     */
+    String readString(boolean decode);
+
+    /**
+     * Consume the rest of a field name like {@link #readString(boolean)}, resolving it through a cache.
+     * Implementations look names without escapes up by their raw code units, so repeated names are neither
+     * decoded nor allocated again; the default just reads the string.
+     *
+     * @param keys   the cache to look the name up in
+     * @param decode true to resolve escape sequences, false to keep them as written
+     * @return the name
+     */
+    default String readName(KeyCache keys, boolean decode) {
+        return readString(decode);
+    }
+
+    /**
+     * Consume the rest of a string value like {@link #readString(boolean)} with escapes resolved, but leave
+     * the characters where they are if the source allows it. Implementations over stable input return a view
+     * that copies nothing until it is read; the default reads a String.
+     *
+     * @return the content of the string, valid for as long as the input does not change
+     */
+    default CharSequence readChars() {
+        return readString(true);
+    }
+
+    /**
+     * Consume up to len characters of a string value with escapes resolved, for values too large to read at once.
+     * The opening quote has already been consumed, as have the characters returned by earlier calls; the
+     * closing quote is only consumed by a call that returns -1.
+     *
+     * @param dst where the characters go
+     * @param off the index in dst of the first character
+     * @param len the most characters to read
+     * @return the number of characters read, or -1 once the closing quote has been consumed
+     */
+    int readStringChunk(char[] dst, int off, int len);
+
+    /**
+     * Consume the rest of a string value up to and including its closing quote without decoding it.
+     * Escape sequences are validated.
+     */
+    void skipString();
+
+    /**
+     * Release the underlying input.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,155 @@
+package com.github.javachaos.jsonparser.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A bounded symbol table for field names, in the spirit of Jackson's canonicalizing symbol tables.
+ * Names are looked up by their raw bytes or chars straight from the input buffer, a name that has been seen
+ * before resolves to the same {@link String} instance without decoding or allocating anything.
+ * <p>
+ * The table is direct mapped: every name has one slot, and a new name replaces whatever held its slot before,
+ * so the cache never grows past its capacity however many distinct names go through it. Long names are not
+ * cached at all.
+ * <p>
+ * A cache is thread safe. Entries are immutable and only ever replaced as a whole, a racing lookup either sees
+ * a complete entry or misses and decodes the name itself.
+ */
+public final class KeyCache {
+
+    public static final int DEFAULT_CAPACITY = 2048;
+
+    /**
+     * Names longer than this, in code units, are decoded every time.
+     */
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private static final KeyCache SHARED = new KeyCache(DEFAULT_CAPACITY);
+
+    private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * @param capacity the number of names kept, rounded up to a power of two
+     */
+    public KeyCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        size = size < capacity ? size << 1 : size;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the cache used by the parsers unless they are given another one
+     */
+    public static KeyCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the number of slots
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Step the hash of a name over its next code unit, the same for bytes and chars so that ASCII names hash
+     * alike from both kinds of input.
+     */
+    public static int hash(int hash, int unit) {
+        return hash * 31 + unit;
+    }
+
+    /**
+     * Look up length UTF-8 bytes of a buffer starting at offset, the buffer's position is not used.
+     *
+     * @param hash the hash of the bytes, see {@link #hash(int, int)}
+     * @return the name, decoded and cached if it was not known
+     */
+    public String get(ByteBuffer buffer, int offset, int length, int hash) {
+        int slot = slot(hash);
+        Entry e = entries[slot];
+        if (e != null && e.hash == hash && e.matches(buffer, offset, length)) {
+            return e.name;
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(offset, utf8);
+        String name = new String(utf8, StandardCharsets.UTF_8);
+        if (length <= MAX_KEY_LENGTH) {
+            entries[slot] = new Entry(hash, name, utf8);
+        }
+        return name;
+    }
+
+    /**
+     * Look up length chars starting at offset.
+     *
+     * @param hash the hash of the chars, see {@link #hash(int, int)}
+     * @return the name, copied and cached if it was not known
+     */
+    public String get(char[] chars, int offset, int length, int hash) {
+        int slot = slot(hash);
+        Entry e = entries[slot];
+        if (e != null && e.hash == hash && e.matches(chars, offset, length)) {
+            return e.name;
+        }
+        String name = new String(chars, offset, length);
+        if (length <= MAX_KEY_LENGTH) {
+            entries[slot] = new Entry(hash, name, name.getBytes(StandardCharsets.UTF_8));
+        }
+        return name;
+    }
+
+    /**
+     * Forget every name.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+    }
+
+    private int slot(int hash) {
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final String name;
+        private final byte[] utf8;
+
+        private Entry(int hash, String name, byte[] utf8) {
+            this.hash = hash;
+            this.name = name;
+            this.utf8 = utf8;
+        }
+
+        private boolean matches(ByteBuffer buffer, int offset, int length) {
+            if (utf8.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(offset + i) != utf8[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(char[] chars, int offset, int length) {
+            if (name.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (chars[offset + i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
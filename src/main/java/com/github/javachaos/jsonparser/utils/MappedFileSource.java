@@ -0,0 +1,110 @@
+package com.github.javachaos.jsonparser.utils;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link Utf8Source} over a memory mapped file.
+ * The file is mapped a window at a time, so files larger than the 2 GB a single mapping can hold are read by
+ * sliding the window forward. Bytes are read straight from the mapping, nothing is copied onto the heap apart
+ * from decoded string values.
+ */
+public class MappedFileSource extends Utf8Source {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    /**
+     * Smallest window that still holds the longest lookahead and any UTF-8 sequence.
+     */
+    private static final int MIN_WINDOW_SIZE = 16;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long size;
+    private final int windowSize;
+
+    /**
+     * Read from the channel's current position to its end. The channel is not closed by {@link #close()}.
+     */
+    public MappedFileSource(FileChannel channel) throws IOException {
+        this(channel, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedFileSource(FileChannel channel, int windowSize) throws IOException {
+        this(channel, windowSize, false);
+    }
+
+    private MappedFileSource(FileChannel channel, int windowSize, boolean ownsChannel) throws IOException {
+        if (windowSize < MIN_WINDOW_SIZE) {
+            throw new IllegalArgumentException("Window size must be at least " + MIN_WINDOW_SIZE + ": " + windowSize);
+        }
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.windowSize = windowSize;
+        this.size = channel.size();
+        long start = channel.position();
+        if (!map(start)) {
+            base = start;
+        }
+    }
+
+    /**
+     * Map a whole file, the file is closed along with the source.
+     */
+    public static MappedFileSource open(Path file) throws IOException {
+        return open(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    public static MappedFileSource open(Path file, int windowSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedFileSource(channel, windowSize, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    protected boolean nextWindow(long from) {
+        try {
+            return map(from);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /**
+     * @return false if from is past the end of the file, or the current window already reaches it
+     */
+    private boolean map(long from) throws IOException {
+        if (from >= size || from >= base && base + limit >= size) {
+            return false;
+        }
+        long length = Math.min(windowSize, size - from);
+        setWindow(channel.map(FileChannel.MapMode.READ_ONLY, from, length), from);
+        return true;
+    }
+
+    /**
+     * @return the size of the file in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (ownsChannel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new JsonParseException(e);
+            }
+        }
+    }
+}
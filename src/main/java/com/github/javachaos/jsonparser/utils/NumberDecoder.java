@@ -0,0 +1,148 @@
+package com.github.javachaos.jsonparser.utils;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal mantissa and exponent to the nearest double without going through a String.
+ * Small values take Clinger's exact fast path, everything else uses the Eisel-Lemire algorithm
+ * (see "Number Parsing at a Gigabyte per Second", Lemire 2021) over a table of 128 bit powers of five.
+ * Neither path allocates.
+ */
+public final class NumberDecoder {
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+    private static final int MANTISSA_BITS = 52;
+    private static final int MINIMUM_EXPONENT = -1023;
+    private static final int INFINITE_POWER = 0x7FF;
+    private static final int MIN_EXPONENT_ROUND_TO_EVEN = -4;
+    private static final int MAX_EXPONENT_ROUND_TO_EVEN = 23;
+
+    private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * 5^q for q in [-342, 308], as the high and low halves of a 128 bit number with its top bit set.
+     * Positive powers are truncated, negative powers rounded up, as in the reference implementation.
+     */
+    private static final long[] POWERS_OF_FIVE = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+
+    static {
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger c;
+            if (q < 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+            } else {
+                c = BigInteger.valueOf(5).pow(q);
+            }
+            if (c.bitLength() < 128) {
+                c = c.shiftLeft(128 - c.bitLength());
+            } else if (c.compareTo(two128) >= 0) {
+                c = c.shiftRight(c.bitLength() - 128);
+            }
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            POWERS_OF_FIVE[index] = c.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = c.and(mask64).longValue();
+        }
+    }
+
+    private NumberDecoder() {
+    }
+
+    /**
+     * Compute the double nearest to (-1)^negative * mantissa * 10^exponent.
+     *
+     * @param negative  the sign
+     * @param mantissa  the decimal significand, read as an unsigned 64 bit number
+     * @param exponent  the decimal exponent
+     * @param truncated true if non zero digits were dropped after the mantissa, which then is a lower bound
+     * @return the nearest double, or NaN if the digits that were dropped leave the result undecided
+     */
+    public static double toDouble(boolean negative, long mantissa, int exponent, boolean truncated) {
+        if (!truncated && exponent >= -22 && exponent <= 22 && Long.compareUnsigned(mantissa, 1L << 53) <= 0) {
+            double d = mantissa;
+            d = exponent < 0 ? d / EXACT_POWERS_OF_TEN[-exponent] : d * EXACT_POWERS_OF_TEN[exponent];
+            return negative ? -d : d;
+        }
+        long bits = eiselLemire(mantissa, exponent);
+        if (truncated && bits != eiselLemire(mantissa + 1, exponent)) {
+            return Double.NaN;
+        }
+        if (negative) {
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * @return the bits of the positive double nearest to w * 10^q
+     */
+    private static long eiselLemire(long w, int q) {
+        if (w == 0 || q < SMALLEST_POWER_OF_TEN) {
+            return 0;
+        }
+        if (q > LARGEST_POWER_OF_TEN) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+        int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        long precisionMask = -1L >>> (MANTISSA_BITS + 3);
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = power(q) + upperBit - lz - MINIMUM_EXPONENT;
+        if (power2 <= 0) {
+            // Subnormal
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < 1L << MANTISSA_BITS ? 0 : 1;
+            return (long) power2 << MANTISSA_BITS | mantissa & (1L << MANTISSA_BITS) - 1;
+        }
+        // Round half to even when we are exactly between two doubles.
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= MIN_EXPONENT_ROUND_TO_EVEN && q <= MAX_EXPONENT_ROUND_TO_EVEN
+                && (mantissa & 3) == 1 && mantissa << shift == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << MANTISSA_BITS) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= INFINITE_POWER) {
+            return (long) INFINITE_POWER << MANTISSA_BITS;
+        }
+        return (long) power2 << MANTISSA_BITS | mantissa;
+    }
+
+    /**
+     * floor(log2(10^q)) + 63, valid for q in [-342, 308].
+     */
+    private static int power(int q) {
+        return ((152170 + 65536) * q >> 16) + 63;
+    }
+
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + (a >> 63 & b) + (b >> 63 & a);
+    }
+}
@@ -0,0 +1,288 @@
+package com.github.javachaos.jsonparser.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Stage one of two stage parsing, as in simdjson ("Parsing Gigabytes of JSON per Second", Langdale and Lemire).
+ * UTF-8 input is classified 64 bytes at a time into bitmaps, one bit per byte:
+ * <ul>
+ *     <li>structurals: braces, brackets, colons and commas outside of strings, every unescaped quote, and the
+ *     first byte of every number or literal,</li>
+ *     <li>backslashes, so strings without escapes can be decoded in one go,</li>
+ *     <li>newlines, so skipped whitespace can still be counted in lines.</li>
+ * </ul>
+ * Bytes are compared a vector at a time with the Vector API when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, see {@link #vectorized()}, and eight at a time with SWAR arithmetic
+ * on longs otherwise. Escapes and string regions are resolved with carry-free bit tricks, there are no branches
+ * per byte.
+ * <p>
+ * Outside of a string the next structural bit is the next byte that is not whitespace; after an opening quote
+ * it is the closing quote. An index can be rebuilt for new input, reusing its bitmaps.
+ */
+public final class StructuralIndex {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ODD_BITS = 0xAAAAAAAAAAAAAAAAL;
+
+    /*
+     * Slots of the character class masks of a block.
+     */
+    static final int QUOTE = 0;
+    static final int BACKSLASH = 1;
+    static final int OP = 2;
+    static final int SPACE = 3;
+    static final int NEWLINE = 4;
+
+    private static final boolean VECTOR = vectorAvailable();
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private long[] structurals = new long[0];
+    private long[] backslashes = new long[0];
+    private long[] newlines = new long[0];
+    private byte[] copy = new byte[0];
+    private final long[] masks = new long[5];
+    private int length;
+    private boolean unclosedString;
+
+    /*
+     * State carried from one 64 byte block to the next.
+     */
+    private long prevEscaped;
+    private long prevInString;
+    private long prevScalar;
+
+    /**
+     * Index the remaining bytes of a buffer, bit i stands for the byte at the buffer's position + i.
+     *
+     * @return this
+     */
+    public StructuralIndex build(ByteBuffer input) {
+        length = input.remaining();
+        byte[] bytes;
+        int start;
+        if (input.hasArray()) {
+            bytes = input.array();
+            start = input.arrayOffset() + input.position();
+        } else {
+            if (copy.length < length) {
+                copy = new byte[length];
+            }
+            input.get(input.position(), copy, 0, length);
+            bytes = copy;
+            start = 0;
+        }
+        int words = (length + 63) >>> 6;
+        if (structurals.length < words) {
+            structurals = new long[words];
+            backslashes = new long[words];
+            newlines = new long[words];
+        }
+        prevEscaped = 0;
+        prevInString = 0;
+        prevScalar = 0;
+        int full = length >>> 6;
+        for (int w = 0; w < full; w++) {
+            classify(bytes, start + (w << 6), w);
+        }
+        if (full < words) {
+            byte[] tail = new byte[64];
+            Arrays.fill(tail, (byte) ' ');
+            System.arraycopy(bytes, start + (full << 6), tail, 0, length - (full << 6));
+            classify(tail, 0, full);
+        }
+        unclosedString = prevInString != 0;
+        return this;
+    }
+
+    private static boolean vectorAvailable() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            VectorClassifier.classify(new byte[64], 0, new long[5]);
+            return true;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return true if blocks are classified with the Vector API, false if with SWAR arithmetic
+     */
+    public static boolean vectorized() {
+        return VECTOR;
+    }
+
+    /**
+     * Fill in word w of the bitmaps from the 64 bytes of block starting at offset.
+     */
+    private void classify(byte[] block, int offset, int w) {
+        if (VECTOR) {
+            VectorClassifier.classify(block, offset, masks);
+        } else {
+            swar(block, offset, masks);
+        }
+        long quote = masks[QUOTE];
+        long backslash = masks[BACKSLASH];
+        long op = masks[OP];
+        long space = masks[SPACE];
+        long newline = masks[NEWLINE];
+
+        // Escaped characters, a backslash escapes the next byte unless it is escaped itself.
+        long escaped;
+        if (backslash == 0) {
+            escaped = prevEscaped;
+            prevEscaped = 0;
+        } else {
+            long potential = backslash & ~prevEscaped;
+            long code = ((potential << 1 | ODD_BITS) - potential) ^ ODD_BITS;
+            escaped = code ^ (backslash | prevEscaped);
+            prevEscaped = (code & backslash) >>> 63;
+        }
+        quote &= ~escaped;
+
+        // Bits from each opening quote up to, not including, its closing quote.
+        long inString = prefixXor(quote) ^ prevInString;
+        prevInString = inString >> 63;
+
+        long scalar = ~(op | space | quote);
+        long scalarStart = scalar & ~(scalar << 1 | prevScalar);
+        prevScalar = scalar >>> 63;
+
+        structurals[w] = (op | scalarStart) & ~inString | quote;
+        backslashes[w] = backslash;
+        newlines[w] = newline;
+    }
+
+    /**
+     * Classify the 64 bytes of block starting at offset into the character class masks, one bit per byte.
+     */
+    private static void swar(byte[] block, int offset, long[] masks) {
+        long quote = 0;
+        long backslash = 0;
+        long op = 0;
+        long space = 0;
+        long newline = 0;
+        for (int i = 0; i < 8; i++) {
+            long v = (long) LONGS.get(block, offset + (i << 3));
+            int shift = 7 - i;
+            long folded = v | 0x2020202020202020L;
+            long nl = eq(v, '\n');
+            quote |= eq(v, '"') >>> shift;
+            backslash |= eq(v, '\\') >>> shift;
+            op |= (eq(folded, '{') | eq(folded, '}') | eq(v, ':') | eq(v, ',')) >>> shift;
+            newline |= nl >>> shift;
+            space |= (nl | eq(v, ' ') | eq(v, '\t') | eq(v, '\r')) >>> shift;
+        }
+        masks[QUOTE] = transpose(quote);
+        masks[BACKSLASH] = transpose(backslash);
+        masks[OP] = transpose(op);
+        masks[SPACE] = transpose(space);
+        masks[NEWLINE] = transpose(newline);
+    }
+
+    /**
+     * @return 0x80 in every byte of v equal to c, 0 in the others
+     */
+    private static long eq(long v, char c) {
+        long x = v ^ ONES * c;
+        return ~((x & LOW7) + LOW7 | x | LOW7);
+    }
+
+    /**
+     * Transpose the 8x8 bit matrix held in x, bytes are rows (Hacker's Delight 7-3).
+     * The classification loop leaves the flag of byte 8i + k at bit 8k + i, this moves it to bit 8i + k.
+     */
+    private static long transpose(long x) {
+        long t = (x ^ x >>> 7) & 0x00AA00AA00AA00AAL;
+        x ^= t ^ t << 7;
+        t = (x ^ x >>> 14) & 0x0000CCCC0000CCCCL;
+        x ^= t ^ t << 14;
+        t = (x ^ x >>> 28) & 0x00000000F0F0F0F0L;
+        return x ^ t ^ t << 28;
+    }
+
+    private static long prefixXor(long x) {
+        x ^= x << 1;
+        x ^= x << 2;
+        x ^= x << 4;
+        x ^= x << 8;
+        x ^= x << 16;
+        x ^= x << 32;
+        return x;
+    }
+
+    /**
+     * @return the number of bytes indexed
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return true if the input ends inside a string
+     */
+    public boolean unclosedString() {
+        return unclosedString;
+    }
+
+    /**
+     * @return the first structural at or after from, or -1 if there is none
+     */
+    public int nextStructural(int from) {
+        return next(structurals, from);
+    }
+
+    /**
+     * @return true if there is a backslash in [from, to)
+     */
+    public boolean hasBackslash(int from, int to) {
+        int next = next(backslashes, from);
+        return next >= 0 && next < to;
+    }
+
+    /**
+     * @return the number of newlines in [from, to)
+     */
+    public int newlines(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long startMask = -1L << from;
+        long endMask = -1L >>> -to;
+        if (first == last) {
+            return Long.bitCount(newlines[first] & startMask & endMask);
+        }
+        int count = Long.bitCount(newlines[first] & startMask);
+        for (int w = first + 1; w < last; w++) {
+            count += Long.bitCount(newlines[w]);
+        }
+        return count + Long.bitCount(newlines[last] & endMask);
+    }
+
+    private int next(long[] bits, int from) {
+        if (from >= length) {
+            return -1;
+        }
+        int w = from >>> 6;
+        int words = (length + 63) >>> 6;
+        long word = bits[w] & -1L << from;
+        while (word == 0) {
+            if (++w == words) {
+                return -1;
+            }
+            word = bits[w];
+        }
+        int i = (w << 6) + Long.numberOfTrailingZeros(word);
+        return i < length ? i : -1;
+    }
+}
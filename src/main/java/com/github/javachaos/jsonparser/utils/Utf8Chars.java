@@ -0,0 +1,159 @@
+package com.github.javachaos.jsonparser.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A string value as a {@link CharSequence} view over the UTF-8 bytes it was read from, nothing is copied until
+ * the characters are actually needed.
+ * ASCII values without escapes are served straight from the bytes; anything else is decoded on first use and
+ * the decoded {@link String} is kept. The bytes must not change while the view is in use.
+ * <p>
+ * Views compare equal to each other by content, like Strings. A view is not thread safe until it has been
+ * decoded.
+ */
+public final class Utf8Chars implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+    private final boolean escaped;
+    private final boolean plain;
+    private String decoded;
+
+    /**
+     * @param buffer  the bytes, positions are absolute
+     * @param offset  the first byte after the opening quote
+     * @param length  the number of bytes up to the closing quote
+     * @param ascii   true if all bytes are ASCII
+     * @param escaped true if there are escape sequences, they are resolved when the view is decoded and the
+     *                closing quote must then follow the value in the buffer
+     */
+    public Utf8Chars(ByteBuffer buffer, int offset, int length, boolean ascii, boolean escaped) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.escaped = escaped;
+        this.plain = ascii && !escaped;
+    }
+
+    @Override
+    public int length() {
+        return plain ? length : toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (plain) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char) buffer.get(offset + index);
+        }
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (plain) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("[" + start + ", " + end + ") of " + length);
+            }
+            return new Utf8Chars(buffer, offset + start, end - start, true, false);
+        }
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * @return true if the characters are served from the bytes without decoding
+     */
+    public boolean isPlain() {
+        return plain;
+    }
+
+    /**
+     * @return true if the value has escape sequences, its bytes are then not its UTF-8 encoding
+     */
+    public boolean isEscaped() {
+        return escaped;
+    }
+
+    /**
+     * @return the number of bytes the value spans in the input
+     */
+    public int byteLength() {
+        return length;
+    }
+
+    /**
+     * Copy the bytes of the value as written in the input.
+     */
+    public void getBytes(byte[] dst, int dstOffset) {
+        buffer.get(offset, dst, dstOffset, length);
+    }
+
+    /**
+     * @return the decoded value, built on the first call
+     */
+    @Override
+    public String toString() {
+        String s = decoded;
+        if (s == null) {
+            decoded = s = decode();
+        }
+        return s;
+    }
+
+    private String decode() {
+        if (!escaped) {
+            return bytes();
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(offset + length + 1).position(offset);
+        return new Utf8Source(slice).readString(true);
+    }
+
+    private String bytes() {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] b = new byte[length];
+        buffer.get(offset, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Utf8Chars)) {
+            return false;
+        }
+        Utf8Chars that = (Utf8Chars) o;
+        if (plain && that.plain) {
+            if (length != that.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(offset + i) != that.buffer.get(that.offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return toString().equals(that.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        if (plain && decoded == null) {
+            int h = 0;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + buffer.get(offset + i);
+            }
+            return h;
+        }
+        return toString().hashCode();
+    }
+}
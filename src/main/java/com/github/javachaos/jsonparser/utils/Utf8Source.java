@@ -0,0 +1,427 @@
+package com.github.javachaos.jsonparser.utils;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link JsonSource} over UTF-8 encoded bytes.
+ * The tokenizer sees raw bytes, which is enough since everything outside of string values is ASCII.
+ * Bytes are only decoded by {@link #readString(boolean)}, one string value at a time.
+ * <p>
+ * The input is a window of a {@link ByteBuffer}, subclasses can slide the window forward
+ * over larger inputs by overriding {@link #nextWindow(long)}.
+ */
+public class Utf8Source implements JsonSource {
+
+    protected ByteBuffer buffer;
+    protected int pos;
+    protected int limit;
+
+    /**
+     * Offset of the start of the current window in the whole input.
+     */
+    protected long base;
+
+    private byte[] scratch = new byte[64];
+    private final StringBuilder chars = new StringBuilder();
+
+    /**
+     * The second half of a surrogate pair that did not fit in the last chunk, 0 if there is none.
+     */
+    private char low;
+
+    /**
+     * Start with an empty window, for subclasses that supply their windows through {@link #nextWindow(long)}.
+     */
+    protected Utf8Source() {
+        this(ByteBuffer.allocate(0));
+    }
+
+    public Utf8Source(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public Utf8Source(byte[] bytes, int offset, int length) {
+        this(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Read the remaining bytes of the buffer, its position and limit are left untouched.
+     */
+    public Utf8Source(ByteBuffer buffer) {
+        setWindow(buffer, 0);
+    }
+
+    /**
+     * Start over on new input, keeping the scratch buffers already allocated.
+     * Subclasses reading windows of a larger input should not be reset.
+     */
+    public void reset(byte[] bytes, int offset, int length) {
+        reset(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Start over on the remaining bytes of a buffer, its position and limit are left untouched.
+     */
+    public void reset(ByteBuffer buffer) {
+        setWindow(buffer, 0);
+        low = 0;
+    }
+
+    /**
+     * Start reading from a new window.
+     *
+     * @param window the bytes, read from position to limit
+     * @param start  the offset of the window's first byte in the whole input
+     */
+    protected final void setWindow(ByteBuffer window, long start) {
+        this.buffer = window;
+        this.pos = window.position();
+        this.limit = window.limit();
+        this.base = start - pos;
+    }
+
+    /**
+     * Called when more bytes are needed than the current window holds.
+     * Implementations call {@link #setWindow(ByteBuffer, long)} with a window starting at from.
+     *
+     * @param from offset in the whole input of the first byte that has not been consumed yet
+     * @return false if there is no more input
+     */
+    protected boolean nextWindow(long from) {
+        return false;
+    }
+
+    private boolean ensure(int n) {
+        return limit - pos >= n || advance(base + pos) && limit - pos >= n;
+    }
+
+    /**
+     * Slide the window to from, a window that ends no further into the input than the current one counts as the
+     * end of the input so that callers waiting for more bytes do not loop.
+     */
+    private boolean advance(long from) {
+        long end = base + limit;
+        return nextWindow(from) && base + limit > end;
+    }
+
+    @Override
+    public int read() {
+        if (pos >= limit && !ensure(1)) {
+            return EOF;
+        }
+        return buffer.get(pos++) & 0xFF;
+    }
+
+    @Override
+    public int peekChar() {
+        if (pos >= limit && !ensure(1)) {
+            return EOF;
+        }
+        return buffer.get(pos) & 0xFF;
+    }
+
+    @Override
+    public int peekChar(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Lookahead out of range: " + offset);
+        }
+        if (pos + offset >= limit && !ensure(offset + 1)) {
+            return EOF;
+        }
+        return buffer.get(pos + offset) & 0xFF;
+    }
+
+    @Override
+    public int skip(int n) {
+        int skipped = 0;
+        while (skipped < n && (pos < limit || ensure(1))) {
+            int step = Math.min(n - skipped, limit - pos);
+            pos += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public long position() {
+        return base + pos;
+    }
+
+    /**
+     * Scans for the closing quote on the raw bytes and decodes the whole value with a single
+     * {@link String} construction. Values containing escapes are decoded a run of bytes at a time.
+     */
+    @Override
+    public String readString(boolean decode) {
+        StringBuilder str = null;
+        while (pos < limit || ensure(1)) {
+            int start = pos;
+            int end = limit;
+            int i = start;
+            while (i < end) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    pos = i + 1;
+                    if (str == null) {
+                        return decode(start, i - start);
+                    }
+                    return str.append(decode(start, i - start)).toString();
+                }
+                if (b == '\\') {
+                    break;
+                }
+                i++;
+            }
+            boolean escape = i < end;
+            if (!escape) {
+                i = completeSequences(start, end);
+                if (i == start) {
+                    if (!advance(base + start)) {
+                        break;
+                    }
+                    continue;
+                }
+            }
+            if (str == null) {
+                str = chars;
+                str.setLength(0);
+            }
+            str.append(decode(start, i - start));
+            pos = i;
+            if (escape) {
+                pos++;
+                JsonEscapes.appendEscape(this, str, decode);
+            }
+        }
+        throw new JsonParseException("Unterminated string.");
+    }
+
+    /**
+     * Values that end in the current window come back as a {@link Utf8Chars} view over the window. Escape
+     * sequences are validated here and resolved when the view is decoded, anything else is read as a String.
+     */
+    @Override
+    public CharSequence readChars() {
+        int end = limit;
+        boolean ascii = true;
+        boolean escaped = false;
+        int i = pos;
+        while (i < end) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                Utf8Chars chars = new Utf8Chars(buffer, pos, i - pos, ascii, escaped);
+                pos = i + 1;
+                return chars;
+            }
+            if (b == '\\') {
+                int n = escapeLength(i + 1, end);
+                if (n < 0) {
+                    break;
+                }
+                escaped = true;
+                i += n + 1;
+            } else {
+                ascii &= b >= 0;
+                i++;
+            }
+        }
+        return readString(true);
+    }
+
+    /**
+     * @return the length of the escape sequence after a backslash, or -1 if it is invalid or not all in [from, end)
+     */
+    private int escapeLength(int from, int end) {
+        if (from >= end) {
+            return -1;
+        }
+        byte c = buffer.get(from);
+        if (c != 'u') {
+            return JsonEscapes.isSimple(c) ? 1 : -1;
+        }
+        if (from + 5 > end) {
+            return -1;
+        }
+        for (int i = from + 1; i < from + 5; i++) {
+            if (JsonEscapes.hex(buffer.get(i)) < 0) {
+                return -1;
+            }
+        }
+        return 5;
+    }
+
+    /**
+     * Names without escapes that end in the current window are hashed on the raw bytes and looked up in the
+     * cache, anything else goes through {@link #readString(boolean)}.
+     */
+    @Override
+    public String readName(KeyCache keys, boolean decode) {
+        int end = Math.min(limit, pos + KeyCache.MAX_KEY_LENGTH + 1);
+        int hash = 0;
+        for (int i = pos; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                String name = keys.get(buffer, pos, i - pos, hash);
+                pos = i + 1;
+                return name;
+            }
+            if (b == '\\') {
+                break;
+            }
+            hash = KeyCache.hash(hash, b & 0xFF);
+        }
+        return readString(decode);
+    }
+
+    @Override
+    public void skipString() {
+        while (pos < limit || ensure(1)) {
+            int end = limit;
+            int i = pos;
+            while (i < end) {
+                byte b = buffer.get(i++);
+                if (b == '"') {
+                    pos = i;
+                    return;
+                }
+                if (b == '\\') {
+                    pos = i;
+                    JsonEscapes.skipEscape(this);
+                    i = pos;
+                    end = limit;
+                }
+            }
+            pos = i;
+        }
+        throw new JsonParseException("Unterminated string.");
+    }
+
+    /**
+     * ASCII runs are copied straight into dst, multibyte sequences are decoded one at a time. Malformed sequences
+     * become U+FFFD as they do in {@link #readString(boolean)}.
+     */
+    @Override
+    public int readStringChunk(char[] dst, int off, int len) {
+        int o = off;
+        int stop = off + len;
+        if (low != 0 && o < stop) {
+            dst[o++] = low;
+            low = 0;
+        }
+        while (o < stop) {
+            if (pos >= limit && !ensure(1)) {
+                throw new JsonParseException("Unterminated string.");
+            }
+            int end = Math.min(limit, pos + stop - o);
+            int i = pos;
+            byte b = 0;
+            while (i < end && (b = buffer.get(i)) >= 0 && b != '"' && b != '\\') {
+                dst[o++] = (char) b;
+                i++;
+            }
+            pos = i;
+            if (i == end) {
+                continue;
+            }
+            if (b == '"') {
+                if (o == off) {
+                    pos++;
+                    return -1;
+                }
+                break;
+            }
+            if (b == '\\') {
+                pos++;
+                dst[o++] = JsonEscapes.readEscape(this);
+            } else {
+                o += sequence(dst, o, stop);
+            }
+        }
+        return o - off;
+    }
+
+    /**
+     * Decode the multibyte sequence at pos into dst. A malformed sequence becomes a single U+FFFD for its longest
+     * valid prefix, the same as {@link String} decoding does.
+     *
+     * @return the number of chars written, the low surrogate of a pair waits in {@link #low} if there is no room
+     */
+    private int sequence(char[] dst, int o, int stop) {
+        int lead = buffer.get(pos) & 0xFF;
+        int length = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : 2;
+        int valid = 0;
+        int cp = 0;
+        if (lead >= 0xC2 && lead <= 0xF4) {
+            ensure(length);
+            int min = lead == 0xE0 ? 0xA0 : lead == 0xF0 ? 0x90 : 0x80;
+            int max = lead == 0xF4 ? 0x8F : 0xBF;
+            cp = lead & (0x7F >> length);
+            valid = 1;
+            while (valid < length && pos + valid < limit) {
+                int b = buffer.get(pos + valid) & 0xFF;
+                if (b < min || b > max) {
+                    break;
+                }
+                cp = cp << 6 | b & 0x3F;
+                min = 0x80;
+                max = 0xBF;
+                valid++;
+            }
+        }
+        if (valid < length) {
+            pos += Math.max(valid, 1);
+            dst[o] = '\uFFFD';
+            return 1;
+        }
+        pos += length;
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            dst[o] = Character.isSurrogate((char) cp) ? '\uFFFD' : (char) cp;
+            return 1;
+        }
+        dst[o] = Character.highSurrogate(cp);
+        if (o + 1 < stop) {
+            dst[o + 1] = Character.lowSurrogate(cp);
+            return 2;
+        }
+        low = Character.lowSurrogate(cp);
+        return 1;
+    }
+
+    /**
+     * A multibyte sequence may straddle the end of the window, find where the last complete one ends.
+     */
+    private int completeSequences(int start, int end) {
+        int lead = end - 1;
+        while (lead > start && (buffer.get(lead) & 0xC0) == 0x80) {
+            lead--;
+        }
+        int b = buffer.get(lead) & 0xFF;
+        int length = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+        return lead + length <= end ? end : lead;
+    }
+
+    /**
+     * Decode length bytes of the current window starting at offset.
+     */
+    protected String decode(int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(offset, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release, the caller owns the buffer.
+    }
+}
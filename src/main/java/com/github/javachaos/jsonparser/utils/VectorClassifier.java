@@ -0,0 +1,51 @@
+package com.github.javachaos.jsonparser.utils;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The character classes of {@link StructuralIndex} computed with the incubating Vector API.
+ * Each comparison covers a whole vector of bytes and its mask already has one bit per byte in input order, so
+ * unlike the SWAR code no transpose is needed.
+ * <p>
+ * Only loaded when jdk.incubator.vector is in the boot layer, that is when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}. The API is still incubating and its speed depends on the runtime;
+ * on JDK 17 with 512 bit vectors it was slower than the SWAR code, so the module is never added on its own.
+ */
+final class VectorClassifier {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() > 64
+            ? ByteVector.SPECIES_512 : ByteVector.SPECIES_PREFERRED;
+
+    private VectorClassifier() {
+    }
+
+    /**
+     * Classify the 64 bytes of block starting at offset into the character class masks of
+     * {@link StructuralIndex}, one bit per byte.
+     */
+    static void classify(byte[] block, int offset, long[] masks) {
+        long quote = 0;
+        long backslash = 0;
+        long op = 0;
+        long space = 0;
+        long newline = 0;
+        for (int i = 0; i < 64; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, block, offset + i);
+            ByteVector folded = v.or((byte) 0x20);
+            VectorMask<Byte> nl = v.eq((byte) '\n');
+            quote |= v.eq((byte) '"').toLong() << i;
+            backslash |= v.eq((byte) '\\').toLong() << i;
+            op |= folded.eq((byte) '{').or(folded.eq((byte) '}')).or(v.eq((byte) ':')).or(v.eq((byte) ','))
+                    .toLong() << i;
+            newline |= nl.toLong() << i;
+            space |= nl.or(v.eq((byte) ' ')).or(v.eq((byte) '\t')).or(v.eq((byte) '\r')).toLong() << i;
+        }
+        masks[StructuralIndex.QUOTE] = quote;
+        masks[StructuralIndex.BACKSLASH] = backslash;
+        masks[StructuralIndex.OP] = op;
+        masks[StructuralIndex.SPACE] = space;
+        masks[StructuralIndex.NEWLINE] = newline;
+    }
+}
@@ -0,0 +1,629 @@
+package com.github.javachaos.jsonparser.writer;
+
+import com.github.javachaos.jsonparser.dom.JsonArray;
+import com.github.javachaos.jsonparser.dom.JsonContainer;
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.utils.Utf8Chars;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Writes json as UTF-8, compact or pretty printed.
+ * Values are written one call at a time, like the events of a {@link JsonCursor}, or as whole trees from
+ * {@link com.github.javachaos.jsonparser.parser.JsonParser#readTree(byte[])}; {@link #copy(JsonCursor)} streams a
+ * document from a cursor straight to the output.
+ * <p>
+ * Bytes are encoded into a buffer owned by the writer, there is no intermediate String or Writer. Characters
+ * are checked against an escape table, longs are formatted two digits at a time straight into the buffer.
+ * A writer either flushes its buffer to an {@link OutputStream} or {@link WritableByteChannel} as it fills up,
+ * or, without a sink, grows it to hold the whole output and can be {@link #reset()} and reused.
+ * <p>
+ * Several root values are separated by newlines. Failed writes to the sink are thrown as
+ * {@link UncheckedIOException}. A writer is not thread safe.
+ */
+public final class JsonWriter implements AutoCloseable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * Longest output of a single char: a unicode escape.
+     */
+    private static final int MAX_CHAR_BYTES = 6;
+
+    /**
+     * For every ASCII character: 0 if it is written as is, the escape letter if it has a short escape,
+     * 'u' if it needs a unicode escape.
+     */
+    private static final byte[] ESCAPES = new byte[128];
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] DIGIT_TENS = new byte[100];
+    private static final byte[] DIGIT_ONES = new byte[100];
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (byte) ('0' + i / 10);
+            DIGIT_ONES[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    /*
+     * Flags of an open container.
+     */
+    private static final byte OBJECT = 1;
+    private static final byte NOT_EMPTY = 2;
+
+    private final OutputStream out;
+    private final WritableByteChannel channel;
+    private final boolean pretty;
+
+    private byte[] buffer;
+    private int count;
+
+    private byte[] stack = new byte[16];
+    private int depth;
+    private boolean afterName;
+    private boolean rootWritten;
+
+    /**
+     * Write compact json into a growing buffer, see {@link #toByteArray()}.
+     */
+    public JsonWriter() {
+        this(false);
+    }
+
+    /**
+     * Write into a growing buffer, see {@link #toByteArray()}.
+     *
+     * @param pretty true to put every value on its own line, indented by two spaces per level
+     */
+    public JsonWriter(boolean pretty) {
+        this(null, null, pretty);
+    }
+
+    public JsonWriter(OutputStream out, boolean pretty) {
+        this(out, null, pretty);
+    }
+
+    public JsonWriter(WritableByteChannel channel, boolean pretty) {
+        this(null, channel, pretty);
+    }
+
+    private JsonWriter(OutputStream out, WritableByteChannel channel, boolean pretty) {
+        this.out = out;
+        this.channel = channel;
+        this.pretty = pretty;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    public JsonWriter startObject() {
+        beforeValue();
+        push(OBJECT);
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        return end(true);
+    }
+
+    public JsonWriter startArray() {
+        beforeValue();
+        push((byte) 0);
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        return end(false);
+    }
+
+    /**
+     * Write a field name, the next call writes its value.
+     */
+    public JsonWriter name(CharSequence name) {
+        if (depth == 0 || (stack[depth - 1] & OBJECT) == 0 || afterName) {
+            throw new IllegalStateException("A field name must be written inside an object, before each value");
+        }
+        separate();
+        string(name);
+        ensure(2);
+        buffer[count++] = ':';
+        if (pretty) {
+            buffer[count++] = ' ';
+        }
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Write a string, escaping quotes, backslashes, control characters and unpaired surrogates.
+     */
+    public JsonWriter value(CharSequence s) {
+        if (s == null) {
+            return nullValue();
+        }
+        beforeValue();
+        string(s);
+        return this;
+    }
+
+    public JsonWriter value(long n) {
+        beforeValue();
+        ensure(20);
+        if (n == Long.MIN_VALUE) {
+            System.arraycopy(MIN_LONG, 0, buffer, count, MIN_LONG.length);
+            count += MIN_LONG.length;
+            return this;
+        }
+        if (n < 0) {
+            buffer[count++] = '-';
+            n = -n;
+        }
+        int length = 1;
+        for (long t = n; t >= 10; t /= 10) {
+            length++;
+        }
+        int p = count + length;
+        while (n >= 100) {
+            int r = (int) (n % 100);
+            n /= 100;
+            buffer[--p] = DIGIT_ONES[r];
+            buffer[--p] = DIGIT_TENS[r];
+        }
+        buffer[--p] = DIGIT_ONES[(int) n];
+        if (n >= 10) {
+            buffer[--p] = DIGIT_TENS[(int) n];
+        }
+        count += length;
+        return this;
+    }
+
+    /**
+     * Write a double as {@link Double#toString(double)} spells it, which always reads back to the same value.
+     * From Java 19 on that is also the shortest such text, earlier runtimes sometimes write more digits.
+     *
+     * @throws IllegalArgumentException for NaN and the infinities, json has no spelling for them
+     */
+    public JsonWriter value(double d) {
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+            throw new IllegalArgumentException("Not a json number: " + d);
+        }
+        beforeValue();
+        ascii(Double.toString(d));
+        return this;
+    }
+
+    /**
+     * Write a Long, Integer, Short, Byte, Double, Float, BigDecimal or BigInteger.
+     */
+    public JsonWriter value(Number n) {
+        if (n == null) {
+            return nullValue();
+        }
+        if (n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte) {
+            return value(n.longValue());
+        }
+        if (n instanceof Double) {
+            return value(n.doubleValue());
+        }
+        if (n instanceof Float) {
+            float f = n.floatValue();
+            if (Float.isNaN(f) || Float.isInfinite(f)) {
+                throw new IllegalArgumentException("Not a json number: " + f);
+            }
+            beforeValue();
+            ascii(Float.toString(f));
+            return this;
+        }
+        if (n instanceof BigDecimal || n instanceof BigInteger) {
+            beforeValue();
+            ascii(n.toString());
+            return this;
+        }
+        throw new IllegalArgumentException("Unsupported number type: " + n.getClass().getName());
+    }
+
+    public JsonWriter value(boolean b) {
+        beforeValue();
+        bytes(b ? TRUE : FALSE);
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        beforeValue();
+        bytes(NULL);
+        return this;
+    }
+
+    /**
+     * Write a value of a tree: a JsonObject, JsonArray, String, Number, Boolean, or null for json null.
+     */
+    public JsonWriter write(Object value) {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof JsonObject) {
+            JsonObject o = (JsonObject) value;
+            startObject();
+            for (int i = 0; i < o.size(); i++) {
+                name(o.name(i));
+                element(o, i);
+            }
+            return endObject();
+        }
+        if (value instanceof JsonArray) {
+            JsonArray a = (JsonArray) value;
+            startArray();
+            for (int i = 0; i < a.size(); i++) {
+                element(a, i);
+            }
+            return endArray();
+        }
+        if (value instanceof CharSequence) {
+            return value((CharSequence) value);
+        }
+        if (value instanceof Number) {
+            return value((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        }
+        throw new IllegalArgumentException("Not a json value: " + value.getClass().getName());
+    }
+
+    /**
+     * Write the value at index, numbers are taken from the primitive lane without boxing.
+     */
+    private void element(JsonContainer c, int index) {
+        switch (c.type(index)) {
+            case NUMBER:
+                switch (c.numberType(index)) {
+                    case LONG:
+                        value(c.getLong(index));
+                        break;
+                    case DOUBLE:
+                        value(c.getDouble(index));
+                        break;
+                    default:
+                        value(c.getBigDecimal(index));
+                }
+                break;
+            case NULL:
+                nullValue();
+                break;
+            default:
+                write(c.get(index));
+        }
+    }
+
+    /**
+     * Write the value at the cursor, reading it to its end. If the cursor has not started yet or is on a
+     * {@link JsonEvent#FIELD_NAME} it is advanced to the next value first. Numbers, and strings over byte input,
+     * are copied as written, escape sequences included, so nothing is decoded that need not be.
+     */
+    public JsonWriter copy(JsonCursor cursor) {
+        JsonEvent e = cursor.current();
+        if (e == null || e == JsonEvent.FIELD_NAME) {
+            e = cursor.next();
+        }
+        int start = cursor.depth() - (isStart(e) ? 1 : 0);
+        while (true) {
+            switch (e) {
+                case START_OBJECT:
+                    startObject();
+                    break;
+                case START_ARRAY:
+                    startArray();
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    break;
+                case FIELD_NAME:
+                    name(cursor.getText());
+                    break;
+                case VALUE_STRING: {
+                    CharSequence chars = cursor.getCharacters();
+                    beforeValue();
+                    if (!(chars instanceof Utf8Chars) || !copy((Utf8Chars) chars, true)) {
+                        string(chars);
+                    }
+                    break;
+                }
+                case VALUE_NUMBER:
+                    beforeValue();
+                    ascii(cursor.getText());
+                    break;
+                case VALUE_TRUE:
+                    value(true);
+                    break;
+                case VALUE_FALSE:
+                    value(false);
+                    break;
+                case VALUE_NULL:
+                    nullValue();
+                    break;
+                default:
+                    throw new JsonParseException("Unexpected event: " + e);
+            }
+            if (cursor.depth() == start && !isStart(e) && e != JsonEvent.FIELD_NAME) {
+                return this;
+            }
+            e = cursor.next();
+        }
+    }
+
+    private static boolean isStart(JsonEvent e) {
+        return e == JsonEvent.START_OBJECT || e == JsonEvent.START_ARRAY;
+    }
+
+    private void beforeValue() {
+        if (depth == 0) {
+            if (rootWritten) {
+                ensure(1);
+                buffer[count++] = '\n';
+            }
+            rootWritten = true;
+            return;
+        }
+        if ((stack[depth - 1] & OBJECT) != 0) {
+            if (!afterName) {
+                throw new IllegalStateException("A value inside an object must follow a field name");
+            }
+            afterName = false;
+            return;
+        }
+        separate();
+    }
+
+    /**
+     * Write the comma and line break that go before the next name or element of the innermost container.
+     */
+    private void separate() {
+        byte flags = stack[depth - 1];
+        ensure(2 + 2 * depth);
+        if ((flags & NOT_EMPTY) != 0) {
+            buffer[count++] = ',';
+        }
+        stack[depth - 1] = (byte) (flags | NOT_EMPTY);
+        if (pretty) {
+            newline(depth);
+        }
+    }
+
+    private void newline(int indent) {
+        buffer[count++] = '\n';
+        Arrays.fill(buffer, count, count + 2 * indent, (byte) ' ');
+        count += 2 * indent;
+    }
+
+    private void push(byte flags) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = flags;
+        ensure(1);
+        buffer[count++] = (byte) ((flags & OBJECT) != 0 ? '{' : '[');
+    }
+
+    private JsonWriter end(boolean object) {
+        if (depth == 0 || ((stack[depth - 1] & OBJECT) != 0) != object || afterName) {
+            throw new IllegalStateException("No open " + (object ? "object" : "array") + " to end");
+        }
+        byte flags = stack[--depth];
+        ensure(2 + 2 * depth);
+        if (pretty && (flags & NOT_EMPTY) != 0) {
+            newline(depth);
+        }
+        buffer[count++] = (byte) (object ? '}' : ']');
+        return this;
+    }
+
+    private void string(CharSequence s) {
+        if (s instanceof Utf8Chars && copy((Utf8Chars) s, false)) {
+            return;
+        }
+        ensure(2);
+        buffer[count++] = '"';
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.length - count < MAX_CHAR_BYTES + 1) {
+                ensure(MAX_CHAR_BYTES + 1);
+            }
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    buffer[count++] = (byte) c;
+                } else if (escape == 'u') {
+                    unicodeEscape(c);
+                } else {
+                    buffer[count++] = '\\';
+                    buffer[count++] = escape;
+                }
+            } else if (c < 0x800) {
+                buffer[count++] = (byte) (0xC0 | c >> 6);
+                buffer[count++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer[count++] = (byte) (0xF0 | cp >> 18);
+                buffer[count++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                buffer[count++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                buffer[count++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                unicodeEscape(c);
+            } else {
+                buffer[count++] = (byte) (0xE0 | c >> 12);
+                buffer[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[count++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        ensure(1);
+        buffer[count++] = '"';
+    }
+
+    /**
+     * Copy a value straight from its input bytes, it needs no escaping unless it holds raw control characters.
+     *
+     * @param escapes true to copy escape sequences as written, they must have been validated by the reader
+     * @return false if the value has to be written char by char
+     */
+    private boolean copy(Utf8Chars s, boolean escapes) {
+        if (s.isEscaped() && !escapes) {
+            return false;
+        }
+        int length = s.byteLength();
+        ensure(length + 2);
+        int start = count;
+        buffer[start] = '"';
+        s.getBytes(buffer, start + 1);
+        int end = start + 1 + length;
+        for (int i = start + 1; i < end; i++) {
+            if (buffer[i] >= 0 && buffer[i] < 0x20) {
+                return false;
+            }
+        }
+        buffer[end] = '"';
+        count = end + 1;
+        return true;
+    }
+
+    private void unicodeEscape(char c) {
+        buffer[count++] = '\\';
+        buffer[count++] = 'u';
+        buffer[count++] = HEX[c >> 12];
+        buffer[count++] = HEX[c >> 8 & 0xF];
+        buffer[count++] = HEX[c >> 4 & 0xF];
+        buffer[count++] = HEX[c & 0xF];
+    }
+
+    /**
+     * Copy text that is known to be ASCII, such as a formatted number.
+     */
+    private void ascii(String s) {
+        int length = s.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buffer[count++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void bytes(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, buffer, count, b.length);
+        count += b.length;
+    }
+
+    /**
+     * Make room for n more bytes, by flushing to the sink or else by growing the buffer.
+     */
+    private void ensure(int n) {
+        if (buffer.length - count >= n) {
+            return;
+        }
+        if (out != null || channel != null) {
+            flushBuffer();
+            if (buffer.length >= n) {
+                return;
+            }
+        }
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + n));
+    }
+
+    private void flushBuffer() {
+        try {
+            if (out != null) {
+                out.write(buffer, 0, count);
+            } else {
+                ByteBuffer bb = ByteBuffer.wrap(buffer, 0, count);
+                while (bb.hasRemaining()) {
+                    channel.write(bb);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        count = 0;
+    }
+
+    /**
+     * @return the number of bytes written and not flushed yet
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return a copy of the bytes written and not flushed yet
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * @return a read only view of the bytes written and not flushed yet, valid until the writer is used again
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, count).asReadOnlyBuffer();
+    }
+
+    /**
+     * Discard the buffered output and any open containers, keeping the buffer for the next document.
+     */
+    public void reset() {
+        count = 0;
+        depth = 0;
+        afterName = false;
+        rootWritten = false;
+    }
+
+    /**
+     * Write the buffered bytes to the sink, and flush an OutputStream. Does nothing without a sink.
+     */
+    public void flush() {
+        if (out == null && channel == null) {
+            return;
+        }
+        flushBuffer();
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Flush the buffered bytes, the sink is left open.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.utils.CharacterStreamReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CharacterStreamReaderTest {
+
+    @Test
+    void testReadAcrossRefills() throws Exception {
+        try (CharacterStreamReader reader = new CharacterStreamReader(new StringReader("abcdefghij"), 3)) {
+            StringBuilder sb = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != CharacterStreamReader.EOF) {
+                sb.append((char) c);
+            }
+            assertEquals("abcdefghij", sb.toString());
+            assertEquals(10, reader.position());
+            assertEquals(CharacterStreamReader.EOF, reader.peekChar());
+        }
+    }
+
+    @Test
+    void testMarkResetAndLookahead() throws Exception {
+        try (CharacterStreamReader reader = new CharacterStreamReader(new StringReader("true, false"), 4)) {
+            assertEquals('e', reader.peekChar(3));
+            reader.mark(8);
+            assertEquals('t', reader.read());
+            reader.skip(5);
+            assertEquals('f', reader.read());
+            reader.reset();
+            assertEquals(0, reader.position());
+            assertEquals('t', reader.read());
+            reader.mark(1);
+            reader.skip(3);
+            assertThrows(JsonParseException.class, reader::reset);
+        }
+    }
+}
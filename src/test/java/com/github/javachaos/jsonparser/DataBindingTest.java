@@ -0,0 +1,99 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.JsonParserPool;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataBindingTest {
+
+    enum Kind { FILE, FOLDER }
+
+    static class Base {
+        private long id;
+    }
+
+    static class Item extends Base {
+        private String name;
+        private Kind kind;
+        private int size;
+        private Double ratio;
+        private BigDecimal price;
+        private List<Item> children;
+        private Map<String, Set<Integer>> tags;
+        private int[] counts;
+        private Object extra;
+        private transient String ignored = "kept";
+        private static String global = "global";
+    }
+
+    private static byte[] utf8(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testPojo() {
+        JsonParser parser = new JsonParser("");
+        Item item = parser.readValue(utf8("{\"id\": 7, \"name\": \"root\", \"kind\": \"FOLDER\", \"size\": 1e3,"
+                + " \"unknown\": {\"deep\": [1, {\"x\": null}]}, \"ratio\": null, \"price\": 12.50,"
+                + " \"children\": [{\"name\": \"a\", \"kind\": \"FILE\"}, null],"
+                + " \"tags\": {\"t\": [3, 1, 3]}, \"counts\": [1, 2], \"extra\": {\"k\": [true]},"
+                + " \"ignored\": \"x\", \"global\": \"x\"}"), Item.class);
+        assertEquals(7, ((Base) item).id);
+        assertEquals("root", item.name);
+        assertEquals(Kind.FOLDER, item.kind);
+        assertEquals(1000, item.size);
+        assertNull(item.ratio);
+        assertEquals(new BigDecimal("12.50"), item.price);
+        assertEquals(2, item.children.size());
+        assertEquals("a", item.children.get(0).name);
+        assertEquals(Kind.FILE, item.children.get(0).kind);
+        assertNull(item.children.get(1));
+        assertEquals(List.of(3, 1), List.copyOf(item.tags.get("t")));
+        assertArrayEquals(new int[]{1, 2}, item.counts);
+        assertTrue(item.extra instanceof JsonObject);
+        assertEquals("kept", item.ignored);
+        assertEquals("global", Item.global);
+
+        JsonParserPool pool = new JsonParserPool(1);
+        assertEquals("b", pool.readValue(utf8("{\"name\": \"b\"}"), Item.class).name);
+        assertEquals("c", parser.readValue(new ByteArrayInputStream(utf8("{\"name\": \"c\"}")), Item.class).name);
+        assertArrayEquals(new String[]{"x", null}, parser.readValue(utf8("[\"x\", null]"), String[].class));
+        assertEquals(List.of(1L, "a"), parser.readValue(utf8("[1, \"a\"]"), List.class));
+    }
+
+    @Test
+    void testMismatches() {
+        JsonParser parser = new JsonParser("");
+        for (String bad : new String[]{"{\"size\": 1.5}", "{\"size\": 3000000000}", "{\"size\": null}",
+                "{\"kind\": \"OTHER\"}", "{\"name\": 1}", "{\"children\": {}}", "[]", "{\"id\": 1} 2"}) {
+            assertThrows(JsonParseException.class, () -> parser.readValue(utf8(bad), Item.class), bad);
+        }
+        assertThrows(IllegalArgumentException.class, () -> parser.readValue(utf8("1"), Runnable.class));
+        assertThrows(IllegalArgumentException.class, () -> parser.readValue(utf8("{}"), java.io.File.class));
+    }
+
+    record Point(int x, long y, String label, List<Point> near) {
+    }
+
+    @Test
+    void testRecord() {
+        Point p = new JsonParser("").readValue(utf8("{\"label\": \"p\", \"x\": 1, \"z\": 0,"
+                + " \"near\": [{\"y\": 2}]}"), Point.class);
+        assertEquals(new Point(1, 0, "p", List.of(new Point(0, 2, null, null))), p);
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.ParseMetrics;
+import com.github.javachaos.jsonparser.parser.DocumentCache;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentCacheTest {
+
+    private static JsonParser parser(DocumentCache cache) {
+        return new JsonParser("/cached.json", false, JsonParser.DEFAULT_MAX_DEPTH, ParseMetrics.NONE, cache);
+    }
+
+    private static Path write(Path file, String json) throws IOException {
+        return Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testResource() {
+        DocumentCache cache = new DocumentCache();
+        JsonParser cached = parser(cache);
+        JsonParser plain = new JsonParser("/cached.json");
+
+        Set<Pair<String, Object>> set = cached.parse();
+        assertEquals(4, set.size());
+        assertEquals(plain.parse(), set);
+        assertSame(set, cached.parse());
+        assertSame(set, parser(cache).parse());
+        assertThrows(UnsupportedOperationException.class, () -> set.add(new Pair<>("a", null)));
+        for (Pair<String, Object> pair : set) {
+            if (pair.getValue() instanceof List) {
+                assertThrows(UnsupportedOperationException.class, () -> ((List<?>) pair.getValue()).clear());
+            }
+        }
+
+        String text = cached.printFile();
+        assertEquals(plain.printFile(), text);
+        assertSame(text, cached.printFile());
+
+        Object tree = cached.readTree();
+        assertEquals(plain.readTree(), tree);
+        assertSame(tree, cached.readTree());
+        assertEquals("cached", ((JsonObject) tree).getString("name"));
+
+        assertEquals(3, cache.size());
+        assertEquals(3, cache.missCount());
+        assertEquals(4, cache.hitCount());
+        assertEquals(0, cache.evictionCount());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertNotSame(set, cached.parse());
+    }
+
+    @Test
+    void testChangedFilesAreReadAgain(@TempDir Path dir) throws IOException {
+        JsonParser parser = parser(new DocumentCache());
+        Path file = write(dir.resolve("a.json"), "{\"a\": 1}");
+        JsonObject first = (JsonObject) parser.readTree(file);
+        assertSame(first, parser.readTree(dir.resolve("../" + dir.getFileName() + "/a.json")));
+
+        write(file, "{\"a\": 22}");
+        JsonObject second = (JsonObject) parser.readTree(file);
+        assertEquals(22, second.getLong("a"));
+
+        // same size, only the modification time tells them apart
+        write(file, "{\"a\": 33}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+        assertEquals(33, ((JsonObject) parser.readTree(file)).getLong("a"));
+        assertEquals(1, parser.parse(file).size());
+    }
+
+    @Test
+    void testEviction(@TempDir Path dir) throws IOException {
+        DocumentCache cache = new DocumentCache(2, 1000);
+        JsonParser parser = parser(cache);
+        Path a = write(dir.resolve("a.json"), "[1]");
+        Path b = write(dir.resolve("b.json"), "[2]");
+        Path c = write(dir.resolve("c.json"), "[3]");
+        parser.readTree(a);
+        parser.readTree(b);
+        parser.readTree(a);
+        parser.readTree(c);
+        assertEquals(2, cache.size());
+        assertEquals(6, cache.weight());
+        assertEquals(1, cache.evictionCount());
+        long misses = cache.missCount();
+        parser.readTree(a);
+        parser.readTree(c);
+        assertEquals(misses, cache.missCount());
+        parser.readTree(b);
+        assertEquals(misses + 1, cache.missCount());
+
+        DocumentCache small = new DocumentCache(10, 20);
+        JsonParser limited = parser(small);
+        Path big = write(dir.resolve("big.json"), "[\"0123456789012345678901234567890123456789\"]");
+        limited.readTree(big);
+        assertEquals(0, small.size());
+        for (int i = 0; i < 5; i++) {
+            limited.readTree(write(dir.resolve(i + ".json"), "[" + i + ", 10]"));
+        }
+        assertEquals(2, small.size());
+        assertEquals(14, small.weight());
+        assertEquals(3, small.evictionCount());
+    }
+
+    @Test
+    void testErrorsAreNotCached(@TempDir Path dir) throws IOException {
+        DocumentCache cache = new DocumentCache();
+        JsonParser parser = parser(cache);
+        Path file = write(dir.resolve("bad.json"), "{\"a\": [1,");
+        assertThrows(JsonParseException.class, () -> parser.readTree(file));
+        assertThrows(JsonParseException.class, () -> parser.readTree(file));
+        assertThrows(JsonParseException.class, () -> parser.readTree(dir.resolve("missing.json")));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.missCount());
+
+        // parse() logs failures and reads them as an empty set, which must not be kept either
+        assertTrue(parser.parse(file).isEmpty());
+        assertTrue(parser.parse(file).isEmpty());
+        assertEquals(0, cache.size());
+        assertEquals(4, cache.missCount());
+        write(file, "{\"a\": [1, 2]}");
+        assertEquals(1, parser.parse(file).size());
+        assertEquals(1, cache.size());
+
+        // the trailing comma of test.json is an error to parse()
+        JsonParser resource = new JsonParser("/test.json", false, JsonParser.DEFAULT_MAX_DEPTH, ParseMetrics.NONE,
+                cache);
+        assertTrue(resource.parse().isEmpty());
+        assertTrue(resource.parse().isEmpty());
+        assertEquals(1, cache.size());
+        assertEquals(7, cache.missCount());
+        assertEquals(0, cache.hitCount());
+    }
+
+    @Test
+    void testSharedBetweenThreads() throws Exception {
+        DocumentCache cache = new DocumentCache();
+        JsonParser parser = parser(cache);
+        Set<Pair<String, Object>> expected = new JsonParser("/cached.json").parse();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Set<Pair<String, Object>>>> sets = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                sets.add(executor.submit(() -> parser.parse()));
+            }
+            for (Future<Set<Pair<String, Object>>> set : sets) {
+                assertEquals(expected, set.get());
+                assertEquals(4, set.get().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(200, cache.hitCount() + cache.missCount());
+        assertTrue(cache.hitCount() > 0);
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,201 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonTreeBuilder;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.GzipSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GzipSourceTest {
+
+    private static final byte[] JSON;
+
+    static {
+        StringBuilder json = new StringBuilder("[");
+        Random random = new Random(3);
+        for (int i = 0; i < 5_000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\": ").append(i).append(", \"name\": \"item é😀 ")
+                    .append(random.nextInt()).append("\", \"tags\": [true, null, ").append(random.nextDouble())
+                    .append("]}");
+        }
+        JSON = json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] bytes, int from, int to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes, from, to - from);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Cut the json into members of random sizes, some only a byte or two long.
+     */
+    private static byte[] members(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Random random = new Random(5);
+        int from = 0;
+        while (from < json.length) {
+            int to = Math.min(json.length, from + (random.nextBoolean() ? 1 + random.nextInt(3)
+                    : 1 + random.nextInt(50_000)));
+            out.write(gzip(json, from, to));
+            from = to;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A member whose header carries two other valid gzip members in its extra field, so that the search for
+     * headers finds members that are not there.
+     */
+    private static byte[] decoyMember(byte[] bytes) throws IOException {
+        byte[] decoy = gzip("[\"wrong\"]".getBytes(StandardCharsets.UTF_8), 0, 9);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff});
+        out.write(2 * decoy.length & 0xff);
+        out.write(2 * decoy.length >> 8);
+        out.write(decoy);
+        out.write(decoy);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] buffer = new byte[1 << 16];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        out.write(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putInt((int) crc.getValue())
+                .putInt(bytes.length).array());
+        return out.toByteArray();
+    }
+
+    private static Object readTree(GzipSource source) {
+        try (JsonCursor cursor = new JsonCursor(source)) {
+            Object tree = JsonTreeBuilder.read(cursor);
+            assertFalse(cursor.hasNext());
+            return tree;
+        }
+    }
+
+    @Test
+    void testFiles(@TempDir Path dir) throws IOException {
+        JsonParser parser = new JsonParser("");
+        Object expected = parser.readTree(JSON);
+        int half = JSON.length / 2;
+        ByteArrayOutputStream decoys = new ByteArrayOutputStream();
+        decoys.write(decoyMember(Arrays.copyOfRange(JSON, 0, half)));
+        decoys.write(decoyMember(Arrays.copyOfRange(JSON, half, JSON.length)));
+        byte[][] files = {gzip(JSON, 0, JSON.length), members(JSON), decoys.toByteArray()};
+        for (byte[] compressed : files) {
+            Path file = dir.resolve("data.json.gz");
+            Files.write(file, compressed);
+            assertTrue(GzipSource.isGzip(file));
+            assertEquals(expected, parser.readTree(file));
+            for (int parallelism : new int[]{1, 2, 8}) {
+                assertEquals(expected, readTree(GzipSource.open(file, parallelism)));
+            }
+            assertEquals(expected, readTree(new GzipSource(new ByteArrayInputStream(compressed), 100)));
+            assertEquals(expected, readTree(new GzipSource(new ByteArrayInputStream(compressed))));
+        }
+        Path plain = dir.resolve("data.json");
+        Files.write(plain, JSON);
+        assertFalse(GzipSource.isGzip(plain));
+        assertEquals(expected, parser.readTree(plain));
+    }
+
+    @Test
+    void testTrailingBytes(@TempDir Path dir) throws IOException {
+        byte[] compressed = gzip(JSON, 0, JSON.length);
+        byte[] padded = Arrays.copyOf(compressed, compressed.length + 100);
+        Path file = dir.resolve("padded.json.gz");
+        Files.write(file, padded);
+        assertEquals(new JsonParser("").readTree(JSON), new JsonParser("").readTree(file));
+    }
+
+    @Test
+    void testCorruptInput(@TempDir Path dir) throws IOException {
+        byte[] compressed = members(JSON);
+        byte[] badCrc = compressed.clone();
+        int last = badCrc.length - 8;
+        badCrc[last] ^= 1;
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length - 20);
+        byte[] badData = compressed.clone();
+        for (int i = 100; i < 110; i++) {
+            badData[i] = (byte) 0xff;
+        }
+        JsonParser parser = new JsonParser("");
+        for (byte[] bad : new byte[][]{badCrc, truncated, badData}) {
+            Path file = dir.resolve("bad.json.gz");
+            Files.write(file, bad);
+            assertThrows(JsonParseException.class, () -> parser.readTree(file));
+            assertThrows(JsonParseException.class, () -> readTree(new GzipSource(new ByteArrayInputStream(bad))));
+        }
+        Path plain = dir.resolve("plain.json");
+        Files.write(plain, JSON);
+        assertThrows(ZipException.class, () -> GzipSource.open(plain));
+        assertThrows(JsonParseException.class, () -> readTree(new GzipSource(new ByteArrayInputStream(JSON))));
+    }
+
+    @Test
+    void testSharedExecutor(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("data.json.gz");
+        byte[] compressed = members(JSON);
+        Files.write(file, compressed);
+        Object expected = new JsonParser("").readTree(JSON);
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            // the members of the first source are queued ahead and fill their buffers, they must make way
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                GzipSource first = GzipSource.open(file, 4, single);
+                GzipSource second = GzipSource.open(file, 4, single);
+                GzipSource stream = new GzipSource(new ByteArrayInputStream(compressed), 100, single);
+                assertEquals(expected, readTree(stream));
+                assertEquals(expected, readTree(second));
+                assertEquals(expected, readTree(first));
+            });
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testCloseEarly(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("data.json.gz");
+        Files.write(file, members(JSON));
+        for (int i = 0; i < 20; i++) {
+            try (JsonCursor cursor = new JsonCursor(GzipSource.open(file, 4))) {
+                cursor.next();
+                cursor.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.JsonDocumentEvent;
+import com.github.javachaos.jsonparser.metrics.JsonRefillEvent;
+import com.github.javachaos.jsonparser.metrics.JsonTokenEvent;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrEventsTest {
+
+    @Test
+    void testEventsRecorded(@TempDir Path dir) throws Exception {
+        byte[] json = ("{\"a\": [1, {\"b\": \"" + "x".repeat(20_000) + "\"}]}").getBytes(StandardCharsets.UTF_8);
+        JsonParser parser = new JsonParser("");
+        Path file = dir.resolve("parse.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(JsonDocumentEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(JsonTokenEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(JsonRefillEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            parser.readTree(json);
+            parser.readTree(new ByteArrayInputStream(json));
+            assertThrows(JsonParseException.class, () -> parser.readTree("[1,]".getBytes(StandardCharsets.UTF_8)));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> documents = events.stream()
+                .filter(e -> e.getEventType().getName().equals(JsonDocumentEvent.NAME)).collect(Collectors.toList());
+        assertEquals(3, documents.size());
+        assertEquals(json.length, documents.get(0).getLong("size"));
+        assertEquals(3, documents.get(0).getInt("depth"));
+        assertEquals(1, documents.get(0).getLong("strings"));
+        assertTrue(documents.get(2).getBoolean("failed"));
+        assertTrue(documents.get(2).getString("error").startsWith("Expected a value"));
+
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals(JsonTokenEvent.NAME)
+                && e.getString("kind").equals("string") && e.getLong("length") == 20_000));
+        List<RecordedEvent> refills = events.stream()
+                .filter(e -> e.getEventType().getName().equals(JsonRefillEvent.NAME)).collect(Collectors.toList());
+        assertTrue(refills.size() >= 3);
+        assertTrue(refills.get(refills.size() - 1).getBoolean("endOfInput"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonCursorTest {
+
+    private static final String JSON = "{\"a\": [1, -2.5e3, \"x\\u00e9\\n\"], \"b\": {\"c\": true, \"d\": null}, "
+            + "\"e\": false, \"f\": {}, \"g\": []}";
+
+    private static List<String> events(JsonCursor cursor) {
+        List<String> events = new ArrayList<>();
+        while (cursor.hasNext()) {
+            JsonEvent e = cursor.next();
+            String text = cursor.getText();
+            events.add(text == null ? e.name() : e.name() + ":" + text);
+        }
+        return events;
+    }
+
+    @Test
+    void testEvents() throws Exception {
+        JsonParser jp = new JsonParser("/test.json");
+        List<String> expected = List.of("START_OBJECT", "FIELD_NAME:a", "START_ARRAY", "VALUE_NUMBER:1",
+                "VALUE_NUMBER:-2.5e3", "VALUE_STRING:xé\n", "END_ARRAY", "FIELD_NAME:b", "START_OBJECT",
+                "FIELD_NAME:c", "VALUE_TRUE:true", "FIELD_NAME:d", "VALUE_NULL:null", "END_OBJECT",
+                "FIELD_NAME:e", "VALUE_FALSE:false", "FIELD_NAME:f", "START_OBJECT", "END_OBJECT",
+                "FIELD_NAME:g", "START_ARRAY", "END_ARRAY", "END_OBJECT");
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        try (JsonCursor cursor = jp.cursor(bytes)) {
+            assertEquals(expected, events(cursor));
+        }
+        try (JsonCursor cursor = jp.cursor(new ByteArrayInputStream(bytes))) {
+            assertEquals(expected, events(cursor));
+        }
+    }
+
+    @Test
+    void testSkipChildren() throws Exception {
+        JsonParser jp = new JsonParser("/test.json");
+        try (JsonCursor cursor = jp.cursor(JSON.getBytes(StandardCharsets.UTF_8))) {
+            assertEquals(JsonEvent.START_OBJECT, cursor.next());
+            assertEquals(JsonEvent.FIELD_NAME, cursor.next());
+            assertEquals(JsonEvent.START_ARRAY, cursor.next());
+            cursor.skipChildren();
+            assertEquals(JsonEvent.END_ARRAY, cursor.current());
+            assertEquals(1, cursor.depth());
+            assertEquals(JsonEvent.FIELD_NAME, cursor.next());
+            assertEquals("b", cursor.getText());
+        }
+    }
+
+    @Test
+    void testInvalidInput() {
+        JsonParser jp = new JsonParser("/test.json");
+        for (String json : new String[] {"{\"a\": 1,}", "[1 2]", "{\"a\" 1}", "[01]", "[1.]", "[tru]", "{} {}",
+                "[\"abc]", "[-]"}) {
+            assertThrows(JsonParseException.class, () -> {
+                try (JsonCursor cursor = jp.cursor(json.getBytes(StandardCharsets.UTF_8))) {
+                    events(cursor);
+                }
+            }, json);
+        }
+        try (JsonCursor cursor = jp.cursor("42".getBytes(StandardCharsets.UTF_8))) {
+            assertEquals(JsonEvent.VALUE_NUMBER, cursor.next());
+            assertFalse(cursor.hasNext());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
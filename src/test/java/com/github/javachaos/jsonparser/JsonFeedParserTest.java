@@ -0,0 +1,110 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.JsonFeedParser;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonFeedParserTest {
+
+    @Test
+    void testMatchesCursorForAnyChunking() throws Exception {
+        byte[] json;
+        try (InputStream is = getClass().getResourceAsStream("/test.json")) {
+            json = new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("\"\",\n", "\"café \\\"日本\\\\ \\u00e9\","
+                            + " [-1.5e3, 12345678901234567890, 0, true, false, {}, []]\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        List<String> expected = new ArrayList<>();
+        try (JsonCursor cursor = new JsonParser("").cursor(json)) {
+            while (cursor.hasNext()) {
+                JsonEvent e = cursor.next();
+                expected.add(e + " " + cursor.getText()
+                        + (e == JsonEvent.VALUE_NUMBER ? " " + cursor.getNumber() : ""));
+            }
+        }
+        Random random = new Random(3);
+        for (int maxChunk : new int[]{1, 2, 7, 64, json.length}) {
+            JsonFeedParser parser = new JsonFeedParser();
+            List<String> actual = new ArrayList<>();
+            int offset = 0;
+            int starved = 0;
+            while (true) {
+                JsonEvent e = parser.nextEvent();
+                if (e == null) {
+                    break;
+                }
+                if (e == JsonEvent.NEED_MORE_INPUT) {
+                    starved++;
+                    int n = Math.min(json.length - offset, 1 + random.nextInt(maxChunk));
+                    if (n == 0) {
+                        parser.endOfInput();
+                    } else {
+                        parser.feed(ByteBuffer.wrap(json, offset, n));
+                        offset += n;
+                    }
+                    continue;
+                }
+                actual.add(e + " " + parser.getText()
+                        + (e == JsonEvent.VALUE_NUMBER ? " " + parser.getNumber() : ""));
+            }
+            assertEquals(expected, actual, "chunks of up to " + maxChunk);
+            assertEquals(json.length, parser.position());
+            if (maxChunk == 1) {
+                assertEquals(json.length + 1, starved);
+            }
+        }
+    }
+
+    @Test
+    void testRootValuesAndErrors() {
+        JsonFeedParser parser = new JsonFeedParser();
+        parser.feed("{\"a\":tr".getBytes(StandardCharsets.UTF_8), 0, 7);
+        assertEquals(JsonEvent.START_OBJECT, parser.nextEvent());
+        assertEquals(JsonEvent.FIELD_NAME, parser.nextEvent());
+        assertEquals("a", parser.getText());
+        assertEquals(JsonEvent.NEED_MORE_INPUT, parser.nextEvent());
+        assertEquals(2, parser.buffered());
+        parser.feed(ByteBuffer.wrap("ue} 42 [".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(JsonEvent.VALUE_TRUE, parser.nextEvent());
+        assertEquals(JsonEvent.END_OBJECT, parser.nextEvent());
+        assertEquals(JsonEvent.VALUE_NUMBER, parser.nextEvent());
+        assertEquals(42L, parser.getLong());
+        assertEquals(JsonEvent.START_ARRAY, parser.nextEvent());
+        assertEquals(JsonEvent.NEED_MORE_INPUT, parser.nextEvent());
+        parser.endOfInput();
+        assertThrows(JsonParseException.class, parser::nextEvent);
+
+        JsonFeedParser empty = new JsonFeedParser();
+        empty.endOfInput();
+        assertNull(empty.nextEvent());
+        assertThrows(IllegalStateException.class, () -> empty.feed(new byte[1], 0, 1));
+
+        for (String bad : new String[]{"{\"a\" 1}", "[1,]", "[1 2]", "{\"a\":tru}", "\"abc", "[01]", "{,}"}) {
+            JsonFeedParser p = new JsonFeedParser();
+            byte[] b = bad.getBytes(StandardCharsets.UTF_8);
+            p.feed(b, 0, b.length);
+            p.endOfInput();
+            assertThrows(JsonParseException.class, () -> {
+                while (p.nextEvent() != null) {
+                    p.getText();
+                }
+            }, bad);
+        }
+    }
+}
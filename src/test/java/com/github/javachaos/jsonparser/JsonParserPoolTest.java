@@ -0,0 +1,107 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.JsonParserPool;
+import com.github.javachaos.jsonparser.parser.ParseContext;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonParserPoolTest {
+
+    private static byte[] document(int i) {
+        return ("{\"id\": " + i + ", \"name\": \"doc" + i + "\", \"tags\": [\"a\", {\"n\": " + (i * 0.5) + "}]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testContextsAreReused() {
+        JsonParserPool pool = new JsonParserPool(2);
+        ParseContext first;
+        try (ParseContext context = pool.acquire()) {
+            first = context;
+            assertThrows(JsonParseException.class, () -> context.readTree("{\"a\": [1,".getBytes(StandardCharsets.UTF_8)));
+            JsonObject o = (JsonObject) context.readTree(document(7));
+            assertEquals(7, o.getLong("id"));
+            assertEquals(3, context.parse(document(1)).size());
+        }
+        assertEquals(1, pool.idle());
+        try (ParseContext context = pool.acquire()) {
+            assertSame(first, context);
+            assertEquals(0, pool.idle());
+        }
+        first.close();
+        assertEquals(1, pool.idle());
+    }
+
+    @Test
+    void testStaleCloseAcrossThreads() throws Exception {
+        JsonParserPool pool = new JsonParserPool(2);
+        ExecutorService a = Executors.newSingleThreadExecutor();
+        ExecutorService b = Executors.newSingleThreadExecutor();
+        try {
+            ParseContext context = a.submit(() -> {
+                ParseContext c = pool.acquire();
+                c.close();
+                return c;
+            }).get();
+            assertEquals(1, pool.idle());
+            assertSame(context, b.submit(pool::acquire).get());
+            a.submit(context::close).get();
+            a.submit(context::close).get();
+            assertEquals(0, pool.idle());
+            try (ParseContext other = pool.acquire()) {
+                assertNotSame(context, other);
+            }
+            b.submit(context::close).get();
+            assertEquals(2, pool.idle());
+            b.submit(context::close).get();
+            assertEquals(2, pool.idle());
+        } finally {
+            a.shutdown();
+            b.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentParsing() throws Exception {
+        JsonParser jp = new JsonParser("/test.json");
+        JsonParserPool pool = new JsonParserPool(4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 1000;
+                results.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + 1000; i++) {
+                        byte[] json = document(i);
+                        if (!jp.readTree(json).equals(pool.readTree(json))
+                                || !jp.parse(json).equals(pool.parse(json))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(pool.idle() <= 4);
+    }
+}
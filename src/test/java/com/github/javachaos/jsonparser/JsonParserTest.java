@@ -1,14 +1,30 @@
 package com.github.javachaos.jsonparser;
 
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
 import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.JsonSource;
+import com.github.javachaos.jsonparser.utils.MappedFileSource;
 import com.github.javachaos.jsonparser.utils.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JsonParserTest {
 
@@ -29,4 +45,78 @@ class JsonParserTest {
         }
     }
 
+    @Test
+    void testLiteralsAndEmptyContainers() {
+        JsonParser jp = new JsonParser("/test.json");
+        Set<Pair<String, Object>> data = jp.parse(new ByteArrayInputStream(
+                "{\"a\": [true, false, null, {}, []], \"b\" : {}}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, data.size());
+        for (Pair<String, Object> p : data) {
+            if (p.getKey().equals("a")) {
+                assertEquals("[[[true], [false], [null], [[]], [[]]]]", p.getValue().toString());
+            } else {
+                assertEquals("b", p.getKey());
+                assertEquals("[[]]", p.getValue().toString());
+            }
+        }
+    }
+
+    @Test
+    void testUtf8BytesMatchStream() {
+        String json = "{\"name\": \"caf\u00e9 \u65e5\u672c\", \"esc\": \"a\\\"b\\u00E9\", \"n\": [-1.5e3, 0]}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        JsonParser jp = new JsonParser("/test.json");
+        Set<Pair<String, Object>> fromBytes = jp.parse(bytes);
+        assertEquals(3, fromBytes.size());
+        assertEquals(jp.parse(new ByteArrayInputStream(bytes)), fromBytes);
+        assertEquals(fromBytes, jp.parse(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()));
+        assertTrue(fromBytes.contains(new Pair<>("name", List.of("caf\u00e9 \u65e5\u672c"))));
+        assertTrue(fromBytes.contains(new Pair<>("esc", List.of("a\\\"b\\u00E9"))));
+    }
+
+    @Test
+    void testMappedFileAcrossWindows(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("test.json");
+        try (InputStream is = getClass().getResourceAsStream("/test.json")) {
+            String json = new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("\"\",\n", "\"caf\u00e9 \u65e5\u672c \ud83d\ude00\"\n");
+            Files.writeString(file, json);
+        }
+        JsonParser jp = new JsonParser("/test.json");
+        Set<Pair<String, Object>> expected = jp.parse(Files.readAllBytes(file));
+        assertEquals(1, expected.size());
+        assertEquals(expected, jp.parse(file));
+        for (int window = 16; window < 40; window++) {
+            try (MappedFileSource source = MappedFileSource.open(file, window)) {
+                StringBuilder sb = new StringBuilder();
+                int c;
+                while ((c = source.read()) != JsonSource.EOF) {
+                    if (c == '"') {
+                        sb.append('"').append(source.readString(false)).append('"');
+                    } else {
+                        sb.append((char) c);
+                    }
+                }
+                assertEquals(Files.readString(file), sb.toString());
+                assertEquals(Files.size(file), source.position());
+            }
+        }
+    }
+
+    @Test
+    void testTruncatedMappedFile(@TempDir Path dir) throws Exception {
+        byte[] json = {'{', '"', 'a', '"', ':', '"', 'x', 'y', (byte) 0xE2};
+        Path file = Files.write(dir.resolve("truncated.json"), json);
+        JsonParser jp = new JsonParser("");
+        assertThrows(JsonParseException.class, () -> jp.readTree(json));
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            assertThrows(JsonParseException.class, () -> jp.readTree(file));
+            assertTrue(jp.parse(file).isEmpty());
+            try (MappedFileSource source = MappedFileSource.open(file, 16)) {
+                source.skip(6);
+                assertThrows(JsonParseException.class, () -> source.readString(true));
+            }
+        });
+    }
+
 }
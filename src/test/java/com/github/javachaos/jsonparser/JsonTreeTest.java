@@ -0,0 +1,78 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonArray;
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.dom.JsonType;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.NumberType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonTreeTest {
+
+    @Test
+    void testTestJson() {
+        JsonParser jp = new JsonParser("/test.json");
+        JsonObject root = (JsonObject) jp.readTree(new ByteArrayInputStream(("{\"menu\": {\"id\": \"file\", "
+                + "\"value\": \"File\", \"value\": \"other\", \"popup\": {\"menuitem\": [{\"value\": \"New\"}, "
+                + "null, -2872, -923.1231, 102, \"\"], \"test\" : 12e18}}}").getBytes(StandardCharsets.UTF_8)));
+        JsonObject menu = root.getObject("menu");
+        assertEquals(4, menu.size());
+        assertEquals("id", menu.name(0));
+        assertEquals("popup", menu.name(3));
+        assertEquals("other", menu.getString("value"));
+        assertEquals("File", menu.getString(1));
+        JsonArray items = menu.getObject("popup").getArray("menuitem");
+        assertEquals(6, items.size());
+        assertEquals("New", items.getObject(0).getString("value"));
+        assertTrue(items.isNull(1));
+        assertEquals(JsonType.NUMBER, items.type(2));
+        assertEquals(NumberType.LONG, items.numberType(2));
+        assertEquals(-2872L, items.getLong(2));
+        assertEquals(-2872L, items.get(2));
+        assertEquals(NumberType.DOUBLE, items.numberType(3));
+        assertEquals(-923.1231, items.getDouble(3));
+        assertEquals(new BigDecimal("-923.1231"), items.getBigDecimal(3));
+        assertEquals("", items.getString(5));
+        assertEquals(NumberType.DOUBLE, menu.getObject("popup").numberType("test"));
+        assertEquals(1.2e19, menu.getObject("popup").getDouble("test"));
+        assertEquals(root, jp.readTree(root.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testWideObjectLookup() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < 100; i++) {
+            sb.append(i > 0 ? "," : "").append("\"k").append(i).append("\":").append(i % 2 == 0);
+        }
+        sb.append(",\"k7\":\"last\"}");
+        JsonObject o = (JsonObject) new JsonParser("/test.json").readTree(sb.toString().getBytes(StandardCharsets.UTF_8));
+        assertEquals(101, o.size());
+        assertTrue(o.getBoolean("k98"));
+        assertFalse(o.getBoolean("k99"));
+        assertEquals("last", o.getString("k7"));
+        assertEquals(-1, o.indexOf("missing"));
+        assertNull(o.get("missing"));
+    }
+
+    @Test
+    void testLargeNumberArray() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i > 0 ? "," : "").append(i).append(",").append(i).append(".5");
+        }
+        sb.append("]");
+        JsonArray a = (JsonArray) new JsonParser("/test.json").readTree(sb.toString().getBytes(StandardCharsets.UTF_8));
+        assertEquals(2000, a.size());
+        assertEquals(999L, a.getLong(1998));
+        assertEquals(999.5, a.getDouble(1999));
+    }
+}
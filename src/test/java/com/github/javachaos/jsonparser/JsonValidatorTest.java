@@ -0,0 +1,110 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.JsonValidator;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonValidatorTest {
+
+    private static byte[] utf8(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            b[i] = (byte) values[i];
+        }
+        return b;
+    }
+
+    @Test
+    void testValid() throws Exception {
+        JsonValidator validator = new JsonValidator();
+        for (String json : new String[]{"0", "-0.5e+10", "\"a\\u00e9\\n\\/\"", "[]", "{}", "null", "\"é😀\"",
+                " {\"a\": [1, {\"b\": null}], \"c\": true, \"d\": false }\r\n", "[1e5, -1E-2, 0.0, \"\"]"}) {
+            assertTrue(validator.isValid(utf8(json)), json);
+            validator.validate(utf8(json));
+        }
+        try (InputStream is = getClass().getResourceAsStream("/test.json")) {
+            // the parsers accept its trailing comma, RFC 8259 does not
+            byte[] json = Objects.requireNonNull(is).readAllBytes();
+            JsonParseException e = assertThrows(JsonParseException.class, () -> new JsonParser("").validate(json));
+            assertEquals(11, e.getLine());
+            assertEquals(5, e.getColumn());
+            assertTrue(new JsonParser("").isValid(new String(json, StandardCharsets.UTF_8)
+                    .replace("\"\",\n", "\"\"\n").getBytes(StandardCharsets.UTF_8)));
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        direct.put(utf8("xx[1, 2]")).flip().position(2);
+        assertTrue(validator.isValid(direct));
+        assertEquals(2, direct.position());
+        assertTrue(validator.isValid(ByteBuffer.wrap(utf8("xx{}")).position(2)));
+
+        assertTrue(new JsonValidator(2).isValid(utf8("[[]]")));
+        assertFalse(new JsonValidator(2).isValid(utf8("[[[]]]")));
+    }
+
+    @Test
+    void testErrors() {
+        JsonValidator validator = new JsonValidator();
+        Object[][] cases = {
+                {utf8(""), 0, "Unexpected end of input"},
+                {utf8("[1,]"), 3, "Expected a value"},
+                {utf8("{\"a\":1,}"), 7, "Expected a field name"},
+                {utf8("[01]"), 2, "Leading zeros are not allowed"},
+                {utf8("[1.]"), 3, "Expected a digit"},
+                {utf8("-"), 1, "Expected a digit"},
+                {utf8("[1e]"), 3, "Expected a digit"},
+                {utf8("\"a\tb\""), 2, "Control character in string"},
+                {utf8("\"\\x\""), 1, "Invalid escape"},
+                {utf8("\"\\u12G4\""), 1, "Invalid unicode escape"},
+                {utf8("{\"a\" 1}"), 5, "Expected ':'"},
+                {utf8("[1 2]"), 3, "Expected ',' or ']'"},
+                {utf8("{\"a\":1 \"b\"}"), 7, "Expected ',' or '}'"},
+                {utf8("{} {}"), 3, "Unexpected data after the end of the document"},
+                {utf8("tru"), 0, "Expected true"},
+                {utf8("[nul]"), 1, "Expected null"},
+                {utf8("\"abc"), 4, "Unterminated string"},
+                {utf8("\uFEFF{}"), 0, "Expected a value"},
+                {utf8("'a'"), 0, "Expected a value"},
+                {bytes('"', 0xC0, 0xAF, '"'), 1, "Invalid UTF-8"},
+                {bytes('"', 0xED, 0xA0, 0x80, '"'), 1, "Invalid UTF-8"},
+                {bytes('"', 0xF4, 0x90, 0x80, 0x80, '"'), 1, "Invalid UTF-8"},
+                {bytes('"', 0xE2, 0x82, '"'), 1, "Invalid UTF-8"},
+                {bytes('"', 0x80, '"'), 1, "Invalid UTF-8"},
+        };
+        for (Object[] c : cases) {
+            byte[] json = (byte[]) c[0];
+            String name = new String(json, StandardCharsets.ISO_8859_1);
+            assertFalse(validator.isValid(json), name);
+            JsonParseException e = assertThrows(JsonParseException.class, () -> validator.validate(json), name);
+            assertEquals(((Integer) c[1]).longValue(), e.getOffset(), name);
+            assertTrue(e.getMessage().startsWith((String) c[2] + " at offset " + c[1]), e.getMessage());
+        }
+
+        byte[] json = utf8("{\n  \"é😀\": [1,\n  ]}");
+        JsonParseException e = assertThrows(JsonParseException.class, () -> new JsonParser("").validate(json));
+        assertEquals(3, e.getLine());
+        assertEquals(3, e.getColumn());
+        assertEquals(json.length - 2, e.getOffset());
+
+        e = assertThrows(JsonParseException.class,
+                () -> validator.validate(utf8("{\"é😀\": tx}")));
+        assertEquals(1, e.getLine());
+        assertEquals(8, e.getColumn());
+        assertEquals(11, e.getOffset());
+        assertThrows(JsonParseException.class, () -> validator.validate(ByteBuffer.wrap(utf8("[1,2"))));
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.writer.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonWriterTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        byte[] json;
+        try (InputStream is = getClass().getResourceAsStream("/test.json")) {
+            json = new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("\"\",\n", "\"tab\\t \\u0001 😀 é\", -9223372036854775808, 1e400, 0.1\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+        JsonParser parser = new JsonParser("");
+        Object tree = parser.readTree(json);
+
+        JsonWriter compact = new JsonWriter();
+        byte[] written = compact.write(tree).toByteArray();
+        assertEquals(tree, parser.readTree(written));
+        assertEquals(tree.toString(), new String(written, StandardCharsets.UTF_8));
+
+        JsonWriter pretty = new JsonWriter(true);
+        byte[] indented = pretty.write(tree).toByteArray();
+        assertEquals(tree, parser.readTree(indented));
+        assertEquals("{\n  \"menu\": {", new String(indented, 0, 13, StandardCharsets.UTF_8));
+
+        compact.reset();
+        try (JsonCursor cursor = parser.cursor(json)) {
+            compact.copy(cursor);
+        }
+        assertEquals(tree, parser.readTree(compact.toByteArray()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter streamed = new JsonWriter(Channels.newChannel(out), false)) {
+            for (int i = 0; i < 1000; i++) {
+                streamed.write(tree);
+            }
+        }
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1000, lines.length);
+        assertArrayEquals(written, lines[999].getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testValuesAndMisuse() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter w = new JsonWriter(out, false);
+        w.startObject()
+                .name("s").value("q\"\\\n \ud800")
+                .name("n").startArray().value(0).value(-12).value(1234567890123L).value(1.5)
+                .value(new BigDecimal("1E+400")).value(2.5f).nullValue().value(true).endArray()
+                .name("e").startObject().endObject()
+                .endObject()
+                .flush();
+        assertEquals("{\"s\":\"q\\\"\\\\\\n \\ud800\",\"n\":[0,-12,1234567890123,1.5,1E+400,2.5,null,true],"
+                + "\"e\":{}}", out.toString(StandardCharsets.UTF_8));
+
+        JsonWriter pretty = new JsonWriter(true);
+        pretty.startObject().name("a").startArray().value(1).endArray().name("b").startArray().endArray()
+                .endObject();
+        assertEquals("{\n  \"a\": [\n    1\n  ],\n  \"b\": []\n}",
+                new String(pretty.toByteArray(), StandardCharsets.UTF_8));
+
+        JsonWriter bad = new JsonWriter();
+        assertThrows(IllegalStateException.class, () -> bad.name("x"));
+        bad.startObject();
+        assertThrows(IllegalStateException.class, () -> bad.value(1));
+        assertThrows(IllegalStateException.class, bad::endArray);
+        assertThrows(IllegalArgumentException.class, () -> bad.name("x").value(Double.NaN));
+    }
+
+    @Test
+    void testFailedWrites() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        JsonWriter w = new JsonWriter(broken, false);
+        w.startArray().value(1).endArray();
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, w::flush);
+        assertEquals("disk full", e.getCause().getMessage());
+        JsonWriter c = new JsonWriter(Channels.newChannel(broken), false);
+        c.value("x");
+        assertThrows(UncheckedIOException.class, c::close);
+    }
+}
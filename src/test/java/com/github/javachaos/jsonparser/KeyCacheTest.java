@@ -0,0 +1,91 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonArray;
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.CharacterStreamReader;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class KeyCacheTest {
+
+    private static final String JSON = "[{\"id\": 1, \"naïve\": 2, \"a\\\"b\": 3},"
+            + " {\"id\": 4, \"naïve\": 5, \"a\\\"b\": 6}]";
+
+    @Test
+    void testRepeatedNamesAreShared() {
+        byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        JsonArray tree = (JsonArray) new JsonParser("").readTree(json);
+        JsonObject first = (JsonObject) tree.get(0);
+        JsonObject second = (JsonObject) tree.get(1);
+        assertEquals(List.of("id", "naïve", "a\"b"), List.of(first.name(0), first.name(1), first.name(2)));
+        assertSame(first.name(0), second.name(0));
+        assertSame(first.name(1), second.name(1));
+        assertNotSame(first.name(2), second.name(2));
+
+        JsonObject streamed = (JsonObject) ((JsonArray) new JsonParser("")
+                .readTree(new ByteArrayInputStream(json))).get(0);
+        assertSame(first.name(0), streamed.name(0));
+        assertEquals(first, streamed);
+    }
+
+    @Test
+    void testCursorWithoutCache() {
+        byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        List<String> cached = names(new JsonCursor(new CharacterStreamReader(new ByteArrayInputStream(json), 7)));
+        List<String> plain = names(new JsonCursor(new CharacterStreamReader(new ByteArrayInputStream(json), 7),
+                null));
+        assertEquals(plain, cached);
+        assertNotSame(plain.get(0), plain.get(3));
+    }
+
+    @Test
+    void testBoundedAndCollisions() {
+        KeyCache keys = new KeyCache(3);
+        assertEquals(4, keys.capacity());
+        List<String> seen = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            byte[] name = ("k" + i).getBytes(StandardCharsets.UTF_8);
+            int hash = 0;
+            for (byte b : name) {
+                hash = KeyCache.hash(hash, b & 0xFF);
+            }
+            String s = keys.get(ByteBuffer.wrap(name), 0, name.length, hash);
+            assertEquals("k" + i, s);
+            assertSame(s, keys.get(("k" + i).toCharArray(), 0, name.length, hash));
+            seen.add(s);
+        }
+        for (int i = 0; i < 100; i++) {
+            char[] name = ("k" + i).toCharArray();
+            int hash = 0;
+            for (char c : name) {
+                hash = KeyCache.hash(hash, c);
+            }
+            assertEquals(seen.get(i), keys.get(name, 0, name.length, hash));
+        }
+    }
+
+    private static List<String> names(JsonCursor cursor) {
+        List<String> names = new ArrayList<>();
+        try (cursor) {
+            while (cursor.hasNext()) {
+                if (cursor.next() == JsonEvent.FIELD_NAME) {
+                    names.add(cursor.getText());
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,242 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.CharacterStreamReader;
+import com.github.javachaos.jsonparser.utils.IndexedUtf8Source;
+import com.github.javachaos.jsonparser.utils.JsonSource;
+import com.github.javachaos.jsonparser.utils.MappedFileSource;
+import com.github.javachaos.jsonparser.utils.Utf8Source;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LargeStringTest {
+
+    private static final String VALUE;
+    private static final String JSON;
+
+    static {
+        StringBuilder value = new StringBuilder();
+        StringBuilder escaped = new StringBuilder();
+        String[][] pieces = {{"plain text ", "plain text "}, {"é", "é"}, {"😀", "😀"}, {"\n", "\\n"},
+                {"\"", "\\\""}, {"€", "\\u20ac"}, {"😀", "\\ud83d\\ude00"}, {"/", "\\/"}};
+        Random random = new Random(7);
+        while (value.length() < 100_000) {
+            String[] piece = pieces[random.nextInt(pieces.length)];
+            value.append(piece[0]);
+            escaped.append(piece[1]);
+        }
+        VALUE = value.toString();
+        JSON = "{\"blob\": \"" + escaped + "\", \"after\": [\"x\", \"" + escaped + "\"]}";
+    }
+
+    private static String readAll(Reader reader, int chunk) throws IOException {
+        StringBuilder str = new StringBuilder();
+        if (chunk == 1) {
+            int c;
+            while ((c = reader.read()) >= 0) {
+                str.append((char) c);
+            }
+            return str.toString();
+        }
+        char[] buf = new char[chunk];
+        int n;
+        while ((n = reader.read(buf, 1, chunk - 1)) >= 0) {
+            str.append(buf, 1, n);
+        }
+        return str.toString();
+    }
+
+    private static List<JsonSource> sources(Path dir) throws IOException {
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        Path file = dir.resolve("large.json");
+        Files.write(file, bytes);
+        List<JsonSource> sources = new ArrayList<>();
+        sources.add(new Utf8Source(bytes));
+        sources.add(new IndexedUtf8Source(bytes));
+        sources.add(new CharacterStreamReader(new ByteArrayInputStream(bytes), 16));
+        sources.add(MappedFileSource.open(file, 4096));
+        return sources;
+    }
+
+    @Test
+    void testReader(@TempDir Path dir) throws IOException {
+        for (int chunk : new int[]{1, 2, 7, 8192}) {
+            for (JsonSource source : sources(dir)) {
+                try (JsonCursor cursor = new JsonCursor(source)) {
+                    cursor.next();
+                    cursor.next();
+                    assertEquals(JsonEvent.VALUE_STRING, cursor.next());
+                    Reader reader = cursor.getReader();
+                    assertEquals(VALUE, readAll(reader, chunk), source + " " + chunk);
+                    assertEquals(-1, reader.read());
+                    assertThrows(IllegalStateException.class, cursor::getText);
+
+                    assertEquals("after", cursor.next() == JsonEvent.FIELD_NAME ? cursor.getText() : null);
+                    assertEquals(JsonEvent.START_ARRAY, cursor.next());
+                    assertEquals(JsonEvent.VALUE_STRING, cursor.next());
+                    assertEquals("x", cursor.getText());
+                    assertEquals("x", readAll(cursor.getReader(), chunk));
+                    assertEquals(JsonEvent.VALUE_STRING, cursor.next());
+                    reader = cursor.getReader();
+                    char[] start = new char[5];
+                    assertEquals(5, reader.read(start));
+                    assertEquals(VALUE.substring(0, 5), new String(start));
+                    assertEquals(JsonEvent.END_ARRAY, cursor.next());
+                    assertEquals(-1, reader.read());
+                    assertEquals(JsonEvent.END_OBJECT, cursor.next());
+                    assertFalse(cursor.hasNext());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testReaderErrors() throws IOException {
+        JsonParser parser = new JsonParser("");
+        try (JsonCursor cursor = parser.cursor("[1, \"abc".getBytes(StandardCharsets.UTF_8))) {
+            cursor.next();
+            cursor.next();
+            assertThrows(IllegalStateException.class, cursor::getReader);
+            cursor.next();
+            Reader reader = cursor.getReader();
+            assertThrows(JsonParseException.class, () -> readAll(reader, 16));
+        }
+        try (JsonCursor cursor = parser.cursor("\"a\\x\"".getBytes(StandardCharsets.UTF_8))) {
+            cursor.next();
+            assertThrows(JsonParseException.class, () -> readAll(cursor.getReader(), 16));
+        }
+        byte[] malformed = {'"', 'a', (byte) 0xE2, (byte) 0x82, 'b', (byte) 0xF0, (byte) 0x9F, (byte) 0x98,
+                (byte) 0x80, (byte) 0xE0, (byte) 0x80, (byte) 0xC1, (byte) 0xED, (byte) 0xA0, (byte) 0x80,
+                (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0xED, (byte) 0xBF, 'c', (byte) 0xF5, '"'};
+        try (JsonCursor cursor = parser.cursor(malformed)) {
+            cursor.next();
+            assertEquals(new String(malformed, 1, malformed.length - 2, StandardCharsets.UTF_8),
+                    readAll(cursor.getReader(), 2));
+        }
+    }
+
+    @Test
+    void testBinary(@TempDir Path dir) throws IOException {
+        byte[] data = new byte[300_001];
+        new Random(11).nextBytes(data);
+        String[] encodings = {Base64.getEncoder().encodeToString(data).replace("/", "\\/"),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(data)};
+        for (String encoded : encodings) {
+            byte[] json = ("[\"" + encoded + "\", 1]").getBytes(StandardCharsets.UTF_8);
+            Path file = dir.resolve("binary.json");
+            Files.write(file, json);
+            JsonParser parser = new JsonParser("");
+            for (JsonCursor cursor : new JsonCursor[]{parser.cursor(json), parser.cursor(file),
+                    parser.cursor(new ByteArrayInputStream(json))}) {
+                try (cursor) {
+                    cursor.next();
+                    cursor.next();
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    assertEquals(data.length, cursor.readBinary(out));
+                    assertArrayEquals(data, out.toByteArray());
+                    assertEquals(JsonEvent.VALUE_NUMBER, cursor.next());
+                }
+            }
+            try (JsonCursor cursor = parser.cursor(json)) {
+                cursor.next();
+                cursor.next();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                assertEquals(data.length, cursor.readBinary(Channels.newChannel(out)));
+                assertArrayEquals(data, out.toByteArray());
+            }
+        }
+        JsonParser parser = new JsonParser("");
+        for (String bad : new String[]{"\"abc*\"", "\"a\"", "\"ab=c\"", "\"abc==\"", "\"ab=\"", "\"a===\""}) {
+            try (JsonCursor cursor = parser.cursor(bad.getBytes(StandardCharsets.UTF_8))) {
+                cursor.next();
+                assertThrows(JsonParseException.class, () -> cursor.readBinary(new ByteArrayOutputStream()), bad);
+            }
+        }
+        String[][] good = {{"\"\"", ""}, {"\"YQ==\"", "a"}, {"\"YQ\"", "a"}, {"\"YWI=\"", "ab"}};
+        for (String[] c : good) {
+            try (JsonCursor cursor = parser.cursor(c[0].getBytes(StandardCharsets.UTF_8))) {
+                cursor.next();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                assertEquals(c[1].length(), cursor.readBinary(out));
+                assertEquals(c[1], out.toString(StandardCharsets.US_ASCII), c[0]);
+            }
+        }
+    }
+
+    @Test
+    void testBoundedMemory() throws IOException {
+        int size = 32 << 20;
+        InputStream in = new InputStream() {
+            private int pos = -1;
+
+            @Override
+            public int read() {
+                if (pos == -1 || pos == size) {
+                    pos++;
+                    return '"';
+                }
+                if (pos > size) {
+                    return -1;
+                }
+                pos++;
+                return 'A';
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                for (int i = 0; i < len; i++) {
+                    int c = read();
+                    if (c < 0) {
+                        return i == 0 ? -1 : i;
+                    }
+                    b[off + i] = (byte) c;
+                }
+                return len;
+            }
+        };
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long bytes;
+        try (JsonCursor cursor = new JsonParser("").cursor(in)) {
+            cursor.next();
+            bytes = cursor.readBinary(new java.io.OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                }
+            });
+            assertFalse(cursor.hasNext());
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(size / 4 * 3, bytes);
+        assertTrue(allocated < 4 << 20, "allocated " + allocated);
+    }
+}
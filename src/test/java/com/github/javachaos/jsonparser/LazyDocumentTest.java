@@ -0,0 +1,70 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonType;
+import com.github.javachaos.jsonparser.dom.LazyArray;
+import com.github.javachaos.jsonparser.dom.LazyDocument;
+import com.github.javachaos.jsonparser.dom.LazyObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyDocumentTest {
+
+    private static final String JSON = "{\"menu\": {\"id\": \"file\", \"value\": \"File\", \"value\": \"other\", "
+            + "\"popup\": {\"menuitem\": [{\"value\": \"New\"}, null, -2872, -923.1231, 102, \"a\\\"b\\u00e9\"], "
+            + "\"test\" : 12e18, \"big\": 123456789012345678901234567890}}, \"flag\": true}";
+
+    @Test
+    void testFieldAccess() {
+        JsonParser jp = new JsonParser("/test.json");
+        LazyObject root = (LazyObject) jp.readLazy(JSON.getBytes(StandardCharsets.UTF_8)).root();
+        assertEquals(2, root.size());
+        assertTrue(root.getBoolean("flag"));
+        LazyObject menu = root.getObject("menu");
+        assertSame(menu, root.getObject("menu"));
+        assertEquals(4, menu.size());
+        assertEquals("other", menu.getString("value"));
+        assertEquals("File", menu.getString(1));
+        LazyObject popup = menu.getObject("popup");
+        LazyArray items = popup.getArray("menuitem");
+        assertEquals(6, items.size());
+        assertEquals("New", items.getObject(0).getString("value"));
+        assertTrue(items.isNull(1));
+        assertNull(items.get(1));
+        assertEquals(-2872L, items.getLong(2));
+        assertEquals(-923.1231, items.getDouble(3));
+        assertEquals(JsonType.NUMBER, items.type(4));
+        assertEquals("a\"bé", items.getString(5));
+        assertEquals(1.2e19, popup.getDouble("test"));
+        assertEquals(new BigDecimal("123456789012345678901234567890"), popup.getBigDecimal("big"));
+        assertEquals("{\"value\": \"New\"}", items.getObject(0).toString());
+        assertEquals(jp.readTree(JSON.getBytes(StandardCharsets.UTF_8)), root.toTree());
+    }
+
+    @Test
+    void testOnlyTouchedPartsAreRead() {
+        byte[] json = ("  {\"skip\": [1, {\"x\": [\"]}\", tru]}], \"wanted\": 42, \"bad\": -} ")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] padded = new byte[json.length + 4];
+        System.arraycopy(json, 0, padded, 2, json.length);
+        LazyObject root = (LazyObject) LazyDocument.of(ByteBuffer.wrap(padded, 2, json.length)).root();
+        assertEquals(42L, root.getNumber("wanted"));
+        assertEquals(JsonType.ARRAY, root.type(0));
+        assertThrows(JsonParseException.class, () -> root.get("bad"));
+        assertThrows(JsonParseException.class, () -> root.getArray("skip").getObject(1).getArray("x").get(1));
+        assertEquals("]}", root.getArray("skip").getObject(1).getArray("x").getString(0));
+        assertThrows(JsonParseException.class, () -> LazyDocument.of("{\"a\" 1}".getBytes(StandardCharsets.UTF_8))
+                .toString());
+        assertEquals(7L, LazyDocument.of(" 7 ".getBytes(StandardCharsets.UTF_8)).root());
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.NdjsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonParserTest {
+
+    @Test
+    void testOrderedAndUnordered(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("records.ndjson");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("{\"seq\": ").append(i).append(", \"msg\": \"line ").append(i).append(" é\"}\n");
+            if (i % 100 == 0) {
+                sb.append("  \r\n");
+            }
+        }
+        sb.append("[\"last\", \"no newline\"]");
+        Files.writeString(file, sb.toString());
+
+        ForkJoinPool executor = new ForkJoinPool(4);
+        try {
+            NdjsonParser parser = new NdjsonParser(executor, 100);
+            List<Object> ordered = new ArrayList<>();
+            parser.forEachOrdered(file, ordered::add);
+            assertEquals(5001, ordered.size());
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(i, ((JsonObject) ordered.get(i)).getLong("seq"));
+            }
+            assertEquals("[\"last\",\"no newline\"]", ordered.get(5000).toString());
+
+            try (Stream<Object> records = parser.stream(file)) {
+                assertEquals(ordered, records.collect(Collectors.toList()));
+            }
+
+            ConcurrentHashMap.KeySetView<Object, Boolean> unordered = ConcurrentHashMap.newKeySet();
+            new NdjsonParser(executor, 4096).forEach(file, unordered::add);
+            assertEquals(5001, unordered.size());
+            assertTrue(unordered.containsAll(ordered));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidRecord(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("bad.ndjson");
+        Files.write(file, "{\"a\": 1}\n{\"a\": 2,}\n".getBytes(StandardCharsets.UTF_8));
+        JsonParseException e = assertThrows(JsonParseException.class,
+                () -> new NdjsonParser().forEachOrdered(file, r -> { }));
+        assertTrue(e.getMessage().contains("byte offset 9"), e.getMessage());
+        JsonParseException cause = assertInstanceOf(JsonParseException.class, e.getCause());
+        assertTrue(e.getMessage().endsWith(cause.getMessage()), e.getMessage());
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.JsonFeedParser;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.JsonParserPool;
+import com.github.javachaos.jsonparser.utils.KeyCache;
+import com.github.javachaos.jsonparser.utils.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NestingDepthTest {
+
+    /**
+     * An object holding arrays nested depth - 1 deep, alternating with objects.
+     */
+    private static byte[] nested(int depth) {
+        StringBuilder sb = new StringBuilder("{\"a\":");
+        for (int i = 1; i < depth; i++) {
+            sb.append(i % 2 == 0 ? "{\"a\":" : "[");
+        }
+        sb.append("1");
+        for (int i = depth - 1; i > 0; i--) {
+            sb.append(i % 2 == 0 ? "}" : "]");
+        }
+        return sb.append("}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testDeepNestingWithinLimit() {
+        int depth = 100_000;
+        byte[] json = nested(depth);
+        JsonParser parser = new JsonParser("", false, depth);
+
+        // Pair and HashSet hash their contents recursively, so legacy results are only built a few thousand deep
+        Set<Pair<String, Object>> data = parser.parse(nested(2000));
+        assertEquals(1, data.size());
+        assertEquals("[a : [[[[a : [[[1]]]]]]]]", new JsonParser("").parse(nested(4)).toString());
+
+        int max = 0;
+        try (JsonCursor cursor = parser.cursor(json)) {
+            while (cursor.hasNext()) {
+                cursor.next();
+                max = Math.max(max, cursor.depth());
+            }
+        }
+        assertEquals(depth, max);
+        assertTrue(parser.readTree(json) != null);
+        assertTrue(new JsonParserPool(1, false, depth).readTree(json) != null);
+
+        JsonFeedParser feed = new JsonFeedParser(KeyCache.shared(), depth);
+        feed.feed(json, 0, json.length);
+        feed.endOfInput();
+        int events = 0;
+        while (feed.nextEvent() != null) {
+            events++;
+        }
+        assertEquals(2 * depth + depth / 2 + 1, events);
+    }
+
+    @Test
+    void testDepthLimit() {
+        byte[] json = nested(11);
+        JsonParser parser = new JsonParser("", false, 10);
+        assertTrue(parser.parse(json).isEmpty());
+        assertEquals(1, new JsonParser("", false, 11).parse(json).size());
+        assertThrows(JsonParseException.class, () -> parser.readTree(json));
+        assertThrows(JsonParseException.class, () -> new JsonParserPool(1, false, 10).readTree(json));
+        assertThrows(JsonParseException.class, () -> {
+            try (JsonCursor cursor = parser.cursor(json)) {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                }
+            }
+        });
+
+        JsonFeedParser feed = new JsonFeedParser(KeyCache.shared(), 10);
+        feed.feed(json, 0, json.length);
+        feed.endOfInput();
+        assertThrows(JsonParseException.class, () -> {
+            while (feed.nextEvent() != null) {
+                feed.getText();
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> new JsonParser("", false, 0));
+
+        JsonParser fallback = new JsonParser("");
+        assertThrows(JsonParseException.class, () -> fallback.readTree(nested(JsonParser.DEFAULT_MAX_DEPTH + 1)));
+        assertEquals(JsonEvent.START_OBJECT, fallback.cursor(nested(JsonParser.DEFAULT_MAX_DEPTH)).next());
+    }
+}
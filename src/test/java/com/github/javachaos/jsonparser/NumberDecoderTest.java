@@ -0,0 +1,104 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.NumberType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NumberDecoderTest {
+
+    private final JsonParser jp = new JsonParser("/test.json");
+
+    private JsonCursor number(String text) {
+        JsonCursor cursor = jp.cursor(text.getBytes(StandardCharsets.UTF_8));
+        assertEquals(JsonEvent.VALUE_NUMBER, cursor.next(), text);
+        return cursor;
+    }
+
+    private void assertDouble(String text) {
+        try (JsonCursor cursor = number(text)) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(text)),
+                    Double.doubleToLongBits(cursor.getDouble()), text);
+            assertEquals(text, cursor.getText());
+        }
+    }
+
+    @Test
+    void testEdgeCases() {
+        String[] cases = {"0.0", "-0.0", "0.1", "1.7976931348623157e308", "1.7976931348623159e308", "1e308",
+                "2e308", "1e-400", "4.9e-324", "2.4e-324", "2.5e-324", "2.2250738585072011e-308",
+                "2.2250738585072014e-308", "9007199254740993.0", "9007199254740992.5", "9007199254740994.5",
+                "1.00000000000000011102230246251565404236316680908203125",
+                "1.00000000000000011102230246251565404236316680908203124",
+                "1.00000000000000011102230246251565404236316680908203126",
+                "123456789012345678901234567890.5", "0.000000000000000000000000000001234567890123456789",
+                "7.2057594037927933e16", "3.14159265358979323846264338327950288", "1e23", "8.98846567431158e307",
+                "-123.456e-7", "5e-1", "1E+2", "0.5E-2"};
+        for (String c : cases) {
+            assertDouble(c);
+        }
+    }
+
+    @Test
+    void testRandomDoubles() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                continue;
+            }
+            assertDouble(Double.toString(d));
+            assertDouble(new BigDecimal(d).toString());
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertDouble(random.nextInt(100_000) + "." + Math.abs(random.nextLong()) + "e" + (random.nextInt(80) - 40));
+        }
+    }
+
+    @Test
+    void testNumberTypes() {
+        try (JsonCursor cursor = number("9223372036854775807")) {
+            assertEquals(NumberType.LONG, cursor.getNumberType());
+            assertEquals(Long.MAX_VALUE, cursor.getLong());
+        }
+        try (JsonCursor cursor = number("-9223372036854775808")) {
+            assertEquals(NumberType.LONG, cursor.getNumberType());
+            assertEquals(Long.MIN_VALUE, cursor.getLong());
+        }
+        try (JsonCursor cursor = number("9223372036854775808")) {
+            assertEquals(NumberType.BIG_DECIMAL, cursor.getNumberType());
+            assertEquals(new BigDecimal("9223372036854775808"), cursor.getNumber());
+        }
+        try (JsonCursor cursor = number("-0")) {
+            assertEquals(NumberType.LONG, cursor.getNumberType());
+            assertEquals(0L, cursor.getNumber());
+        }
+        try (JsonCursor cursor = number("2.5")) {
+            assertEquals(NumberType.DOUBLE, cursor.getNumberType());
+            assertEquals(2.5, cursor.getNumber());
+            assertEquals(2L, cursor.getLong());
+        }
+        try (JsonCursor cursor = number("1e400")) {
+            assertEquals(NumberType.BIG_DECIMAL, cursor.getNumberType());
+            assertEquals(new BigDecimal("1e400"), cursor.getBigDecimal());
+        }
+        for (String bad : new String[]{"01", "1.", "-", "1e", ".5", "1.e3", "--1"}) {
+            assertThrows(JsonParseException.class, () -> {
+                try (JsonCursor cursor = jp.cursor(bad.getBytes(StandardCharsets.UTF_8))) {
+                    while (cursor.hasNext()) {
+                        cursor.next();
+                    }
+                }
+            }, bad);
+        }
+    }
+}
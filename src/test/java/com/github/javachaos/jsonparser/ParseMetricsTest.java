@@ -0,0 +1,104 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.metrics.ParseMetrics;
+import com.github.javachaos.jsonparser.metrics.ParseStatistics;
+import com.github.javachaos.jsonparser.metrics.ParseStats;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.parser.JsonParserPool;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParseMetricsTest {
+
+    private static final byte[] JSON = "{\"a\": [1, 2.5, \"x\"],\n \"b\": {\"c\": \"y\", \"d\": null}}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testDocumentStats() {
+        List<String> seen = new ArrayList<>();
+        ParseMetrics metrics = new ParseMetrics() {
+            @Override
+            public void documentParsed(ParseStats stats) {
+                seen.add("ok " + stats.bytes() + " " + stats.tokens() + " " + stats.maxDepth() + " "
+                        + stats.strings() + " " + stats.numbers() + " " + stats.errorPosition());
+                assertTrue(stats.nanos() > 0);
+            }
+
+            @Override
+            public void documentFailed(ParseStats stats, JsonParseException e) {
+                seen.add("failed " + stats.errorPosition() + " " + stats.errorLine() + " " + stats.strings());
+            }
+        };
+        JsonParser parser = new JsonParser("", false, JsonParser.DEFAULT_MAX_DEPTH, metrics);
+        parser.readTree(JSON);
+        try (JsonCursor cursor = parser.cursor(JSON)) {
+            while (cursor.hasNext()) {
+                cursor.next();
+            }
+            assertThrows(java.util.NoSuchElementException.class, cursor::next);
+        }
+        assertEquals(2, parser.parse(JSON).size());
+
+        byte[] bad = "{\"a\": [\"x\",\n ]}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(JsonParseException.class, () -> parser.readTree(bad));
+        assertTrue(parser.parse(bad).isEmpty());
+
+        // 15 events; parse() counts tokens instead
+        assertEquals(List.of("ok 49 15 2 2 2 -1", "ok 49 15 2 2 2 -1", "ok 49 21 2 2 2 -1",
+                "failed 13 1 1", "failed 13 1 1"), seen);
+    }
+
+    @Test
+    void testStatisticsAcrossThreads() throws Exception {
+        ParseStatistics statistics = new ParseStatistics();
+        JsonParserPool pool = new JsonParserPool(4, false, JsonParser.DEFAULT_MAX_DEPTH, statistics);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        pool.readTree(JSON);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertThrows(JsonParseException.class, () -> pool.readTree("[1, 2".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1000, statistics.documents());
+        assertEquals(1, statistics.failures());
+        assertEquals(1000 * 49 + 5, statistics.bytes());
+        assertEquals(1000 * 15 + 3, statistics.tokens());
+        assertEquals(2000, statistics.strings());
+        assertEquals(2002, statistics.numbers());
+        assertEquals(2, statistics.maxDepth());
+        assertEquals(5, statistics.lastErrorPosition());
+        assertEquals(0, statistics.lastErrorLine());
+        assertTrue(statistics.bytesPerSecond() > 0);
+        assertTrue(statistics.maxNanos() > 0);
+
+        statistics.reset();
+        assertEquals(0, statistics.documents());
+        assertNull(statistics.lastErrorMessage());
+    }
+}
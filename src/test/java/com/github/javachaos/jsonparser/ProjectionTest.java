@@ -0,0 +1,58 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.JsonObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.path.JsonPath;
+import com.github.javachaos.jsonparser.path.Projection;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProjectionTest {
+
+    private static final byte[] JSON = ("{\"menu\": {\"id\": \"file\", \"value\": \"File\", \"value\": \"other\", "
+            + "\"popup\": {\"menuitem\": [{\"value\": \"New\", \"onclick\": \"CreateNewDoc()\"}, "
+            + "{\"value\": \"Open\", \"onclick\": \"OpenDoc()\"}, {\"value\": \"Close\"}, null, -2872, 1.5], "
+            + "\"test\" : 12e18}}, \"skipped\": [[[{\"deep\": [1, 2, 3]}]]]}").getBytes(StandardCharsets.UTF_8);
+
+    private static List<Object> select(String path, byte[] json) {
+        return new JsonParser("/test.json").select(json, Projection.of(path)).get(JsonPath.compile(path));
+    }
+
+    @Test
+    void testPaths() {
+        assertEquals(List.of("New", "Open", "Close"), select("$.menu.popup.menuitem[*].value", JSON));
+        assertEquals(List.of("File", "other"), select("$.menu.value", JSON));
+        assertEquals(List.of(-2872L), select("$['menu'][\"popup\"].menuitem[4]", JSON));
+        assertEquals(List.of(1.2e19), select("$.menu.popup.test", JSON));
+        assertEquals(List.of(1L, 2L, 3L), select("$.skipped[0][0][0].deep[*]", JSON));
+        assertEquals(List.of(), select("$.menu.missing[*]", JSON));
+        assertEquals(2, select("$.*", JSON).size());
+        assertEquals(1, select("$", JSON).size());
+    }
+
+    @Test
+    void testOverlappingPaths() {
+        Map<JsonPath, List<Object>> result = new JsonParser("/test.json").select(JSON,
+                Projection.of("$.menu.popup.menuitem[0]", "$.menu.popup.menuitem[*].onclick", "$.menu.id"));
+        List<List<Object>> values = List.copyOf(result.values());
+        assertEquals("New", ((JsonObject) values.get(0).get(0)).getString("value"));
+        assertEquals(List.of("CreateNewDoc()", "OpenDoc()"), values.get(1));
+        assertEquals(List.of("file"), values.get(2));
+    }
+
+    @Test
+    void testSkippedPartsAreStillChecked() {
+        assertThrows(JsonParseException.class,
+                () -> select("$.a", "{\"a\": 1, \"b\": [01]}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$..a"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("menu"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[x]"));
+    }
+}
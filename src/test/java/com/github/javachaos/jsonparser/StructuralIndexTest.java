@@ -0,0 +1,111 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.StructuralIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StructuralIndexTest {
+
+    private static final String ALPHABET = "\"\\\\{}[]:,  \n\tab1é";
+
+    /**
+     * One byte at a time reference for the structural bitmap.
+     */
+    private static List<Integer> structurals(byte[] b) {
+        List<Integer> result = new ArrayList<>();
+        boolean escaped = false;
+        boolean inString = false;
+        boolean prevScalar = false;
+        for (int i = 0; i < b.length; i++) {
+            byte c = b[i];
+            boolean isEscaped = escaped;
+            escaped = c == '\\' && !isEscaped;
+            if (c == '"' && !isEscaped) {
+                result.add(i);
+                inString = !inString;
+                prevScalar = false;
+                continue;
+            }
+            boolean op = c == '{' || c == '}' || c == '[' || c == ']' || c == ':' || c == ',';
+            boolean ws = c == ' ' || c == '\n' || c == '\r' || c == '\t';
+            boolean scalar = !op && !ws;
+            if (!inString && (op || scalar && !prevScalar)) {
+                result.add(i);
+            }
+            prevScalar = scalar;
+        }
+        return result;
+    }
+
+    @Test
+    void testEngine() {
+        assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), StructuralIndex.vectorized());
+    }
+
+    @Test
+    void testMatchesReference() {
+        Random random = new Random(7);
+        StructuralIndex index = new StructuralIndex();
+        for (int n = 0; n < 3000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(300);
+            for (int i = 0; i < length; i++) {
+                sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            int offset = random.nextInt(5);
+            byte[] padded = new byte[bytes.length + offset + 3];
+            System.arraycopy(bytes, 0, padded, offset, bytes.length);
+            index.build(ByteBuffer.wrap(padded, offset, bytes.length));
+
+            List<Integer> actual = new ArrayList<>();
+            for (int i = index.nextStructural(0); i >= 0; i = index.nextStructural(i + 1)) {
+                actual.add(i);
+            }
+            assertEquals(structurals(bytes), actual, sb.toString());
+
+            int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+            int to = from + random.nextInt(bytes.length - from + 1);
+            int newlines = 0;
+            boolean backslash = false;
+            for (int i = from; i < to; i++) {
+                newlines += bytes[i] == '\n' ? 1 : 0;
+                backslash |= bytes[i] == '\\';
+            }
+            assertEquals(newlines, index.newlines(from, to));
+            assertEquals(backslash, index.hasBackslash(from, to));
+        }
+    }
+
+    @Test
+    void testIndexedParseMatches() throws Exception {
+        byte[] json;
+        try (InputStream is = getClass().getResourceAsStream("/test.json")) {
+            json = new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("\"\",\n", "\"café \\\"日本\\\\\"\n").getBytes(StandardCharsets.UTF_8);
+        }
+        JsonParser plain = new JsonParser("/test.json");
+        JsonParser indexed = new JsonParser("/test.json", true);
+        assertEquals(1, plain.parse(json).size());
+        assertEquals(plain.parse(json), indexed.parse(json));
+        assertEquals(plain.readTree(json), indexed.readTree(ByteBuffer.wrap(json)));
+        try (JsonCursor a = plain.cursor(json); JsonCursor b = indexed.cursor(json)) {
+            while (a.hasNext()) {
+                assertEquals(a.next(), b.next());
+                assertEquals(a.getText(), b.getText());
+            }
+            assertEquals(a.hasNext(), b.hasNext());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.javachaos.jsonparser;
+
+import com.github.javachaos.jsonparser.dom.LazyDocument;
+import com.github.javachaos.jsonparser.dom.LazyObject;
+import com.github.javachaos.jsonparser.exceptions.JsonParseException;
+import com.github.javachaos.jsonparser.parser.JsonCursor;
+import com.github.javachaos.jsonparser.parser.JsonEvent;
+import com.github.javachaos.jsonparser.parser.JsonParser;
+import com.github.javachaos.jsonparser.utils.Utf8Chars;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Utf8CharsTest {
+
+    private static final String JSON = "{\"plain\": \"hello world\", \"utf8\": \"café\","
+            + " \"escaped\": \"a\\\"b\\u0041\\n\", \"number\": 12}";
+
+    @Test
+    void testCursorViews() {
+        byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        JsonParser parser = new JsonParser("");
+        List<CharSequence> views = new ArrayList<>();
+        try (JsonCursor cursor = parser.cursor(json)) {
+            while (cursor.hasNext()) {
+                JsonEvent e = cursor.next();
+                if (e == JsonEvent.VALUE_STRING || e == JsonEvent.VALUE_NUMBER) {
+                    views.add(cursor.getCharacters());
+                }
+            }
+        }
+        assertEquals(List.of("hello world", "café", "a\"bA\n", "12"), strings(views));
+        Utf8Chars plain = assertInstanceOf(Utf8Chars.class, views.get(0));
+        assertTrue(plain.isPlain());
+        assertEquals(11, plain.length());
+        assertEquals('w', plain.charAt(6));
+        assertEquals("world", plain.subSequence(6, 11).toString());
+        assertEquals("hello world".hashCode(), plain.hashCode());
+        assertFalse(((Utf8Chars) views.get(1)).isPlain());
+        assertFalse(((Utf8Chars) views.get(2)).isPlain());
+
+        List<CharSequence> streamed = new ArrayList<>();
+        try (JsonCursor cursor = parser.cursor(new ByteArrayInputStream(json))) {
+            while (cursor.hasNext()) {
+                if (cursor.next() == JsonEvent.VALUE_STRING) {
+                    streamed.add(cursor.getCharacters());
+                    assertEquals(streamed.get(streamed.size() - 1).toString(), cursor.getText());
+                }
+            }
+        }
+        assertEquals(strings(views.subList(0, 3)), strings(streamed));
+    }
+
+    @Test
+    void testLazyViewsAndErrors() {
+        LazyObject root = (LazyObject) LazyDocument.of(JSON.getBytes(StandardCharsets.UTF_8)).root();
+        assertEquals("hello world", root.getCharacters("plain").toString());
+        assertEquals("a\"bA\n", root.getCharacters("escaped").toString());
+        assertEquals(root.getString("utf8"), root.getCharacters("utf8").toString());
+        assertThrows(IllegalStateException.class, () -> root.getCharacters("number"));
+
+        byte[] bad = "[\"a\\x\"]".getBytes(StandardCharsets.UTF_8);
+        try (JsonCursor cursor = new JsonParser("").cursor(bad)) {
+            cursor.next();
+            cursor.next();
+            assertThrows(JsonParseException.class, cursor::getCharacters);
+        }
+    }
+
+    private static List<String> strings(List<CharSequence> views) {
+        List<String> result = new ArrayList<>();
+        for (CharSequence view : views) {
+            result.add(view.toString());
+        }
+        return result;
+    }
+}